@@ -80,6 +80,7 @@ CREATE TABLE `xxl_job_registry` (
   `registry_group` varchar(50) NOT NULL,
   `registry_key` varchar(255) NOT NULL,
   `registry_value` varchar(255) NOT NULL,
+  `weight` int(11) NOT NULL DEFAULT '1' COMMENT '执行器权重',
   `update_time` datetime DEFAULT NULL,
   PRIMARY KEY (`id`),
   KEY `i_g_k_v` (`registry_group`,`registry_key`,`registry_value`)
@@ -0,0 +1,12 @@
+#
+# XXL-JOB v2.2.1 upgrade, from v2.2.0
+# Copyright (c) 2015-present, xuxueli.
+
+use `xxl_job`;
+
+SET NAMES utf8mb4;
+
+## executor weight, declared by executor on registry, used by route strategy "WEIGHTED_ROUND"
+ALTER TABLE xxl_job_registry ADD COLUMN `weight` int(11) NOT NULL DEFAULT '1' COMMENT '执行器权重' AFTER `registry_value`;
+
+commit;
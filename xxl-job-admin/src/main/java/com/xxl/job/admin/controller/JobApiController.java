@@ -6,16 +6,23 @@ import com.xxl.job.core.biz.AdminBiz;
 import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.codec.XxlJobCodec;
 import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.ThrowableUtil;
 import com.xxl.job.core.util.XxlJobRemotingUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -24,6 +31,7 @@ import java.util.List;
 @Controller
 @RequestMapping("/api")
 public class JobApiController {
+    private static Logger logger = LoggerFactory.getLogger(JobApiController.class);
 
     @Resource
     private AdminBiz adminBiz;
@@ -32,13 +40,43 @@ public class JobApiController {
      * api
      *
      * @param uri
-     * @param data
-     * @return
+     * @param data      body, in codec of header "XXL-JOB-CODEC", json by default
+     * @return          body, in codec of header "XXL-JOB-ACCEPT-CODEC" if support, json by default
      */
     @RequestMapping("/{uri}")
-    @ResponseBody
     @PermissionLimit(limit=false)
-    public ReturnT<String> api(HttpServletRequest request, @PathVariable("uri") String uri, @RequestBody(required = false) String data) {
+    public ResponseEntity<byte[]> api(HttpServletRequest request, @PathVariable("uri") String uri, @RequestBody(required = false) byte[] data) {
+
+        // codec
+        XxlJobCodec requestCodec = XxlJobCodec.loadCodecOrJson(request.getHeader(XxlJobRemotingUtil.XXL_JOB_CODEC));
+        XxlJobCodec responseCodec = XxlJobCodec.loadCodecOrJson(request.getHeader(XxlJobRemotingUtil.XXL_JOB_ACCEPT_CODEC));
+
+        // process
+        ReturnT<String> result = null;
+        try {
+            result = process(request, uri, data, requestCodec);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            result = new ReturnT<String>(ReturnT.FAIL_CODE, "request error:" + ThrowableUtil.toString(e));
+        }
+
+        // encode
+        byte[] responseData = null;
+        try {
+            responseData = responseCodec.encode(result);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            responseCodec = XxlJobCodec.JSON;
+            responseData = GsonTool.toJson(new ReturnT<String>(ReturnT.FAIL_CODE, "response encode error:" + ThrowableUtil.toString(e))).getBytes(StandardCharsets.UTF_8);
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, responseCodec.contentType())
+                .header(XxlJobRemotingUtil.XXL_JOB_CODEC, responseCodec.name())
+                .body(responseData);
+    }
+
+    private ReturnT<String> process(HttpServletRequest request, String uri, byte[] data, XxlJobCodec requestCodec) throws Exception {
 
         // valid
         if (!"POST".equalsIgnoreCase(request.getMethod())) {
@@ -55,13 +93,13 @@ public class JobApiController {
 
         // services mapping
         if ("callback".equals(uri)) {
-            List<HandleCallbackParam> callbackParamList = GsonTool.fromJson(data, List.class, HandleCallbackParam.class);
+            List<HandleCallbackParam> callbackParamList = requestCodec.decode(data, new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{HandleCallbackParam.class}));
             return adminBiz.callback(callbackParamList);
         } else if ("registry".equals(uri)) {
-            RegistryParam registryParam = GsonTool.fromJson(data, RegistryParam.class);
+            RegistryParam registryParam = requestCodec.decode(data, RegistryParam.class);
             return adminBiz.registry(registryParam);
         } else if ("registryRemove".equals(uri)) {
-            RegistryParam registryParam = GsonTool.fromJson(data, RegistryParam.class);
+            RegistryParam registryParam = requestCodec.decode(data, RegistryParam.class);
             return adminBiz.registryRemove(registryParam);
         } else {
             return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping("+ uri +") not found.");
@@ -5,6 +5,7 @@ import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
 import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.trigger.TriggerStageTimer;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.admin.dao.XxlJobGroupDao;
 import com.xxl.job.admin.dao.XxlJobInfoDao;
@@ -25,6 +26,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -229,4 +231,21 @@ public class JobLogController {
 		return ReturnT.SUCCESS;
 	}
 
+	@RequestMapping("/slowTrigger")
+	@ResponseBody
+	public ReturnT<List<TriggerStageTimer.SlowTrigger>> slowTrigger(HttpServletRequest request, int jobGroup){
+
+		// valid permission
+		JobInfoController.validPermission(request, jobGroup);
+
+		// slow trigger of job group
+		List<TriggerStageTimer.SlowTrigger> slowTriggerList = new ArrayList<>();
+		for (TriggerStageTimer.SlowTrigger item: TriggerStageTimer.loadSlowTriggerList()) {
+			if (item.getJobGroup() == jobGroup) {
+				slowTriggerList.add(item);
+			}
+		}
+		return new ReturnT<List<TriggerStageTimer.SlowTrigger>>(slowTriggerList);
+	}
+
 }
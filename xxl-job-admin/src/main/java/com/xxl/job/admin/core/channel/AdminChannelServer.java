@@ -0,0 +1,199 @@
+package com.xxl.job.admin.core.channel;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.HandleCallbackParam;
+import com.xxl.job.core.biz.model.RegistryParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.channel.ChannelInvoker;
+import com.xxl.job.core.channel.ChannelMessage;
+import com.xxl.job.core.codec.XxlJobCodec;
+import com.xxl.job.core.enums.RegistryConfig;
+import com.xxl.job.core.util.GsonTool;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * admin side of admin-executor channel, accept long-lived connection from executor
+ *
+ *      a、bind：executor bind (or registry) over channel, bind executor address to the channel; unbind when registryRemove or channel closed;
+ *      b、route：trigger to bound executor address is pushed over channel, see "XxlJobScheduler.getExecutorBiz";
+ *      c、cluster：executor connect to each admin node, so any admin node can push over its own channel;
+ *
+ * @author agent 2026-10-18
+ */
+public class AdminChannelServer {
+    private static Logger logger = LoggerFactory.getLogger(AdminChannelServer.class);
+
+    private static AdminChannelServer instance = new AdminChannelServer();
+    public static AdminChannelServer getInstance(){
+        return instance;
+    }
+
+    // executor address -> executor biz over channel
+    private static ConcurrentMap<String, ChannelExecutorBiz> executorChannelMap = new ConcurrentHashMap<String, ChannelExecutorBiz>();
+
+    /**
+     * load executor biz over channel
+     *
+     * @param address
+     * @return  null if executor not connected by channel
+     */
+    public static ExecutorBiz loadExecutorBiz(String address) {
+        ChannelExecutorBiz executorBiz = executorChannelMap.get(address);
+        if (executorBiz!=null && executorBiz.getChannel().isActive()) {
+            return executorBiz;
+        }
+        return null;
+    }
+
+    private static void bind(final String address, final Channel channel) {
+        ChannelExecutorBiz executorBiz = executorChannelMap.get(address);
+        if (executorBiz!=null && executorBiz.getChannel()==channel) {
+            return;
+        }
+        executorChannelMap.put(address, new ChannelExecutorBiz(channel, XxlJobAdminConfig.getAdminConfig().getAccessToken()));
+        logger.info(">>>>>>>>>>> xxl-job channel bind, address:{}, channel:{}", address, channel.remoteAddress());
+
+        channel.closeFuture().addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                unbind(address, channel);
+            }
+        });
+    }
+
+    private static void unbind(String address, Channel channel) {
+        ChannelExecutorBiz executorBiz = executorChannelMap.get(address);
+        if (executorBiz!=null && executorBiz.getChannel()==channel) {
+            executorChannelMap.remove(address, executorBiz);
+            logger.info(">>>>>>>>>>> xxl-job channel unbind, address:{}, channel:{}", address, channel.remoteAddress());
+        }
+    }
+
+
+    // ---------------------- server ----------------------
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private ThreadPoolExecutor bizThreadPool;
+
+    public void start(int port) throws Exception {
+        if (port <= 0) {
+            return;     // channel close
+        }
+
+        bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("xxl-job, admin AdminChannelServer-boss", true));
+        workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("xxl-job, admin AdminChannelServer-worker", true));
+        bizThreadPool = new ThreadPoolExecutor(
+                0,
+                200,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(2000),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        return new Thread(r, "xxl-job, admin AdminChannelServer-bizThreadPool-" + r.hashCode());
+                    }
+                },
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        throw new RejectedExecutionException("xxl-job, admin AdminChannelServer bizThreadPool is EXHAUSTED!");
+                    }
+                });
+
+        ServerBootstrap bootstrap = new ServerBootstrap();
+        bootstrap.group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(SocketChannel channel) throws Exception {
+                        ChannelInvoker.initPipeline(channel.pipeline(), new AdminChannelHandler());
+                    }
+                })
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true);
+        bootstrap.bind(port).sync();
+
+        logger.info(">>>>>>>>>>> xxl-job admin channel server start success, port = {}", port);
+    }
+
+    public void toStop() {
+        if (bossGroup == null) {
+            return;
+        }
+        bossGroup.shutdownGracefully();
+        workerGroup.shutdownGracefully();
+        bizThreadPool.shutdownNow();
+        executorChannelMap.clear();
+        logger.info(">>>>>>>>>>> xxl-job admin channel server stop.");
+    }
+
+    private class AdminChannelHandler extends ChannelInvoker.RequestHandler {
+
+        private final Type CALLBACK_LIST_TYPE = new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{HandleCallbackParam.class});
+
+        @Override
+        protected Object process(Channel channel, ChannelMessage request) throws Exception {
+            // valid
+            String accessToken = XxlJobAdminConfig.getAdminConfig().getAccessToken();
+            if (accessToken!=null
+                    && accessToken.trim().length()>0
+                    && !accessToken.equals(request.getAccessToken())) {
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "The access token is wrong.");
+            }
+
+            // services mapping
+            XxlJobCodec requestCodec = XxlJobCodec.loadCodecOrJson(request.getCodec());
+            String uri = request.getUri();
+            if ("callback".equals(uri)) {
+                List<HandleCallbackParam> callbackParamList = requestCodec.decode(request.getData(), CALLBACK_LIST_TYPE);
+                return XxlJobAdminConfig.getAdminConfig().getAdminBiz().callback(callbackParamList);
+            } else if ("registry".equals(uri)) {
+                RegistryParam registryParam = requestCodec.decode(request.getData(), RegistryParam.class);
+                if (registryParam!=null
+                        && RegistryConfig.RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup())
+                        && registryParam.getRegistryValue()!=null) {
+                    bind(registryParam.getRegistryValue().trim(), channel);
+                }
+                return XxlJobAdminConfig.getAdminConfig().getAdminBiz().registry(registryParam);
+            } else if ("bind".equals(uri)) {
+                RegistryParam registryParam = requestCodec.decode(request.getData(), RegistryParam.class);
+                if (registryParam==null
+                        || !RegistryConfig.RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup())
+                        || registryParam.getRegistryValue()==null
+                        || registryParam.getRegistryValue().trim().length()==0) {
+                    return new ReturnT<String>(ReturnT.FAIL_CODE, "Illegal Argument.");
+                }
+                bind(registryParam.getRegistryValue().trim(), channel);
+                return ReturnT.SUCCESS;
+            } else if ("registryRemove".equals(uri)) {
+                RegistryParam registryParam = requestCodec.decode(request.getData(), RegistryParam.class);
+                if (registryParam!=null && registryParam.getRegistryValue()!=null) {
+                    unbind(registryParam.getRegistryValue().trim(), channel);
+                }
+                return XxlJobAdminConfig.getAdminConfig().getAdminBiz().registryRemove(registryParam);
+            } else {
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping("+ uri +") not found.");
+            }
+        }
+
+        @Override
+        protected void execute(Runnable runnable) {
+            bizThreadPool.execute(runnable);
+        }
+    }
+
+}
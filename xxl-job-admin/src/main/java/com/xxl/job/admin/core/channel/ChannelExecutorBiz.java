@@ -0,0 +1,65 @@
+package com.xxl.job.admin.core.channel;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.channel.ChannelInvoker;
+import com.xxl.job.core.util.GsonTool;
+import io.netty.channel.Channel;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * executor biz over channel, initiated by executor
+ *
+ * @author agent 2026-10-18
+ */
+public class ChannelExecutorBiz implements ExecutorBiz {
+
+    private static final Type RUN_BATCH_RESULT_TYPE = new GsonTool.ParameterizedType4ReturnT(List.class,
+            new Type[]{new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class})});
+
+    private final Channel channel;
+    private final String accessToken;
+    private int timeout = 3;
+
+    public ChannelExecutorBiz(Channel channel, String accessToken) {
+        this.channel = channel;
+        this.accessToken = accessToken;
+    }
+
+    public Channel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public ReturnT<String> beat() {
+        return ChannelInvoker.invoke(channel, "/beat", accessToken, null, String.class, timeout);
+    }
+
+    @Override
+    public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam) {
+        return ChannelInvoker.invoke(channel, "/idleBeat", accessToken, idleBeatParam, String.class, timeout);
+    }
+
+    @Override
+    public ReturnT<String> run(TriggerParam triggerParam) {
+        return ChannelInvoker.invoke(channel, "/run", accessToken, triggerParam, String.class, timeout);
+    }
+
+    @Override
+    public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+        return ChannelInvoker.invoke(channel, "/runBatch", accessToken, triggerParamList, RUN_BATCH_RESULT_TYPE, timeout);
+    }
+
+    @Override
+    public ReturnT<String> kill(KillParam killParam) {
+        return ChannelInvoker.invoke(channel, "/kill", accessToken, killParam, String.class, timeout);
+    }
+
+    @Override
+    public ReturnT<LogResult> log(LogParam logParam) {
+        return ChannelInvoker.invoke(channel, "/log", accessToken, logParam, LogResult.class, timeout);
+    }
+
+}
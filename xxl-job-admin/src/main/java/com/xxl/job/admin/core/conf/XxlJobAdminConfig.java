@@ -2,7 +2,9 @@ package com.xxl.job.admin.core.conf;
 
 import com.xxl.job.admin.core.alarm.JobAlarmer;
 import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.trigger.TriggerOverflowPolicyEnum;
 import com.xxl.job.admin.dao.*;
+import com.xxl.job.core.biz.AdminBiz;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
@@ -64,6 +66,66 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
     @Value("${xxl.job.triggerpool.slow.max}")
     private int triggerPoolSlowMax;
 
+    @Value("${xxl.job.triggerpool.virtual.enable}")
+    private boolean triggerPoolVirtual;
+
+    @Value("${xxl.job.triggerpool.virtual.max}")
+    private int triggerPoolVirtualMax;
+
+    @Value("${xxl.job.triggerpool.virtual.group.max}")
+    private int triggerPoolVirtualGroupMax;
+
+    @Value("${xxl.job.triggerpool.virtual.jdbc.max}")
+    private int triggerPoolVirtualJdbcMax;
+
+    @Value("${xxl.job.triggerpool.inflight.max}")
+    private int triggerPoolInflightMax;
+
+    @Value("${xxl.job.triggerpool.ratelimit.job}")
+    private int triggerPoolRateLimitJob;
+
+    @Value("${xxl.job.triggerpool.ratelimit.group}")
+    private int triggerPoolRateLimitGroup;
+
+    @Value("${xxl.job.triggerpool.group.slice}")
+    private int triggerPoolGroupSlice;
+
+    @Value("${xxl.job.triggerpool.overflow}")
+    private String triggerPoolOverflow;
+
+    @Value("${xxl.job.triggerbatch.window}")
+    private int triggerBatchWindow;
+
+    @Value("${xxl.job.trigger.slow.threshold}")
+    private int triggerSlowThreshold;
+
+    @Value("${xxl.job.route.consistenthash.md5}")
+    private boolean routeConsistentHashMd5;
+
+    @Value("${xxl.job.remoting.maxconn.perhost}")
+    private int remotingMaxConnPerHost;
+
+    @Value("${xxl.job.remoting.idletimeout}")
+    private int remotingIdleTimeout;
+
+    @Value("${xxl.job.remoting.connecttimeout}")
+    private int remotingConnectTimeout;
+
+    @Value("${xxl.job.remoting.maxcontent}")
+    private int remotingMaxContent;
+
+    @Value("${xxl.job.remoting.codec}")
+    private String remotingCodec;
+
+    @Value("${xxl.job.channel.port}")
+    private int channelPort;
+
+    @Value("${xxl.job.api.port}")
+    private int apiPort;
+
+    @Value("${xxl.job.api.threadmax}")
+    private int apiThreadMax;
+
     @Value("${xxl.job.logretentiondays}")
     private int logretentiondays;
 
@@ -85,6 +147,8 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
     private DataSource dataSource;
     @Resource
     private JobAlarmer jobAlarmer;
+    @Resource
+    private AdminBiz adminBiz;
 
 
     public String getI18n() {
@@ -116,6 +180,131 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return triggerPoolSlowMax;
     }
 
+    public boolean isTriggerPoolVirtual() {
+        return triggerPoolVirtual;
+    }
+
+    public int getTriggerPoolVirtualMax() {
+        if (triggerPoolVirtualMax < 200) {
+            return 200;
+        }
+        return triggerPoolVirtualMax;
+    }
+
+    public int getTriggerPoolVirtualGroupMax() {
+        if (triggerPoolVirtualGroupMax < 1 || triggerPoolVirtualGroupMax > getTriggerPoolVirtualMax()) {
+            return getTriggerPoolVirtualMax();
+        }
+        return triggerPoolVirtualGroupMax;
+    }
+
+    public int getTriggerPoolVirtualJdbcMax() {
+        if (triggerPoolVirtualJdbcMax < 1) {
+            return 1;
+        }
+        return triggerPoolVirtualJdbcMax;
+    }
+
+    public int getTriggerPoolInflightMax() {
+        if (triggerPoolInflightMax <= 0 && triggerPoolVirtual) {
+            // default: running and waiting for permits of virtual thread
+            return getTriggerPoolVirtualMax() * 2;
+        }
+        if (triggerPoolInflightMax <= 0) {
+            // default: threads + queue of fast and slow trigger pool
+            return getTriggerPoolFastMax() + 1000 + getTriggerPoolSlowMax() + 2000;
+        }
+        return triggerPoolInflightMax;
+    }
+
+    public int getTriggerPoolRateLimitJob() {
+        return triggerPoolRateLimitJob;
+    }
+
+    public int getTriggerPoolRateLimitGroup() {
+        return triggerPoolRateLimitGroup;
+    }
+
+    public int getTriggerPoolGroupSlice() {
+        int capacity = getTriggerPoolFastMax() + getTriggerPoolSlowMax();
+        if (triggerPoolGroupSlice > capacity) {
+            return capacity;
+        }
+        return triggerPoolGroupSlice;
+    }
+
+    public TriggerOverflowPolicyEnum getTriggerPoolOverflow() {
+        return TriggerOverflowPolicyEnum.match(triggerPoolOverflow, TriggerOverflowPolicyEnum.DEFER);
+    }
+
+    public int getTriggerBatchWindow() {
+        if (triggerBatchWindow < 0) {
+            return 0;   // close batch
+        }
+        if (triggerBatchWindow > 50) {
+            return 50;  // limit less than or equal to 50ms, avoid trigger delay
+        }
+        return triggerBatchWindow;
+    }
+
+    public int getTriggerSlowThreshold() {
+        if (triggerSlowThreshold < 100) {
+            return 100;  // limit greater than or equal to 100ms, avoid sample normal trigger
+        }
+        return triggerSlowThreshold;
+    }
+
+    public boolean isRouteConsistentHashMd5() {
+        return routeConsistentHashMd5;
+    }
+
+    public int getRemotingMaxConnPerHost() {
+        if (remotingMaxConnPerHost < 1) {
+            return 64;  // default
+        }
+        return remotingMaxConnPerHost;
+    }
+
+    public int getRemotingIdleTimeout() {
+        if (remotingIdleTimeout < 1 || remotingIdleTimeout >= 90) {
+            return 30;  // limit less than 90s, close before executor server idle close, avoid reuse closed connection
+        }
+        return remotingIdleTimeout;
+    }
+
+    public int getRemotingConnectTimeout() {
+        if (remotingConnectTimeout < 1) {
+            return 3;   // default
+        }
+        return remotingConnectTimeout;
+    }
+
+    public int getRemotingMaxContent() {
+        if (remotingMaxContent < 1) {
+            return 256; // default, MB
+        }
+        return remotingMaxContent;
+    }
+
+    public String getRemotingCodec() {
+        return remotingCodec;
+    }
+
+    public int getChannelPort() {
+        return channelPort;
+    }
+
+    public int getApiPort() {
+        return apiPort;
+    }
+
+    public int getApiThreadMax() {
+        if (apiThreadMax < 10) {
+            return 10;  // at least 10
+        }
+        return apiThreadMax;
+    }
+
     public int getLogretentiondays() {
         if (logretentiondays < 7) {
             return -1;  // Limit greater than or equal to 7, otherwise close
@@ -155,4 +344,8 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return jobAlarmer;
     }
 
+    public AdminBiz getAdminBiz() {
+        return adminBiz;
+    }
+
 }
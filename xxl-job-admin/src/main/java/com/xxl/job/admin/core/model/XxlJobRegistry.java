@@ -11,6 +11,7 @@ public class XxlJobRegistry {
     private String registryGroup;
     private String registryKey;
     private String registryValue;
+    private int weight;
     private Date updateTime;
 
     public int getId() {
@@ -45,6 +46,14 @@ public class XxlJobRegistry {
         this.registryValue = registryValue;
     }
 
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
     public Date getUpdateTime() {
         return updateTime;
     }
@@ -0,0 +1,299 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * circuit breaker of executor address, for remoting fail only (connect refused, timeout ...), not for biz fail
+ *
+ *      a、closed：count request and remoting fail in time window; open if fail rate reach threshold;
+ *      b、open：fast fail without remoting, skipped by route, until open time passed;
+ *      c、half-open：let one probe request pass; close if success, open again if fail;
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorCircuitBreaker {
+    private static Logger logger = LoggerFactory.getLogger(ExecutorCircuitBreaker.class);
+
+    private static final long WINDOW_TIME = 10 * 1000;      // ms, fail rate window
+    private static final int WINDOW_MIN_REQUEST = 3;        // min request in window, avoid open by single fail
+    private static final int FAIL_RATE_THRESHOLD = 50;      // percent
+    private static volatile long openDuration = 10 * 1000;  // ms, fast fail before half-open
+
+    private static final String REMOTING_FAIL_PREFIX = "xxl-rpc remoting";      // msg prefix of remoting fail, by XxlJobRemotingUtil and channel
+
+    private static ConcurrentMap<String, ExecutorCircuitBreaker> breakerMap = new ConcurrentHashMap<String, ExecutorCircuitBreaker>();
+
+    private static ExecutorCircuitBreaker load(String address) {
+        ExecutorCircuitBreaker breaker = breakerMap.get(address);
+        if (breaker == null) {
+            breaker = new ExecutorCircuitBreaker(address);
+            ExecutorCircuitBreaker existBreaker = breakerMap.putIfAbsent(address, breaker);
+            if (existBreaker != null) {
+                breaker = existBreaker;
+            }
+        }
+        return breaker;
+    }
+
+    /**
+     * is circuit open; half-open is not open until the probe request taken, so route can pick it for the probe
+     */
+    public static boolean isOpen(String address) {
+        ExecutorCircuitBreaker breaker = breakerMap.get(address);
+        if (breaker == null) {
+            return false;
+        }
+        State state = breaker.state(System.currentTimeMillis());
+        return state==State.OPEN || (state==State.HALF_OPEN && breaker.probing.get());
+    }
+
+    /**
+     * address list without open circuit address
+     *
+     * @param addressList
+     * @return  origin address list, if none or all open
+     */
+    public static List<String> filter(List<String> addressList) {
+        if (breakerMap.isEmpty() || addressList==null) {
+            return addressList;
+        }
+        List<String> availableList = new ArrayList<String>(addressList.size());
+        for (String address: addressList) {
+            if (!isOpen(address)) {
+                availableList.add(address);
+            }
+        }
+        return availableList.isEmpty()?addressList:availableList;
+    }
+
+    /**
+     * ms, fast fail before half-open
+     */
+    static void setOpenDuration(long openDuration) {
+        ExecutorCircuitBreaker.openDuration = openDuration;
+    }
+
+    /**
+     * remove, such as executor registry remove, or executor registry again (restart)
+     */
+    public static void remove(String address) {
+        if (address != null) {
+            breakerMap.remove(address);
+        }
+    }
+
+    /**
+     * wrap executor-client, fast fail if circuit open
+     */
+    public static ExecutorBiz wrap(String address, ExecutorBiz executorBiz) {
+        return new CircuitBreakerExecutorBiz(address, executorBiz);
+    }
+
+
+    // ---------------------- breaker ----------------------
+
+    private enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final String address;
+    private volatile State state = State.CLOSED;
+    private volatile long openTime;
+    private final AtomicBoolean probing = new AtomicBoolean(false);
+
+    private long windowStart;
+    private int windowRequest;
+    private int windowFail;
+
+    private ExecutorCircuitBreaker(String address) {
+        this.address = address;
+    }
+
+    private State state(long now) {
+        if (state==State.OPEN && now-openTime>=openDuration) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private enum Permit {REJECT, PASS, PROBE}
+
+    /**
+     * @return  PASS if closed; PROBE for the only one request in half-open; REJECT else
+     */
+    private Permit tryAcquire() {
+        State state = state(System.currentTimeMillis());
+        if (state == State.CLOSED) {
+            return Permit.PASS;
+        }
+        if (state==State.HALF_OPEN && probing.compareAndSet(false, true)) {
+            this.state = State.HALF_OPEN;
+            return Permit.PROBE;
+        }
+        return Permit.REJECT;
+    }
+
+    private synchronized void onResult(Permit permit, boolean remotingFail) {
+        long now = System.currentTimeMillis();
+        if (permit == Permit.PROBE) {
+            // probe result of half-open
+            if (remotingFail) {
+                openTime = now;
+                state = State.OPEN;
+            } else {
+                state = State.CLOSED;
+                windowStart = now;
+                windowRequest = 0;
+                windowFail = 0;
+                logger.info(">>>>>>>>>>> xxl-job circuit breaker closed, address:{}", address);
+            }
+            probing.set(false);
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;     // result of request passed before open, ignore it
+        }
+
+        if (now-windowStart > WINDOW_TIME) {
+            windowStart = now;
+            windowRequest = 0;
+            windowFail = 0;
+        }
+        windowRequest++;
+        if (remotingFail) {
+            windowFail++;
+        }
+        if (windowRequest>=WINDOW_MIN_REQUEST && windowFail*100>=windowRequest*FAIL_RATE_THRESHOLD) {
+            openTime = now;
+            state = State.OPEN;
+            logger.warn(">>>>>>>>>>> xxl-job circuit breaker open, address:{}, fail:{}/{} in window", address, windowFail, windowRequest);
+        }
+    }
+
+    private static boolean isRemotingFail(ReturnT<?> result) {
+        return result==null
+                || (result.getCode()==ReturnT.FAIL_CODE && result.getMsg()!=null && result.getMsg().startsWith(REMOTING_FAIL_PREFIX));
+    }
+
+
+    // ---------------------- executor biz ----------------------
+
+    private static class CircuitBreakerExecutorBiz implements ExecutorBiz {
+
+        private final String address;
+        private final ExecutorBiz executorBiz;
+
+        public CircuitBreakerExecutorBiz(String address, ExecutorBiz executorBiz) {
+            this.address = address;
+            this.executorBiz = executorBiz;
+        }
+
+        private <T> ReturnT<T> openResult() {
+            return new ReturnT<T>(ReturnT.FAIL_CODE, "xxl-job circuit breaker open, fast fail, address:" + address);
+        }
+
+        @Override
+        public ReturnT<String> beat() {
+            ExecutorCircuitBreaker breaker = load(address);
+            Permit permit = breaker.tryAcquire();
+            if (permit == Permit.REJECT) {
+                return openResult();
+            }
+            ReturnT<String> result = null;
+            try {
+                result = executorBiz.beat();
+                return result;
+            } finally {
+                breaker.onResult(permit, isRemotingFail(result));      // exception as remoting fail
+            }
+        }
+
+        @Override
+        public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam) {
+            ExecutorCircuitBreaker breaker = load(address);
+            Permit permit = breaker.tryAcquire();
+            if (permit == Permit.REJECT) {
+                return openResult();
+            }
+            ReturnT<String> result = null;
+            try {
+                result = executorBiz.idleBeat(idleBeatParam);
+                return result;
+            } finally {
+                breaker.onResult(permit, isRemotingFail(result));      // exception as remoting fail
+            }
+        }
+
+        @Override
+        public ReturnT<String> run(TriggerParam triggerParam) {
+            ExecutorCircuitBreaker breaker = load(address);
+            Permit permit = breaker.tryAcquire();
+            if (permit == Permit.REJECT) {
+                return openResult();
+            }
+            ReturnT<String> result = null;
+            try {
+                result = executorBiz.run(triggerParam);
+                return result;
+            } finally {
+                breaker.onResult(permit, isRemotingFail(result));      // exception as remoting fail
+            }
+        }
+
+        @Override
+        public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+            ExecutorCircuitBreaker breaker = load(address);
+            Permit permit = breaker.tryAcquire();
+            if (permit == Permit.REJECT) {
+                return openResult();
+            }
+            ReturnT<List<ReturnT<String>>> result = null;
+            try {
+                result = executorBiz.runBatch(triggerParamList);
+                return result;
+            } finally {
+                breaker.onResult(permit, isRemotingFail(result));      // exception as remoting fail
+            }
+        }
+
+        @Override
+        public ReturnT<String> kill(KillParam killParam) {
+            ExecutorCircuitBreaker breaker = load(address);
+            Permit permit = breaker.tryAcquire();
+            if (permit == Permit.REJECT) {
+                return openResult();
+            }
+            ReturnT<String> result = null;
+            try {
+                result = executorBiz.kill(killParam);
+                return result;
+            } finally {
+                breaker.onResult(permit, isRemotingFail(result));      // exception as remoting fail
+            }
+        }
+
+        @Override
+        public ReturnT<LogResult> log(LogParam logParam) {
+            ExecutorCircuitBreaker breaker = load(address);
+            Permit permit = breaker.tryAcquire();
+            if (permit == Permit.REJECT) {
+                return openResult();
+            }
+            ReturnT<LogResult> result = null;
+            try {
+                result = executorBiz.log(logParam);
+                return result;
+            } finally {
+                breaker.onResult(permit, isRemotingFail(result));      // exception as remoting fail
+            }
+        }
+    }
+
+}
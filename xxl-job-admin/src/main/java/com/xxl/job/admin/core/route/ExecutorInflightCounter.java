@@ -0,0 +1,76 @@
+package com.xxl.job.admin.core.route;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * in-flight triggers of each executor address, triggered by this admin and not callback yet
+ *
+ *      a、increment：trigger run success, own the trigger log;
+ *      b、decrement：first callback of the trigger log, only if owned by this admin (callback may reach other admin in cluster);
+ *      c、decay：trigger log not callback in time (callback to other admin, executor lost), expire and not counted any more;
+ *      d、reset：executor registry remove;
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorInflightCounter {
+
+    private static volatile long inflightTimeout = 10 * 60 * 1000;      // ms
+
+    // address -> (logId -> trigger time)
+    private static ConcurrentMap<String, ConcurrentMap<Long, Long>> inflightMap = new ConcurrentHashMap<String, ConcurrentMap<Long, Long>>();
+
+    static void setInflightTimeout(long inflightTimeout) {
+        ExecutorInflightCounter.inflightTimeout = inflightTimeout;
+    }
+
+    public static void increment(String address, long logId) {
+        if (address == null) {
+            return;
+        }
+        ConcurrentMap<Long, Long> logMap = inflightMap.get(address);
+        if (logMap == null) {
+            logMap = new ConcurrentHashMap<Long, Long>();
+            ConcurrentMap<Long, Long> existLogMap = inflightMap.putIfAbsent(address, logMap);
+            if (existLogMap != null) {
+                logMap = existLogMap;
+            }
+        }
+        logMap.put(logId, System.currentTimeMillis());
+    }
+
+    public static void decrement(String address, long logId) {
+        if (address == null) {
+            return;
+        }
+        ConcurrentMap<Long, Long> logMap = inflightMap.get(address);
+        if (logMap != null) {
+            logMap.remove(logId);
+        }
+    }
+
+    public static int get(String address) {
+        ConcurrentMap<Long, Long> logMap = inflightMap.get(address);
+        if (logMap == null) {
+            return 0;
+        }
+
+        // decay
+        long expireTime = System.currentTimeMillis() - inflightTimeout;
+        for (Iterator<Map.Entry<Long, Long>> it = logMap.entrySet().iterator(); it.hasNext(); ) {
+            if (it.next().getValue() < expireTime) {
+                it.remove();
+            }
+        }
+        return logMap.size();
+    }
+
+    public static void reset(String address) {
+        if (address != null) {
+            inflightMap.remove(address);
+        }
+    }
+
+}
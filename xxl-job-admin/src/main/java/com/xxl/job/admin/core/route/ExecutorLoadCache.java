@@ -0,0 +1,128 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.core.biz.model.ExecutorLoad;
+import com.xxl.job.core.enums.RegistryConfig;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * in-memory view of executor load, reported by executor registry beat
+ *
+ *      a、load：running job threads + queued triggers + bizThreadPool queue, at the time of beat;
+ *      b、dispatched：triggers routed to the executor since the last beat, avoid all triggers pile on the same executor between two beats;
+ *      c、evict：registry remove, or no beat within dead timeout (executor dead without registry remove), swept on beat and read;
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorLoadCache {
+
+    private static volatile long expireTime = RegistryConfig.DEAD_TIMEOUT * 1000L;      // ms
+    private static volatile long lastSweepTime = System.currentTimeMillis();
+
+    private static ConcurrentMap<String, LoadItem> loadItemMap = new ConcurrentHashMap<String, LoadItem>();
+
+    static void setExpireTime(long expireTime) {
+        ExecutorLoadCache.expireTime = expireTime;
+    }
+
+    /**
+     * refresh load of executor, by registry beat
+     *
+     * @param address
+     * @param load
+     */
+    public static void put(String address, ExecutorLoad load) {
+        if (address == null || load == null) {
+            return;
+        }
+        loadItemMap.put(address, new LoadItem(load, System.currentTimeMillis()));
+
+        // sweep dead executor, at most once a beat
+        long nowTime = System.currentTimeMillis();
+        if (nowTime - lastSweepTime >= Math.min(expireTime, RegistryConfig.BEAT_TIMEOUT * 1000L)) {
+            lastSweepTime = nowTime;
+            for (Iterator<Map.Entry<String, LoadItem>> it = loadItemMap.entrySet().iterator(); it.hasNext(); ) {
+                if (isExpired(it.next().getValue(), nowTime)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static boolean isExpired(LoadItem loadItem, long nowTime) {
+        return nowTime - loadItem.reportTime > expireTime;
+    }
+
+    private static LoadItem load(String address) {
+        LoadItem loadItem = loadItemMap.get(address);
+        if (loadItem != null && isExpired(loadItem, System.currentTimeMillis())) {
+            loadItemMap.remove(address, loadItem);
+            return null;
+        }
+        return loadItem;
+    }
+
+    public static void remove(String address) {
+        if (address != null) {
+            loadItemMap.remove(address);
+        }
+    }
+
+    /**
+     * load score of executor, the lower the better
+     *
+     * @param address
+     * @return
+     */
+    public static int loadScore(String address) {
+        LoadItem loadItem = load(address);
+        if (loadItem == null) {
+            return 0;   // unknown (old executor, not beat yet, or dead)
+        }
+        ExecutorLoad load = loadItem.load;
+        return load.getRunningJobThreads() + load.getQueuedTriggers() + load.getBizQueueSize() + loadItem.dispatched.get();
+    }
+
+    /**
+     * cpu load of executor, <0 means unknown
+     *
+     * @param address
+     * @return
+     */
+    public static double cpuLoad(String address) {
+        LoadItem loadItem = load(address);
+        return (loadItem!=null)?loadItem.load.getCpuLoad():-1;
+    }
+
+    /**
+     * trigger routed to executor, count until next beat
+     *
+     * @param address
+     */
+    public static void dispatched(String address) {
+        LoadItem loadItem = load(address);
+        if (loadItem != null) {
+            loadItem.dispatched.incrementAndGet();
+        }
+    }
+
+    static int size() {
+        return loadItemMap.size();
+    }
+
+    private static class LoadItem {
+        private final ExecutorLoad load;
+        private final long reportTime;
+        private final AtomicInteger dispatched = new AtomicInteger(0);
+
+        public LoadItem(ExecutorLoad load, long reportTime) {
+            this.load = load;
+            this.reportTime = reportTime;
+        }
+    }
+
+}
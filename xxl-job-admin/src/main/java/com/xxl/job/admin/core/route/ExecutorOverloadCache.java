@@ -0,0 +1,67 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.core.biz.model.ReturnT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * overloaded executor address, by trigger result "ReturnT.OVERLOAD_CODE"
+ *
+ *      a、overload：skip the address in route until retry-after, hint by executor;
+ *      b、filter：all address overloaded, route in origin address list, not fail at admin;
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorOverloadCache {
+
+    private static final long MAX_RETRY_AFTER = 60 * 1000;     // ms
+
+    private static ConcurrentMap<String, Long> overloadMap = new ConcurrentHashMap<String, Long>();
+
+    /**
+     * @param address
+     * @param retryAfter    ms, hint by executor; default if null
+     */
+    public static void overload(String address, Long retryAfter) {
+        if (address == null) {
+            return;
+        }
+        long retryAfterTime = (retryAfter!=null && retryAfter>0)?Math.min(retryAfter, MAX_RETRY_AFTER):ReturnT.OVERLOAD_RETRY_AFTER;
+        overloadMap.put(address, System.currentTimeMillis() + retryAfterTime);
+    }
+
+    public static boolean isOverload(String address) {
+        Long expireTime = overloadMap.get(address);
+        if (expireTime == null) {
+            return false;
+        }
+        if (expireTime < System.currentTimeMillis()) {
+            overloadMap.remove(address, expireTime);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * address list without overloaded address
+     *
+     * @param addressList
+     * @return  origin address list, if none or all overloaded
+     */
+    public static List<String> filter(List<String> addressList) {
+        if (overloadMap.isEmpty() || addressList==null) {
+            return addressList;
+        }
+        List<String> availableList = new ArrayList<String>(addressList.size());
+        for (String address: addressList) {
+            if (!isOverload(address)) {
+                availableList.add(address);
+            }
+        }
+        return availableList.isEmpty()?addressList:availableList;
+    }
+
+}
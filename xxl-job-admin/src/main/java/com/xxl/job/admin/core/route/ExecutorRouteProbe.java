@@ -0,0 +1,209 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.util.I18nUtil;
+import com.xxl.job.core.biz.model.ReturnT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * probe executors in parallel, for route strategy "FAILOVER"、"BUSYOVER"
+ *
+ *      a、parallel：probe all candidate address at the same time, the first success wins, wait no longer than deadline;
+ *      b、positive cache：address probe success, reuse for a while, no probe at all in steady state; optional consumed once routed, such as idle result;
+ *      c、negative cache：address probe fail, skip it for a while; probe all again if all address are skipped;
+ *      d、bounded：probe pool full, the extra address is skipped as unknown, never probe on the trigger thread;
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorRouteProbe {
+    private static Logger logger = LoggerFactory.getLogger(ExecutorRouteProbe.class);
+
+    public static final long PROBE_DEADLINE = 1000;     // ms
+    private static final int RESULT_CACHE_MAX = 10000;
+
+    private static ThreadPoolExecutor probePool = new ThreadPoolExecutor(
+            0,
+            200,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(),
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "xxl-job, admin ExecutorRouteProbe-probePool-" + r.hashCode());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    /**
+     * probe of one address
+     */
+    public interface Probe {
+        ReturnT<String> probe(String address) throws Exception;
+    }
+
+    private final String titleKey;
+    private final long positiveCacheTime;
+    private final long negativeCacheTime;
+    private final boolean positiveConsume;
+    private final ConcurrentMap<String, ProbeResult> resultCacheMap = new ConcurrentHashMap<String, ProbeResult>();
+
+    /**
+     * @param titleKey              i18n key of probe title, show in trigger msg
+     * @param positiveCacheTime     ms, <=0 means not cache success result
+     * @param negativeCacheTime     ms, <=0 means not cache fail result
+     * @param positiveConsume       true: success result of address is removed once routed to it, such as idle result, not idle after routed
+     */
+    public ExecutorRouteProbe(String titleKey, long positiveCacheTime, long negativeCacheTime, boolean positiveConsume) {
+        this.titleKey = titleKey;
+        this.positiveCacheTime = positiveCacheTime;
+        this.negativeCacheTime = negativeCacheTime;
+        this.positiveConsume = positiveConsume;
+    }
+
+    /**
+     * route by probe
+     *
+     * @param cacheKey      cache key prefix, such as jobId for job level probe; "" for address level probe
+     * @param addressList
+     * @param probe
+     * @return  ReturnT.content=address
+     */
+    public ReturnT<String> route(String cacheKey, List<String> addressList, final Probe probe) {
+        StringBuffer probeResultSB = new StringBuffer();
+        long now = System.currentTimeMillis();
+
+        // cache, success address in order first; skip fail address
+        List<String> candidateList = new ArrayList<String>();
+        for (String address: addressList) {
+            ProbeResult cacheResult = resultCacheMap.get(cacheKey + address);
+            if (cacheResult == null || cacheResult.expireTime < now) {
+                candidateList.add(address);
+            } else if (cacheResult.code == ReturnT.SUCCESS_CODE) {
+                consume(cacheKey + address, cacheResult);
+                appendResult(probeResultSB, address, cacheResult.code, cacheResult.msg + "(cache)");
+                ReturnT<String> result = new ReturnT<String>(ReturnT.SUCCESS_CODE, probeResultSB.toString());
+                result.setContent(address);
+                return result;
+            } else {
+                appendResult(probeResultSB, address, cacheResult.code, cacheResult.msg + "(cache)");
+            }
+        }
+        if (candidateList.isEmpty()) {
+            candidateList = addressList;    // all fail in cache, probe again
+        }
+
+        // probe in parallel
+        ExecutorCompletionService<ProbeResult> completionService = new ExecutorCompletionService<ProbeResult>(probePool);
+        List<String> skipList = new ArrayList<String>();
+        int submitted = 0;
+        for (final String address: candidateList) {
+            final String resultCacheKey = cacheKey + address;
+            Callable<ProbeResult> probeTask = new Callable<ProbeResult>() {
+                @Override
+                public ProbeResult call() throws Exception {
+                    ReturnT<String> probeResult = null;
+                    try {
+                        probeResult = probe.probe(address);
+                    } catch (Exception e) {
+                        logger.error(e.getMessage(), e);
+                        probeResult = new ReturnT<String>(ReturnT.FAIL_CODE, ""+e );
+                    }
+                    ProbeResult result = new ProbeResult(address, probeResult.getCode(), probeResult.getMsg());
+
+                    // cache, even if complete after deadline
+                    long cacheTime = (result.code == ReturnT.SUCCESS_CODE)?positiveCacheTime:negativeCacheTime;
+                    if (cacheTime > 0) {
+                        if (resultCacheMap.size() >= RESULT_CACHE_MAX) {
+                            resultCacheMap.clear();     // too many job-address, clean up
+                        }
+                        result.expireTime = System.currentTimeMillis() + cacheTime;
+                        resultCacheMap.put(resultCacheKey, result);
+                    }
+                    return result;
+                }
+            };
+            try {
+                completionService.submit(probeTask);
+                submitted++;
+            } catch (RejectedExecutionException e) {
+                skipList.add(address);      // probe pool full, unknown, skip it
+            }
+        }
+        if (!skipList.isEmpty()) {
+            logger.warn(">>>>>>>>>>> xxl-job, probe pool full, skip address:{}", skipList);
+            appendResult(probeResultSB, skipList.toString(), ReturnT.FAIL_CODE, "probe skipped, probe pool full");
+        }
+
+        // first success wins
+        long deadline = System.currentTimeMillis() + PROBE_DEADLINE;
+        for (int i = 0; i < submitted; i++) {
+            long waitTime = deadline - System.currentTimeMillis();
+            Future<ProbeResult> future = null;
+            try {
+                future = (waitTime > 0)?completionService.poll(waitTime, TimeUnit.MILLISECONDS):null;
+            } catch (InterruptedException e) {
+                logger.error(e.getMessage(), e);
+            }
+            if (future == null) {
+                appendResult(probeResultSB, candidateList.toString(), ReturnT.FAIL_CODE, "probe timeout(" + PROBE_DEADLINE + "ms)");
+                break;
+            }
+
+            ProbeResult result = null;
+            try {
+                result = future.get();
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+                continue;
+            }
+            appendResult(probeResultSB, result.address, result.code, result.msg);
+
+            if (result.code == ReturnT.SUCCESS_CODE) {
+                consume(cacheKey + result.address, result);
+                ReturnT<String> routeResult = new ReturnT<String>(ReturnT.SUCCESS_CODE, probeResultSB.toString());
+                routeResult.setContent(result.address);
+                return routeResult;
+            }
+        }
+
+        return new ReturnT<String>(ReturnT.FAIL_CODE, probeResultSB.toString());
+    }
+
+    /**
+     * success result routed, remove it if consumed once
+     */
+    private void consume(String resultCacheKey, ProbeResult result) {
+        if (positiveConsume) {
+            resultCacheMap.remove(resultCacheKey, result);
+        }
+    }
+
+    private void appendResult(StringBuffer probeResultSB, String address, int code, String msg) {
+        probeResultSB.append( (probeResultSB.length()>0)?"<br><br>":"")
+                .append(I18nUtil.getString(titleKey) + "：")
+                .append("<br>address：").append(address)
+                .append("<br>code：").append(code)
+                .append("<br>msg：").append(msg);
+    }
+
+    private static class ProbeResult {
+        private final String address;
+        private final int code;
+        private final String msg;
+        private volatile long expireTime;
+
+        public ProbeResult(String address, int code, String msg) {
+            this.address = address;
+            this.code = code;
+            this.msg = msg;
+        }
+    }
+
+}
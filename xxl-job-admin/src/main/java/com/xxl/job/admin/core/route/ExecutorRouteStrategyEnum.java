@@ -11,12 +11,15 @@ public enum ExecutorRouteStrategyEnum {
     FIRST(I18nUtil.getString("jobconf_route_first"), new ExecutorRouteFirst()),
     LAST(I18nUtil.getString("jobconf_route_last"), new ExecutorRouteLast()),
     ROUND(I18nUtil.getString("jobconf_route_round"), new ExecutorRouteRound()),
+    WEIGHTED_ROUND(I18nUtil.getString("jobconf_route_weightround"), new ExecutorRouteWeightedRound()),
     RANDOM(I18nUtil.getString("jobconf_route_random"), new ExecutorRouteRandom()),
     CONSISTENT_HASH(I18nUtil.getString("jobconf_route_consistenthash"), new ExecutorRouteConsistentHash()),
     LEAST_FREQUENTLY_USED(I18nUtil.getString("jobconf_route_lfu"), new ExecutorRouteLFU()),
     LEAST_RECENTLY_USED(I18nUtil.getString("jobconf_route_lru"), new ExecutorRouteLRU()),
     FAILOVER(I18nUtil.getString("jobconf_route_failover"), new ExecutorRouteFailover()),
     BUSYOVER(I18nUtil.getString("jobconf_route_busyover"), new ExecutorRouteBusyover()),
+    LEAST_LOADED(I18nUtil.getString("jobconf_route_leastloaded"), new ExecutorRouteLeastLoaded()),
+    POWER_OF_TWO_CHOICES(I18nUtil.getString("jobconf_route_p2c"), new ExecutorRoutePowerOfTwoChoices()),
     SHARDING_BROADCAST(I18nUtil.getString("jobconf_route_shard"), null);
 
     ExecutorRouteStrategyEnum(String title, ExecutorRouter router) {
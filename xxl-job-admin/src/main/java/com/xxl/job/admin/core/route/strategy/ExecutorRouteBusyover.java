@@ -1,9 +1,8 @@
 package com.xxl.job.admin.core.route.strategy;
 
-import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.route.ExecutorRouteProbe;
 import com.xxl.job.admin.core.route.ExecutorRouter;
-import com.xxl.job.admin.core.util.I18nUtil;
-import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
 import com.xxl.job.core.biz.model.IdleBeatParam;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
@@ -11,38 +10,26 @@ import com.xxl.job.core.biz.model.TriggerParam;
 import java.util.List;
 
 /**
+ * idle-beat executors in parallel, first idle wins; busy or dead result cached by job and address,
+ * idle result cached briefly and removed once routed, the executor will be busy then
+ *
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteBusyover extends ExecutorRouter {
 
-    @Override
-    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
-        StringBuffer idleBeatResultSB = new StringBuffer();
-        for (String address : addressList) {
-            // beat
-            ReturnT<String> idleBeatResult = null;
-            try {
-                ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
-                idleBeatResult = executorBiz.idleBeat(new IdleBeatParam(triggerParam.getJobId()));
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
-                idleBeatResult = new ReturnT<String>(ReturnT.FAIL_CODE, ""+e );
-            }
-            idleBeatResultSB.append( (idleBeatResultSB.length()>0)?"<br><br>":"")
-                    .append(I18nUtil.getString("jobconf_idleBeat") + "：")
-                    .append("<br>address：").append(address)
-                    .append("<br>code：").append(idleBeatResult.getCode())
-                    .append("<br>msg：").append(idleBeatResult.getMsg());
+    private static final long IDLE_BEAT_SUCCESS_CACHE_TIME = 1000;
+    private static final long IDLE_BEAT_FAIL_CACHE_TIME = 3 * 1000;
 
-            // beat success
-            if (idleBeatResult.getCode() == ReturnT.SUCCESS_CODE) {
-                idleBeatResult.setMsg(idleBeatResultSB.toString());
-                idleBeatResult.setContent(address);
-                return idleBeatResult;
-            }
-        }
+    private ExecutorRouteProbe idleBeatProbe = new ExecutorRouteProbe("jobconf_idleBeat", IDLE_BEAT_SUCCESS_CACHE_TIME, IDLE_BEAT_FAIL_CACHE_TIME, true);
 
-        return new ReturnT<String>(ReturnT.FAIL_CODE, idleBeatResultSB.toString());
+    @Override
+    public ReturnT<String> route(final TriggerParam triggerParam, List<String> addressList) {
+        return idleBeatProbe.route(triggerParam.getJobId() + "-", addressList, new ExecutorRouteProbe.Probe() {
+            @Override
+            public ReturnT<String> probe(String address) throws Exception {
+                return XxlJobScheduler.getExecutorBiz(address).idleBeat(new IdleBeatParam(triggerParam.getJobId()));
+            }
+        });
     }
 
 }
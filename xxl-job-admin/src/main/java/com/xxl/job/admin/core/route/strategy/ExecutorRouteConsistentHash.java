@@ -1,32 +1,42 @@
 package com.xxl.job.admin.core.route.strategy;
 
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.route.ExecutorRouter;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 分组下机器地址相同，不同JOB均匀散列在不同机器上，保证分组下机器分配JOB平均；且每个JOB固定调度其中一台机器；
  *      a、virtual node：解决不均衡问题
  *      b、hash method replace hashCode：String的hashCode可能重复，需要进一步扩大hashCode的取值范围
+ *      c、hash ring cache：同一地址列表只构建一次哈希环（不可变），路由时二分查找
+ *      d、hash method：默认 md5，与旧版本的分配结果保持一致；可选 murmur3 (快速、非加密)，切换时JOB分配会整体重新散列一次
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteConsistentHash extends ExecutorRouter {
 
     private static int VIRTUAL_NODE_NUM = 100;
+    private static int RING_CACHE_MAX = 1000;
+
+    // "md5/murmur" + addressList -> hash ring
+    private static ConcurrentMap<String, HashRing> ringCacheMap = new ConcurrentHashMap<String, HashRing>();
 
     /**
      * get hash code on 2^32 ring (md5散列的方式计算hash值)
      * @param key
      * @return
      */
-    private static long hash(String key) {
+    private static long md5Hash(String key) {
 
         // md5 byte
         MessageDigest md5;
@@ -35,15 +45,7 @@ public class ExecutorRouteConsistentHash extends ExecutorRouter {
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("MD5 not supported", e);
         }
-        md5.reset();
-        byte[] keyBytes = null;
-        try {
-            keyBytes = key.getBytes("UTF-8");
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException("Unknown string :" + key, e);
-        }
-
-        md5.update(keyBytes);
+        md5.update(key.getBytes(StandardCharsets.UTF_8));
         byte[] digest = md5.digest();
 
         // hash code, Truncate to 32-bits
@@ -56,24 +58,88 @@ public class ExecutorRouteConsistentHash extends ExecutorRouter {
         return truncateHashCode;
     }
 
-    public String hashJob(int jobId, List<String> addressList) {
+    /**
+     * get hash code on 2^32 ring (murmur3 x86_32, 非加密散列，分布均匀且计算快)
+     * @param key
+     * @return
+     */
+    private static long murmurHash(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        int length = data.length;
+        int h1 = 0x9747b28c;
+        final int c1 = 0xcc9e2d51;
+        final int c2 = 0x1b873593;
 
-        // ------A1------A2-------A3------
-        // -----------J1------------------
-        TreeMap<Long, String> addressRing = new TreeMap<Long, String>();
-        for (String address: addressList) {
-            for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
-                long addressHash = hash("SHARD-" + address + "-NODE-" + i);
-                addressRing.put(addressHash, address);
-            }
+        // body
+        int roundedEnd = length & 0xfffffffc;
+        for (int i = 0; i < roundedEnd; i += 4) {
+            int k1 = (data[i] & 0xff) | ((data[i + 1] & 0xff) << 8) | ((data[i + 2] & 0xff) << 16) | (data[i + 3] << 24);
+            k1 *= c1;
+            k1 = Integer.rotateLeft(k1, 15);
+            k1 *= c2;
+
+            h1 ^= k1;
+            h1 = Integer.rotateLeft(h1, 13);
+            h1 = h1 * 5 + 0xe6546b64;
         }
 
-        long jobHash = hash(String.valueOf(jobId));
-        SortedMap<Long, String> lastRing = addressRing.tailMap(jobHash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
+        // tail
+        int k1 = 0;
+        switch (length & 0x03) {
+            case 3:
+                k1 = (data[roundedEnd + 2] & 0xff) << 16;
+            case 2:
+                k1 |= (data[roundedEnd + 1] & 0xff) << 8;
+            case 1:
+                k1 |= (data[roundedEnd] & 0xff);
+                k1 *= c1;
+                k1 = Integer.rotateLeft(k1, 15);
+                k1 *= c2;
+                h1 ^= k1;
+        }
+
+        // finalization
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+
+        return h1 & 0xffffffffL;
+    }
+
+    private static long hash(String key, boolean md5Compatible) {
+        return md5Compatible?md5Hash(key):murmurHash(key);
+    }
+
+    /**
+     * load hash ring of address list, build once and cache
+     */
+    private static HashRing loadRing(List<String> addressList, boolean md5Compatible) {
+        String ringKey = (md5Compatible?"md5":"murmur") + addressList.toString();
+        HashRing ring = ringCacheMap.get(ringKey);
+        if (ring == null) {
+            // address list changed too many times, clean up history ring
+            if (ringCacheMap.size() >= RING_CACHE_MAX) {
+                ringCacheMap.clear();
+            }
+            ring = new HashRing(addressList, md5Compatible);
+            ringCacheMap.putIfAbsent(ringKey, ring);
         }
-        return addressRing.firstEntry().getValue();
+        return ring;
+    }
+
+    public String hashJob(int jobId, List<String> addressList) {
+        boolean md5Compatible = XxlJobAdminConfig.getAdminConfig()==null
+                || XxlJobAdminConfig.getAdminConfig().isRouteConsistentHashMd5();
+        return hashJob(jobId, addressList, md5Compatible);
+    }
+
+    public String hashJob(int jobId, List<String> addressList, boolean md5Compatible) {
+        HashRing addressRing = loadRing(addressList, md5Compatible);
+        long jobHash = hash(String.valueOf(jobId), md5Compatible);
+        return addressRing.route(jobHash);
     }
 
     @Override
@@ -82,4 +148,49 @@ public class ExecutorRouteConsistentHash extends ExecutorRouter {
         return new ReturnT<String>(address);
     }
 
+
+    /**
+     * immutable hash ring, sorted node hash and address
+     */
+    private static class HashRing {
+        private final long[] nodeHashes;
+        private final String[] nodeAddresses;
+
+        public HashRing(List<String> addressList, boolean md5Compatible) {
+
+            // ------A1------A2-------A3------
+            // -----------J1------------------
+            TreeMap<Long, String> addressRing = new TreeMap<Long, String>();
+            for (String address: addressList) {
+                for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
+                    long addressHash = hash("SHARD-" + address + "-NODE-" + i, md5Compatible);
+                    addressRing.put(addressHash, address);
+                }
+            }
+
+            nodeHashes = new long[addressRing.size()];
+            nodeAddresses = new String[addressRing.size()];
+            int index = 0;
+            for (Map.Entry<Long, String> item: addressRing.entrySet()) {
+                nodeHashes[index] = item.getKey();
+                nodeAddresses[index] = item.getValue();
+                index++;
+            }
+        }
+
+        /**
+         * first node clockwise from job hash
+         */
+        public String route(long jobHash) {
+            int index = Arrays.binarySearch(nodeHashes, jobHash);
+            if (index < 0) {
+                index = -index - 1;     // insertion point, first node greater than job hash
+            }
+            if (index >= nodeHashes.length) {
+                index = 0;
+            }
+            return nodeAddresses[index];
+        }
+    }
+
 }
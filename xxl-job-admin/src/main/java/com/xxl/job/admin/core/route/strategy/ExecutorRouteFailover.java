@@ -1,48 +1,32 @@
 package com.xxl.job.admin.core.route.strategy;
 
-import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.route.ExecutorRouteProbe;
 import com.xxl.job.admin.core.route.ExecutorRouter;
-import com.xxl.job.admin.core.util.I18nUtil;
-import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
 
 import java.util.List;
 
 /**
+ * beat executors in parallel, first success wins; beat result cached by address
+ *
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteFailover extends ExecutorRouter {
 
-    @Override
-    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
+    private static final long BEAT_SUCCESS_CACHE_TIME = 5 * 1000;
+    private static final long BEAT_FAIL_CACHE_TIME = 10 * 1000;
 
-        StringBuffer beatResultSB = new StringBuffer();
-        for (String address : addressList) {
-            // beat
-            ReturnT<String> beatResult = null;
-            try {
-                ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
-                beatResult = executorBiz.beat();
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
-                beatResult = new ReturnT<String>(ReturnT.FAIL_CODE, ""+e );
-            }
-            beatResultSB.append( (beatResultSB.length()>0)?"<br><br>":"")
-                    .append(I18nUtil.getString("jobconf_beat") + "：")
-                    .append("<br>address：").append(address)
-                    .append("<br>code：").append(beatResult.getCode())
-                    .append("<br>msg：").append(beatResult.getMsg());
+    private ExecutorRouteProbe beatProbe = new ExecutorRouteProbe("jobconf_beat", BEAT_SUCCESS_CACHE_TIME, BEAT_FAIL_CACHE_TIME, false);
 
-            // beat success
-            if (beatResult.getCode() == ReturnT.SUCCESS_CODE) {
-
-                beatResult.setMsg(beatResultSB.toString());
-                beatResult.setContent(address);
-                return beatResult;
+    @Override
+    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
+        return beatProbe.route("", addressList, new ExecutorRouteProbe.Probe() {
+            @Override
+            public ReturnT<String> probe(String address) throws Exception {
+                return XxlJobScheduler.getExecutorBiz(address).beat();
             }
-        }
-        return new ReturnT<String>(ReturnT.FAIL_CODE, beatResultSB.toString());
-
+        });
     }
 }
@@ -7,73 +7,138 @@ import com.xxl.job.core.biz.model.TriggerParam;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 单个JOB对应的每个执行器，使用频率最低的优先被选举
  *      a(*)、LFU(Least Frequently Used)：最不经常使用，频率/次数
  *      b、LRU(Least Recently Used)：最近最久未使用，时间
  *
+ *      线程安全：每个JOB一把锁（按JOB分段，不同JOB互不竞争）；
+ *      选举：TreeSet 按 (次数, 地址) 排序，O(log n)；
+ *      衰减：每小时次数减半，替代每天全部清空；长时间未调度的JOB被清理；
+ *
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteLFU extends ExecutorRouter {
 
-    private static ConcurrentMap<Integer, HashMap<String, Integer>> jobLfuMap = new ConcurrentHashMap<Integer, HashMap<String, Integer>>();
-    private static long CACHE_VALID_TIME = 0;
+    private static final long DECAY_INTERVAL = 1000*60*60;          // 1 hour
+    private static final long EXPIRE_INTERVAL = 1000*60*60*24;      // 1 day
+
+    private static ConcurrentMap<Integer, LfuState> jobLfuMap = new ConcurrentHashMap<Integer, LfuState>();
+    private static volatile long CACHE_VALID_TIME = 0;
 
     public String route(int jobId, List<String> addressList) {
 
-        // cache clear
-        if (System.currentTimeMillis() > CACHE_VALID_TIME) {
-            jobLfuMap.clear();
-            CACHE_VALID_TIME = System.currentTimeMillis() + 1000*60*60*24;
+        // cache clear, job not route for a long time
+        long now = System.currentTimeMillis();
+        if (now > CACHE_VALID_TIME) {
+            CACHE_VALID_TIME = now + EXPIRE_INTERVAL;
+            for (Map.Entry<Integer, LfuState> item: jobLfuMap.entrySet()) {
+                if (now - item.getValue().lastRouteTime > EXPIRE_INTERVAL) {
+                    jobLfuMap.remove(item.getKey(), item.getValue());
+                }
+            }
         }
 
         // lfu item init
-        HashMap<String, Integer> lfuItemMap = jobLfuMap.get(jobId);     // Key排序可以用TreeMap+构造入参Compare；Value排序暂时只能通过ArrayList；
-        if (lfuItemMap == null) {
-            lfuItemMap = new HashMap<String, Integer>();
-            jobLfuMap.putIfAbsent(jobId, lfuItemMap);   // 避免重复覆盖
+        LfuState lfuState = jobLfuMap.get(jobId);
+        if (lfuState == null) {
+            lfuState = new LfuState();
+            LfuState existState = jobLfuMap.putIfAbsent(jobId, lfuState);   // 避免重复覆盖
+            if (existState != null) {
+                lfuState = existState;
+            }
         }
 
-        // put new
-        for (String address: addressList) {
-            if (!lfuItemMap.containsKey(address) || lfuItemMap.get(address) >1000000 ) {
-                lfuItemMap.put(address, new Random().nextInt(addressList.size()));  // 初始化时主动Random一次，缓解首次压力
+        return lfuState.route(addressList, now);
+    }
+
+    @Override
+    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
+        String address = route(triggerParam.getJobId(), addressList);
+        return new ReturnT<String>(address);
+    }
+
+
+    /**
+     * lfu state of one job
+     */
+    private static class LfuState {
+        private final Map<String, LfuItem> itemMap = new HashMap<String, LfuItem>();
+        private final TreeSet<LfuItem> itemSet = new TreeSet<LfuItem>();
+        private List<String> addressList = Collections.emptyList();
+        private long nextDecayTime = System.currentTimeMillis() + DECAY_INTERVAL;
+        private volatile long lastRouteTime = System.currentTimeMillis();
+
+        public synchronized String route(List<String> addressList, long now) {
+            lastRouteTime = now;
+
+            // address changed: put new, remove old
+            if (!this.addressList.equals(addressList)) {
+                refreshAddress(addressList);
             }
-        }
-        // remove old
-        List<String> delKeys = new ArrayList<>();
-        for (String existKey: lfuItemMap.keySet()) {
-            if (!addressList.contains(existKey)) {
-                delKeys.add(existKey);
+
+            // decay
+            if (now > nextDecayTime) {
+                nextDecayTime = now + DECAY_INTERVAL;
+                decay();
             }
+
+            // load least used count address
+            LfuItem minItem = itemSet.pollFirst();
+            minItem.count++;
+            itemSet.add(minItem);
+            return minItem.address;
         }
-        if (delKeys.size() > 0) {
-            for (String delKey: delKeys) {
-                lfuItemMap.remove(delKey);
+
+        private void refreshAddress(List<String> addressList) {
+            this.addressList = new ArrayList<String>(addressList);
+            Set<String> addressSet = new HashSet<String>(addressList);
+
+            // remove old
+            Iterator<Map.Entry<String, LfuItem>> iterator = itemMap.entrySet().iterator();
+            while (iterator.hasNext()) {
+                LfuItem item = iterator.next().getValue();
+                if (!addressSet.contains(item.address)) {
+                    itemSet.remove(item);
+                    iterator.remove();
+                }
+            }
+            // put new
+            for (String address: addressSet) {
+                if (!itemMap.containsKey(address)) {
+                    LfuItem item = new LfuItem(address, ThreadLocalRandom.current().nextInt(addressSet.size()));  // 初始化时主动Random一次，缓解首次压力
+                    itemMap.put(address, item);
+                    itemSet.add(item);
+                }
             }
         }
 
-        // load least userd count address
-        List<Map.Entry<String, Integer>> lfuItemList = new ArrayList<Map.Entry<String, Integer>>(lfuItemMap.entrySet());
-        Collections.sort(lfuItemList, new Comparator<Map.Entry<String, Integer>>() {
-            @Override
-            public int compare(Map.Entry<String, Integer> o1, Map.Entry<String, Integer> o2) {
-                return o1.getValue().compareTo(o2.getValue());
+        private void decay() {
+            List<LfuItem> itemList = new ArrayList<LfuItem>(itemSet);
+            itemSet.clear();
+            for (LfuItem item: itemList) {
+                item.count = item.count >> 1;
+                itemSet.add(item);
             }
-        });
+        }
+    }
 
-        Map.Entry<String, Integer> addressItem = lfuItemList.get(0);
-        String minAddress = addressItem.getKey();
-        addressItem.setValue(addressItem.getValue() + 1);
+    private static class LfuItem implements Comparable<LfuItem> {
+        private final String address;
+        private long count;
 
-        return addressItem.getKey();
-    }
+        public LfuItem(String address, long count) {
+            this.address = address;
+            this.count = count;
+        }
 
-    @Override
-    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
-        String address = route(triggerParam.getJobId(), addressList);
-        return new ReturnT<String>(address);
+        @Override
+        public int compareTo(LfuItem o) {
+            int result = Long.compare(count, o.count);
+            return result!=0?result:address.compareTo(o.address);
+        }
     }
 
 }
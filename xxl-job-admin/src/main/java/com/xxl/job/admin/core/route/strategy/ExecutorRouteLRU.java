@@ -5,8 +5,13 @@ import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -15,56 +20,43 @@ import java.util.concurrent.ConcurrentMap;
  *      a、LFU(Least Frequently Used)：最不经常使用，频率/次数
  *      b(*)、LRU(Least Recently Used)：最近最久未使用，时间
  *
+ *      线程安全：每个JOB一把锁（按JOB分段，不同JOB互不竞争）；
+ *      选举：LinkedHashMap 访问顺序，取最老元素 O(1)；
+ *      清理：长时间未调度的JOB被清理，替代每天全部清空；
+ *
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteLRU extends ExecutorRouter {
 
-    private static ConcurrentMap<Integer, LinkedHashMap<String, String>> jobLRUMap = new ConcurrentHashMap<Integer, LinkedHashMap<String, String>>();
-    private static long CACHE_VALID_TIME = 0;
+    private static final long EXPIRE_INTERVAL = 1000*60*60*24;      // 1 day
+
+    private static ConcurrentMap<Integer, LruState> jobLRUMap = new ConcurrentHashMap<Integer, LruState>();
+    private static volatile long CACHE_VALID_TIME = 0;
 
     public String route(int jobId, List<String> addressList) {
 
-        // cache clear
-        if (System.currentTimeMillis() > CACHE_VALID_TIME) {
-            jobLRUMap.clear();
-            CACHE_VALID_TIME = System.currentTimeMillis() + 1000*60*60*24;
+        // cache clear, job not route for a long time
+        long now = System.currentTimeMillis();
+        if (now > CACHE_VALID_TIME) {
+            CACHE_VALID_TIME = now + EXPIRE_INTERVAL;
+            for (Map.Entry<Integer, LruState> item: jobLRUMap.entrySet()) {
+                if (now - item.getValue().lastRouteTime > EXPIRE_INTERVAL) {
+                    jobLRUMap.remove(item.getKey(), item.getValue());
+                }
+            }
         }
 
         // init lru
-        LinkedHashMap<String, String> lruItem = jobLRUMap.get(jobId);
-        if (lruItem == null) {
-            /**
-             * LinkedHashMap
-             *      a、accessOrder：true=访问顺序排序（get/put时排序）；false=插入顺序排期；
-             *      b、removeEldestEntry：新增元素时将会调用，返回true时会删除最老元素；可封装LinkedHashMap并重写该方法，比如定义最大容量，超出是返回true即可实现固定长度的LRU算法；
-             */
-            lruItem = new LinkedHashMap<String, String>(16, 0.75f, true);
-            jobLRUMap.putIfAbsent(jobId, lruItem);
-        }
-
-        // put new
-        for (String address: addressList) {
-            if (!lruItem.containsKey(address)) {
-                lruItem.put(address, address);
-            }
-        }
-        // remove old
-        List<String> delKeys = new ArrayList<>();
-        for (String existKey: lruItem.keySet()) {
-            if (!addressList.contains(existKey)) {
-                delKeys.add(existKey);
-            }
-        }
-        if (delKeys.size() > 0) {
-            for (String delKey: delKeys) {
-                lruItem.remove(delKey);
+        LruState lruState = jobLRUMap.get(jobId);
+        if (lruState == null) {
+            lruState = new LruState();
+            LruState existState = jobLRUMap.putIfAbsent(jobId, lruState);
+            if (existState != null) {
+                lruState = existState;
             }
         }
 
-        // load
-        String eldestKey = lruItem.entrySet().iterator().next().getKey();
-        String eldestValue = lruItem.get(eldestKey);
-        return eldestValue;
+        return lruState.route(addressList, now);
     }
 
     @Override
@@ -73,4 +65,45 @@ public class ExecutorRouteLRU extends ExecutorRouter {
         return new ReturnT<String>(address);
     }
 
+
+    /**
+     * lru state of one job
+     */
+    private static class LruState {
+        /**
+         * LinkedHashMap
+         *      a、accessOrder：true=访问顺序排序（get/put时排序）；false=插入顺序排期；
+         *      b、removeEldestEntry：新增元素时将会调用，返回true时会删除最老元素；可封装LinkedHashMap并重写该方法，比如定义最大容量，超出是返回true即可实现固定长度的LRU算法；
+         */
+        private final LinkedHashMap<String, String> lruItem = new LinkedHashMap<String, String>(16, 0.75f, true);
+        private List<String> addressList = Collections.emptyList();
+        private volatile long lastRouteTime = System.currentTimeMillis();
+
+        public synchronized String route(List<String> addressList, long now) {
+            lastRouteTime = now;
+
+            // address changed: put new, remove old
+            if (!this.addressList.equals(addressList)) {
+                this.addressList = new ArrayList<String>(addressList);
+                Set<String> addressSet = new HashSet<String>(addressList);
+
+                Iterator<String> iterator = lruItem.keySet().iterator();
+                while (iterator.hasNext()) {
+                    if (!addressSet.contains(iterator.next())) {
+                        iterator.remove();
+                    }
+                }
+                for (String address: addressList) {
+                    if (!lruItem.containsKey(address)) {
+                        lruItem.put(address, address);
+                    }
+                }
+            }
+
+            // load eldest, and get it to move to the newest
+            String eldestKey = lruItem.keySet().iterator().next();
+            return lruItem.get(eldestKey);
+        }
+    }
+
 }
@@ -0,0 +1,43 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import com.xxl.job.admin.core.route.ExecutorLoadCache;
+import com.xxl.job.admin.core.route.ExecutorRouter;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * least loaded executor, by load reported with registry beat, no rpc when route
+ *      a、load score：running job threads + queued triggers + bizThreadPool queue + dispatched since last beat;
+ *      b、same score：lower cpu load first; then start from random index, avoid always the first address;
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorRouteLeastLoaded extends ExecutorRouter {
+
+    @Override
+    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
+        int size = addressList.size();
+        int start = ThreadLocalRandom.current().nextInt(size);
+
+        String minAddress = null;
+        int minScore = Integer.MAX_VALUE;
+        double minCpuLoad = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            String address = addressList.get((start + i) % size);
+            int score = ExecutorLoadCache.loadScore(address);
+            double cpuLoad = Math.max(ExecutorLoadCache.cpuLoad(address), 0);
+            if (score < minScore || (score == minScore && cpuLoad < minCpuLoad)) {
+                minAddress = address;
+                minScore = score;
+                minCpuLoad = cpuLoad;
+            }
+        }
+
+        ExecutorLoadCache.dispatched(minAddress);
+        return new ReturnT<String>(minAddress);
+    }
+
+}
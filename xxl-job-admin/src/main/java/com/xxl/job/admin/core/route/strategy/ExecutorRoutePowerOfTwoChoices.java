@@ -0,0 +1,39 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import com.xxl.job.admin.core.route.ExecutorInflightCounter;
+import com.xxl.job.admin.core.route.ExecutorRouter;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * power of two choices：sample two executors at random, pick the one with fewer in-flight triggers of this admin
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorRoutePowerOfTwoChoices extends ExecutorRouter {
+
+    @Override
+    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
+        int size = addressList.size();
+        if (size == 1) {
+            return new ReturnT<String>(addressList.get(0));
+        }
+
+        // two different address
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        String firstAddress = addressList.get(first);
+        String secondAddress = addressList.get(second);
+        String address = (ExecutorInflightCounter.get(secondAddress) < ExecutorInflightCounter.get(firstAddress))?secondAddress:firstAddress;
+        return new ReturnT<String>(address);
+    }
+
+}
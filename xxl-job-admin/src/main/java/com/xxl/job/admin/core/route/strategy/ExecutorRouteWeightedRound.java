@@ -0,0 +1,120 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import com.xxl.job.admin.core.route.ExecutorRouter;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * smooth weighted round robin, weight declared by executor on registry
+ *
+ *      a、each route：current += weight for each address, pick the max current, then picked current -= total weight;
+ *      b、smooth：weight {5,1,1} route as "a,a,b,a,c,a,a" instead of "a,a,a,a,a,b,c";
+ *      c、lock-free：state of each job is immutable, replace by CAS;
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorRouteWeightedRound extends ExecutorRouter {
+
+    // address -> weight, refresh by registry monitor
+    private static volatile Map<String, Integer> addressWeightMap = Collections.emptyMap();
+
+    private static ConcurrentMap<Integer, AtomicReference<RoundState>> jobRoundMap = new ConcurrentHashMap<Integer, AtomicReference<RoundState>>();
+    private static volatile long CACHE_VALID_TIME = 0;
+
+    public static void refreshWeight(Map<String, Integer> weightMap) {
+        addressWeightMap = Collections.unmodifiableMap(new HashMap<String, Integer>(weightMap));
+    }
+
+    private static int loadWeight(String address) {
+        Integer weight = addressWeightMap.get(address);
+        return (weight!=null && weight>0)?weight:1;
+    }
+
+    public String route(int jobId, List<String> addressList) {
+
+        // cache clear
+        if (System.currentTimeMillis() > CACHE_VALID_TIME) {
+            jobRoundMap.clear();
+            CACHE_VALID_TIME = System.currentTimeMillis() + 1000*60*60*24;
+        }
+
+        AtomicReference<RoundState> stateRef = jobRoundMap.get(jobId);
+        if (stateRef == null) {
+            stateRef = new AtomicReference<RoundState>();
+            AtomicReference<RoundState> existRef = jobRoundMap.putIfAbsent(jobId, stateRef);
+            if (existRef != null) {
+                stateRef = existRef;
+            }
+        }
+
+        int[] weights = new int[addressList.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = loadWeight(addressList.get(i));
+        }
+
+        while (true) {
+            RoundState state = stateRef.get();
+            RoundState baseState = (state!=null && state.match(addressList, weights))
+                    ?state
+                    :new RoundState(new ArrayList<String>(addressList), weights, new long[weights.length], -1);
+            RoundState nextState = baseState.next();
+            if (stateRef.compareAndSet(state, nextState)) {
+                return nextState.addressList.get(nextState.picked);
+            }
+        }
+    }
+
+    @Override
+    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
+        String address = route(triggerParam.getJobId(), addressList);
+        return new ReturnT<String>(address);
+    }
+
+
+    /**
+     * immutable round state of one job
+     */
+    private static class RoundState {
+        private final List<String> addressList;
+        private final int[] weights;
+        private final long[] currents;
+        private final int picked;
+
+        public RoundState(List<String> addressList, int[] weights, long[] currents, int picked) {
+            this.addressList = addressList;
+            this.weights = weights;
+            this.currents = currents;
+            this.picked = picked;
+        }
+
+        public boolean match(List<String> addressList, int[] weights) {
+            return this.addressList.equals(addressList) && Arrays.equals(this.weights, weights);
+        }
+
+        public RoundState next() {
+            long[] nextCurrents = new long[currents.length];
+            long total = 0;
+            int maxIndex = 0;
+            for (int i = 0; i < currents.length; i++) {
+                nextCurrents[i] = currents[i] + weights[i];
+                total += weights[i];
+                if (nextCurrents[i] > nextCurrents[maxIndex]) {
+                    maxIndex = i;
+                }
+            }
+            nextCurrents[maxIndex] -= total;
+            return new RoundState(addressList, weights, nextCurrents, maxIndex);
+        }
+    }
+
+}
@@ -1,11 +1,17 @@
 package com.xxl.job.admin.core.scheduler;
 
+import com.xxl.job.admin.core.channel.AdminChannelServer;
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.route.ExecutorCircuitBreaker;
+import com.xxl.job.admin.core.server.AdminApiServer;
 import com.xxl.job.admin.core.thread.*;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.client.ExecutorBizClient;
+import com.xxl.job.core.channel.ChannelInvoker;
 import com.xxl.job.core.enums.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.util.XxlJobHttpClient;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +30,20 @@ public class XxlJobScheduler  {
         // init i18n
         initI18n();
 
+        // admin remoting client config
+        XxlJobHttpClient.config(XxlJobAdminConfig.getAdminConfig().getRemotingMaxConnPerHost(),
+                XxlJobAdminConfig.getAdminConfig().getRemotingIdleTimeout(),
+                XxlJobAdminConfig.getAdminConfig().getRemotingConnectTimeout(),
+                XxlJobAdminConfig.getAdminConfig().getRemotingMaxContent());
+        XxlJobRemotingUtil.setCodec(XxlJobAdminConfig.getAdminConfig().getRemotingCodec());
+        ChannelInvoker.setMaxFrameLength(XxlJobAdminConfig.getAdminConfig().getRemotingMaxContent());
+
+        // admin channel server start
+        AdminChannelServer.getInstance().start(XxlJobAdminConfig.getAdminConfig().getChannelPort());
+
+        // admin api server start
+        AdminApiServer.getInstance().start(XxlJobAdminConfig.getAdminConfig().getApiPort(), XxlJobAdminConfig.getAdminConfig().getApiThreadMax());
+
         // admin registry monitor run
         JobRegistryMonitorHelper.getInstance().start();
 
@@ -66,6 +86,15 @@ public class XxlJobScheduler  {
         // admin registry stop
         JobRegistryMonitorHelper.getInstance().toStop();
 
+        // admin channel server stop
+        AdminChannelServer.getInstance().toStop();
+
+        // admin api server stop
+        AdminApiServer.getInstance().toStop();
+
+        // admin remoting client stop
+        XxlJobHttpClient.stop();
+
     }
 
     // ---------------------- I18n ----------------------
@@ -84,15 +113,21 @@ public class XxlJobScheduler  {
             return null;
         }
 
-        // load-cache
+        // channel first, executor connected by channel; with circuit breaker too
         address = address.trim();
+        ExecutorBiz channelExecutorBiz = AdminChannelServer.loadExecutorBiz(address);
+        if (channelExecutorBiz != null) {
+            return ExecutorCircuitBreaker.wrap(address, channelExecutorBiz);
+        }
+
+        // load-cache
         ExecutorBiz executorBiz = executorBizRepository.get(address);
         if (executorBiz != null) {
             return executorBiz;
         }
 
-        // set-cache
-        executorBiz = new ExecutorBizClient(address, XxlJobAdminConfig.getAdminConfig().getAccessToken());
+        // set-cache, with circuit breaker, fast fail if executor dead
+        executorBiz = ExecutorCircuitBreaker.wrap(address, new ExecutorBizClient(address, XxlJobAdminConfig.getAdminConfig().getAccessToken()));
 
         executorBizRepository.put(address, executorBiz);
         return executorBiz;
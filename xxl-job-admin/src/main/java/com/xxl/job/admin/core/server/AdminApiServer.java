@@ -0,0 +1,276 @@
+package com.xxl.job.admin.core.server;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.core.biz.AdminBiz;
+import com.xxl.job.core.biz.model.HandleCallbackParam;
+import com.xxl.job.core.biz.model.RegistryParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.codec.XxlJobCodec;
+import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.ThrowableUtil;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * admin api server, embedded netty http, the same design as executor "EmbedServer"
+ *
+ *      a、api：callback、registry、registryRemove, the same as "JobApiController", out of web container (filter、interceptor、tomcat thread);
+ *      b、thread：own biz thread pool, executor beat storm not block web console; reject as overload if exhausted;
+ *      c、address：executor use it by admin address "http://{ip}:{api port}/", match uri by "/api/{mapping}", context path ignored;
+ *
+ * @author agent 2026-10-18
+ */
+public class AdminApiServer {
+    private static Logger logger = LoggerFactory.getLogger(AdminApiServer.class);
+
+    private static AdminApiServer instance = new AdminApiServer();
+    public static AdminApiServer getInstance(){
+        return instance;
+    }
+
+    private static final Type CALLBACK_LIST_TYPE = new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{HandleCallbackParam.class});
+
+    /**
+     * services mapping
+     *
+     * @param adminBiz
+     * @param uri               such as "callback"
+     * @param requestData       decode from buffer directly, not released
+     * @param requestCodec
+     * @return
+     */
+    public static ReturnT<String> invoke(AdminBiz adminBiz, String uri, ByteBuf requestData, XxlJobCodec requestCodec) throws Exception {
+        if ("callback".equals(uri)) {
+            List<HandleCallbackParam> callbackParamList = requestCodec.decode(requestData, CALLBACK_LIST_TYPE);
+            return adminBiz.callback(callbackParamList);
+        } else if ("registry".equals(uri)) {
+            RegistryParam registryParam = requestCodec.decode(requestData, RegistryParam.class);
+            return adminBiz.registry(registryParam);
+        } else if ("registryRemove".equals(uri)) {
+            RegistryParam registryParam = requestCodec.decode(requestData, RegistryParam.class);
+            return adminBiz.registryRemove(registryParam);
+        } else {
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping("+ uri +") not found.");
+        }
+    }
+
+
+    // ---------------------- server ----------------------
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private ThreadPoolExecutor bizThreadPool;
+
+    /**
+     * @param port          <=0 means close
+     * @param threadMax     max thread of biz thread pool
+     */
+    public void start(int port, int threadMax) throws Exception {
+        start(port, threadMax, 2000, XxlJobAdminConfig.getAdminConfig().getAdminBiz(), XxlJobAdminConfig.getAdminConfig().getAccessToken());
+    }
+
+    /**
+     * @param queueSize     queue of biz thread pool, reject as overload if full
+     */
+    void start(int port, int threadMax, int queueSize, final AdminBiz adminBiz, final String accessToken) throws Exception {
+        if (port <= 0) {
+            return;     // api server close
+        }
+
+        bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("xxl-job, admin AdminApiServer-boss", true));
+        workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("xxl-job, admin AdminApiServer-worker", true));
+        bizThreadPool = new ThreadPoolExecutor(
+                0,
+                threadMax,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(queueSize),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        return new Thread(r, "xxl-job, admin AdminApiServer-bizThreadPool-" + r.hashCode());
+                    }
+                },
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        throw new RejectedExecutionException("xxl-job, admin AdminApiServer bizThreadPool is EXHAUSTED!");
+                    }
+                });
+
+        ServerBootstrap bootstrap = new ServerBootstrap();
+        bootstrap.group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(SocketChannel channel) throws Exception {
+                        channel.pipeline()
+                                .addLast(new IdleStateHandler(0, 0, 30 * 3, TimeUnit.SECONDS))  // beat 3N, close if idle
+                                .addLast(new HttpServerCodec())
+                                .addLast(new HttpObjectAggregator(5 * 1024 * 1024))  // merge request & reponse to FULL
+                                .addLast(new AdminApiHttpHandler(adminBiz, accessToken, bizThreadPool));
+                    }
+                })
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true);
+        bootstrap.bind(port).sync();
+
+        logger.info(">>>>>>>>>>> xxl-job admin api server start success, port = {}, threadMax = {}", port, threadMax);
+    }
+
+    public void toStop() {
+        if (bossGroup == null) {
+            return;
+        }
+        bossGroup.shutdownGracefully();
+        workerGroup.shutdownGracefully();
+        bizThreadPool.shutdownNow();
+        logger.info(">>>>>>>>>>> xxl-job admin api server stop.");
+    }
+
+    /**
+     * mapping of uri, such as "/xxl-job-admin/api/callback" to "callback"
+     */
+    private static String parseMapping(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        int queryIndex = uri.indexOf('?');
+        String path = (queryIndex > -1)?uri.substring(0, queryIndex):uri;
+        int apiIndex = path.lastIndexOf("/api/");
+        return (apiIndex > -1)?path.substring(apiIndex + "/api/".length()):null;
+    }
+
+    private static class AdminApiHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        private final AdminBiz adminBiz;
+        private final String accessToken;
+        private final ThreadPoolExecutor bizThreadPool;
+
+        public AdminApiHttpHandler(AdminBiz adminBiz, String accessToken, ThreadPoolExecutor bizThreadPool) {
+            this.adminBiz = adminBiz;
+            this.accessToken = accessToken;
+            this.bizThreadPool = bizThreadPool;
+        }
+
+        @Override
+        protected void channelRead0(final ChannelHandlerContext ctx, FullHttpRequest msg) throws Exception {
+
+            // request parse
+            final String mapping = parseMapping(msg.uri());
+            final HttpMethod httpMethod = msg.method();
+            final boolean keepAlive = HttpUtil.isKeepAlive(msg);
+            final String accessTokenReq = msg.headers().get(XxlJobRemotingUtil.XXL_JOB_ACCESS_TOKEN);
+            final XxlJobCodec requestCodec = XxlJobCodec.loadCodecOrJson(msg.headers().get(XxlJobRemotingUtil.XXL_JOB_CODEC));
+            final XxlJobCodec responseCodec = XxlJobCodec.loadCodecOrJson(msg.headers().get(XxlJobRemotingUtil.XXL_JOB_ACCEPT_CODEC));
+
+            // invoke in biz pool, retain buffer until processed
+            final ByteBuf requestData = msg.content().retain();
+            try {
+                bizThreadPool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        ReturnT<String> responseObj = null;
+                        try {
+                            responseObj = process(httpMethod, mapping, requestData, requestCodec, accessTokenReq);
+                        } finally {
+                            requestData.release();
+                        }
+                        writeResponse(ctx, keepAlive, responseCodec, responseObj);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // overloaded, reject explicitly, executor retry later
+                requestData.release();
+                logger.warn(">>>>>>>>>>> xxl-job admin api server overloaded, reject request, uri:{}", msg.uri());
+                writeResponse(ctx, keepAlive, responseCodec, ReturnT.<String>overload("xxl-job admin overloaded, bizThreadPool is EXHAUSTED.", ReturnT.OVERLOAD_RETRY_AFTER));
+            } catch (RuntimeException e) {
+                requestData.release();
+                throw e;
+            }
+        }
+
+        private ReturnT<String> process(HttpMethod httpMethod, String mapping, ByteBuf requestData, XxlJobCodec requestCodec, String accessTokenReq) {
+
+            // valid
+            if (HttpMethod.POST != httpMethod) {
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, HttpMethod not support.");
+            }
+            if (mapping==null || mapping.trim().length()==0) {
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping empty.");
+            }
+            if (accessToken!=null
+                    && accessToken.trim().length()>0
+                    && !accessToken.equals(accessTokenReq)) {
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "The access token is wrong.");
+            }
+
+            // services mapping
+            try {
+                return invoke(adminBiz, mapping, requestData, requestCodec);
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "request error:" + ThrowableUtil.toString(e));
+            }
+        }
+
+        /**
+         * write response, encode into pooled direct buffer, in codec accepted by client
+         */
+        private void writeResponse(ChannelHandlerContext ctx, boolean keepAlive, XxlJobCodec responseCodec, Object responseObj) {
+            // encode
+            ByteBuf responseData = ctx.alloc().ioBuffer();
+            try {
+                responseCodec.encode(responseObj, responseData);
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+                responseCodec = XxlJobCodec.JSON;
+                responseData.clear();
+                responseData.writeCharSequence(GsonTool.toJson(new ReturnT<String>(ReturnT.FAIL_CODE, "response encode error:" + ThrowableUtil.toString(e))), CharsetUtil.UTF_8);
+            }
+
+            // write response
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, responseData);
+            response.headers().set(HttpHeaderNames.CONTENT_TYPE, responseCodec.contentType());
+            response.headers().set(XxlJobRemotingUtil.XXL_JOB_CODEC, responseCodec.name());
+            response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            if (keepAlive) {
+                response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+            }
+            ctx.writeAndFlush(response);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            logger.error(">>>>>>>>>>> xxl-job admin api server caught exception", cause);
+            ctx.close();
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                ctx.channel().close();      // beat 3N, close if idle
+                logger.debug(">>>>>>>>>>> xxl-job admin api server close an idle channel.");
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package com.xxl.job.admin.core.thread;
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobRegistry;
+import com.xxl.job.admin.core.route.strategy.ExecutorRouteWeightedRound;
 import com.xxl.job.core.enums.RegistryConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,14 +23,41 @@ public class JobRegistryMonitorHelper {
 		return instance;
 	}
 
+	/**
+	 * registry column "weight" exists, false until "doc/db/upgrade_v2.2.1.sql" executed; weight ignored (as 1) before that
+	 */
+	private static volatile boolean weightColumnReady = false;
+	public static boolean isWeightColumnReady() {
+		return weightColumnReady;
+	}
+
+	private static void checkWeightColumn() {
+		if (weightColumnReady) {
+			return;
+		}
+		try {
+			weightColumnReady = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().countWeightColumn() > 0;
+		} catch (Exception e) {
+			logger.warn(">>>>>>>>>>> xxl-job, check registry weight column fail:{}", e.getMessage());
+		}
+	}
+
 	private Thread registryThread;
 	private volatile boolean toStop = false;
 	public void start(){
+		checkWeightColumn();
+		if (!weightColumnReady) {
+			logger.warn(">>>>>>>>>>> xxl-job, registry column \"weight\" not found, weight ignored until \"doc/db/upgrade_v2.2.1.sql\" executed.");
+		}
+
 		registryThread = new Thread(new Runnable() {
 			@Override
 			public void run() {
 				while (!toStop) {
 					try {
+						// registry weight column, until upgrade sql executed
+						checkWeightColumn();
+
 						// auto registry group
 						List<XxlJobGroup> groupList = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().findByAddressType(0);
 						if (groupList!=null && !groupList.isEmpty()) {
@@ -42,7 +70,8 @@ public class JobRegistryMonitorHelper {
 
 							// fresh online address (admin/executor)
 							HashMap<String, List<String>> appAddressMap = new HashMap<String, List<String>>();
-							List<XxlJobRegistry> list = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().findAll(RegistryConfig.DEAD_TIMEOUT, new Date());
+							HashMap<String, Integer> addressWeightMap = new HashMap<String, Integer>();
+							List<XxlJobRegistry> list = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().findAll(RegistryConfig.DEAD_TIMEOUT, new Date(), weightColumnReady);
 							if (list != null) {
 								for (XxlJobRegistry item: list) {
 									if (RegistryConfig.RegistType.EXECUTOR.name().equals(item.getRegistryGroup())) {
@@ -56,9 +85,11 @@ public class JobRegistryMonitorHelper {
 											registryList.add(item.getRegistryValue());
 										}
 										appAddressMap.put(appname, registryList);
+										addressWeightMap.put(item.getRegistryValue(), item.getWeight());
 									}
 								}
 							}
+							ExecutorRouteWeightedRound.refreshWeight(addressWeightMap);
 
 							// fresh group address
 							for (XxlJobGroup group: groupList) {
@@ -3,6 +3,7 @@ package com.xxl.job.admin.core.thread;
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.cron.CronExpression;
 import com.xxl.job.admin.core.model.XxlJobInfo;
+import com.xxl.job.admin.core.trigger.TriggerAdmission;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,6 +82,9 @@ public class JobScheduleHelper {
                             // 2、push time-ring
                             for (XxlJobInfo jobInfo: scheduleList) {
 
+                                // job group known, no need load again before admission
+                                TriggerAdmission.putJobGroup(jobInfo.getId(), jobInfo.getJobGroup());
+
                                 // time-ring jump
                                 if (nowTime > jobInfo.getTriggerNextTime() + PRE_READ_MS) {
                                     // 2.1、trigger-expire > 5s：pass && make next-trigger-time
@@ -293,6 +297,27 @@ public class JobScheduleHelper {
         logger.debug(">>>>>>>>>>> xxl-job, schedule push time-ring : " + ringSecond + " = " + Arrays.asList(ringItemData) );
     }
 
+    /**
+     * defer trigger to time-ring next second, such as trigger overload
+     *
+     * @param jobId
+     */
+    public void pushDeferTimeRing(int jobId){
+        int ringSecond = (int)((System.currentTimeMillis()/1000 + 1)%60);
+        synchronized (ringData) {
+            List<Integer> ringItemData = ringData.get(ringSecond);
+            if (ringItemData == null) {
+                ringItemData = new ArrayList<Integer>();
+                ringData.put(ringSecond, ringItemData);
+            }
+            if (!ringItemData.contains(jobId)) {    // avoid defer repeat
+                ringItemData.add(jobId);
+            }
+        }
+
+        logger.debug(">>>>>>>>>>> xxl-job, schedule push defer time-ring : " + ringSecond + " = " + jobId );
+    }
+
     public void toStop(){
 
         // 1、stop schedule
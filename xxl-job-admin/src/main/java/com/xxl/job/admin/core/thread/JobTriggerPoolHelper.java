@@ -1,11 +1,21 @@
 package com.xxl.job.admin.core.thread;
 
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobInfo;
+import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.trigger.TriggerAdmission;
+import com.xxl.job.admin.core.trigger.TriggerBulkhead;
+import com.xxl.job.admin.core.trigger.TriggerOverflowPolicyEnum;
+import com.xxl.job.admin.core.trigger.TriggerStageTimer;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.core.trigger.XxlJobTrigger;
+import com.xxl.job.admin.core.util.I18nUtil;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.util.VirtualThreadUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Date;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -24,39 +34,101 @@ public class JobTriggerPoolHelper {
     private ThreadPoolExecutor fastTriggerPool = null;
     private ThreadPoolExecutor slowTriggerPool = null;
 
+    // virtual thread pool (JDK 21+), bound concurrency by semaphore: total, each executor group, jdbc
+    private ExecutorService virtualTriggerPool = null;
+    private Semaphore virtualTriggerPermits = null;
+    private ConcurrentMap<Integer, Semaphore> virtualGroupPermitsMap = new ConcurrentHashMap<>();
+    private static volatile Semaphore jdbcPermits = null;
+
+    // admission control
+    private TriggerAdmission triggerAdmission = null;
+    private TriggerOverflowPolicyEnum overflowPolicy = null;
+    private static final int DEFER_MAX = 3;         // continuous defer times of job, drop if over
+    private ConcurrentMap<Integer, AtomicInteger> jobDeferCountMap = new ConcurrentHashMap<>();
+    private TriggerBulkhead fastTriggerBulkhead = null;      // bulkhead of fast (or virtual) pool
+    private TriggerBulkhead slowTriggerBulkhead = null;      // bulkhead of slow pool
+
     public void start(){
-        fastTriggerPool = new ThreadPoolExecutor(
-                10,
+
+        TriggerStageTimer.setSlowThreshold(XxlJobAdminConfig.getAdminConfig().getTriggerSlowThreshold());
+
+        // virtual thread mode
+        if (XxlJobAdminConfig.getAdminConfig().isTriggerPoolVirtual()) {
+            virtualTriggerPool = VirtualThreadUtil.newVirtualThreadPerTaskExecutor("xxl-job, admin JobTriggerPoolHelper-virtualTriggerPool-");
+            if (virtualTriggerPool != null) {
+                virtualTriggerPermits = new Semaphore(XxlJobAdminConfig.getAdminConfig().getTriggerPoolVirtualMax());
+                jdbcPermits = new Semaphore(XxlJobAdminConfig.getAdminConfig().getTriggerPoolVirtualJdbcMax());
+                logger.info(">>>>>>>>> xxl-job trigger pool use virtual thread.");
+            } else {
+                logger.warn(">>>>>>>>> xxl-job trigger pool virtual thread not supported by current JVM, fallback to fast/slow thread pool.");
+            }
+        }
+
+        triggerAdmission = new TriggerAdmission(
+                XxlJobAdminConfig.getAdminConfig().getTriggerPoolInflightMax(),
+                XxlJobAdminConfig.getAdminConfig().getTriggerPoolRateLimitJob(),
+                XxlJobAdminConfig.getAdminConfig().getTriggerPoolRateLimitGroup());
+        overflowPolicy = XxlJobAdminConfig.getAdminConfig().getTriggerPoolOverflow();
+        if (XxlJobAdminConfig.getAdminConfig().getTriggerPoolGroupSlice() > 0) {
+            // size to the pool which run the trigger
+            int slice = XxlJobAdminConfig.getAdminConfig().getTriggerPoolGroupSlice();
+            if (virtualTriggerPool != null) {
+                fastTriggerBulkhead = new TriggerBulkhead("virtual", slice, XxlJobAdminConfig.getAdminConfig().getTriggerPoolVirtualMax());
+            } else {
+                fastTriggerBulkhead = new TriggerBulkhead("fast", slice, XxlJobAdminConfig.getAdminConfig().getTriggerPoolFastMax());
+                slowTriggerBulkhead = new TriggerBulkhead("slow", slice, XxlJobAdminConfig.getAdminConfig().getTriggerPoolSlowMax());
+            }
+        }
+        if (virtualTriggerPool != null) {
+            return;
+        }
+
+        fastTriggerPool = newTriggerPool("xxl-job, admin JobTriggerPoolHelper-fastTriggerPool-",
                 XxlJobAdminConfig.getAdminConfig().getTriggerPoolFastMax(),
-                60L,
-                TimeUnit.SECONDS,
-                new LinkedBlockingQueue<Runnable>(1000),
-                new ThreadFactory() {
-                    @Override
-                    public Thread newThread(Runnable r) {
-                        return new Thread(r, "xxl-job, admin JobTriggerPoolHelper-fastTriggerPool-" + r.hashCode());
-                    }
-                });
+                1000,
+                fastTriggerBulkhead!=null);
 
-        slowTriggerPool = new ThreadPoolExecutor(
-                10,
+        slowTriggerPool = newTriggerPool("xxl-job, admin JobTriggerPoolHelper-slowTriggerPool-",
                 XxlJobAdminConfig.getAdminConfig().getTriggerPoolSlowMax(),
+                2000,
+                slowTriggerBulkhead!=null);
+    }
+
+    /**
+     * trigger thread pool
+     *
+     * pool add thread beyond core only when queue full; with bulkhead, which limit admitted triggers under max, queue never full,
+     * so core = max: each admitted trigger run at once, not wait in queue behind triggers blocked by a dead executor group
+     */
+    static ThreadPoolExecutor newTriggerPool(final String name, int max, int queueSize, boolean bulkhead) {
+        ThreadPoolExecutor triggerPool = new ThreadPoolExecutor(
+                bulkhead?max:10,
+                max,
                 60L,
                 TimeUnit.SECONDS,
-                new LinkedBlockingQueue<Runnable>(2000),
+                new LinkedBlockingQueue<Runnable>(queueSize),
                 new ThreadFactory() {
                     @Override
                     public Thread newThread(Runnable r) {
-                        return new Thread(r, "xxl-job, admin JobTriggerPoolHelper-slowTriggerPool-" + r.hashCode());
+                        return new Thread(r, name + r.hashCode());
                     }
                 });
+        if (bulkhead) {
+            triggerPool.allowCoreThreadTimeOut(true);
+        }
+        return triggerPool;
     }
 
 
     public void stop() {
         //triggerPool.shutdown();
-        fastTriggerPool.shutdownNow();
-        slowTriggerPool.shutdownNow();
+        if (virtualTriggerPool != null) {
+            virtualTriggerPool.shutdownNow();
+            jdbcPermits = null;
+        } else {
+            fastTriggerPool.shutdownNow();
+            slowTriggerPool.shutdownNow();
+        }
         logger.info(">>>>>>>>> xxl-job trigger thread pool shutdown success.");
     }
 
@@ -77,48 +149,295 @@ public class JobTriggerPoolHelper {
                            final String addressList) {
 
         // choose thread pool
-        ThreadPoolExecutor triggerPool_ = fastTriggerPool;
+        ExecutorService triggerPool_ = fastTriggerPool;
+        TriggerBulkhead triggerBulkhead_ = fastTriggerBulkhead;
         AtomicInteger jobTimeoutCount = jobTimeoutCountMap.get(jobId);
         if (jobTimeoutCount!=null && jobTimeoutCount.get() > 10) {      // job-timeout 10 times in 1 min
             triggerPool_ = slowTriggerPool;
+            triggerBulkhead_ = slowTriggerBulkhead;
+        }
+        if (virtualTriggerPool != null) {
+            triggerPool_ = virtualTriggerPool;
+            triggerBulkhead_ = fastTriggerBulkhead;
+        }
+        final boolean virtual = (triggerPool_ == virtualTriggerPool);
+        final TriggerBulkhead triggerBulkhead = triggerBulkhead_;
+
+        // job group, resolve before admission, the first trigger of job is limited too
+        resolveJobGroup(jobId);
+
+        // admission
+        String rejectReason = triggerAdmission.tryAcquire(jobId);
+        if (rejectReason != null) {
+            overflow(rejectReason, jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+            return;
+        }
+
+        // bulkhead of executor group
+        final Integer jobGroup = (triggerBulkhead!=null)?TriggerAdmission.loadJobGroup(jobId):null;
+        if (jobGroup!=null && !triggerBulkhead.tryAcquire(jobGroup)) {
+            triggerAdmission.release();
+            overflow("executor group trigger bulkhead is full, slice(" + triggerBulkhead.getSlice() + "), jobGroup=" + jobGroup,
+                    jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+            return;
         }
 
         // trigger
-        triggerPool_.execute(new Runnable() {
-            @Override
-            public void run() {
-
-                long start = System.currentTimeMillis();
-
-                try {
-                    // do trigger
-                    XxlJobTrigger.trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
-                } catch (Exception e) {
-                    logger.error(e.getMessage(), e);
-                } finally {
-
-                    // check timeout-count-map
-                    long minTim_now = System.currentTimeMillis()/60000;
-                    if (minTim != minTim_now) {
-                        minTim = minTim_now;
-                        jobTimeoutCountMap.clear();
-                    }
+        final long submitNanos = System.nanoTime();
+        try {
+            triggerPool_.execute(new Runnable() {
+                @Override
+                public void run() {
+
+                    long start = System.currentTimeMillis();
+                    TriggerStageTimer.start(jobId, submitNanos);
+
+                    boolean virtualPermitted = false;
+                    Semaphore virtualGroupPermits = null;
+                    try {
+                        // virtual thread, wait permits
+                        if (virtual) {
+                            virtualGroupPermits = acquireVirtualPermits(jobId);
+                            virtualPermitted = true;
+                            TriggerStageTimer.mark(TriggerStageTimer.STAGE_PERMIT_WAIT);
+                        }
+
+                        // do trigger
+                        XxlJobTrigger.trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+                    } catch (Exception e) {
+                        logger.error(e.getMessage(), e);
+                    } finally {
+                        TriggerStageTimer.finish();
+                        if (virtualPermitted) {
+                            releaseVirtualPermits(virtualGroupPermits);
+                        }
+                        triggerAdmission.release();
+                        if (jobGroup != null) {
+                            triggerBulkhead.release(jobGroup);
+                        }
+
+                        // check timeout-count-map
+                        long minTim_now = System.currentTimeMillis()/60000;
+                        if (minTim != minTim_now) {
+                            minTim = minTim_now;
+                            jobTimeoutCountMap.clear();
+                        }
 
-                    // incr timeout-count-map
-                    long cost = System.currentTimeMillis()-start;
-                    if (cost > 500) {       // ob-timeout threshold 500ms
-                        AtomicInteger timeoutCount = jobTimeoutCountMap.putIfAbsent(jobId, new AtomicInteger(1));
-                        if (timeoutCount != null) {
-                            timeoutCount.incrementAndGet();
+                        // incr timeout-count-map
+                        long cost = System.currentTimeMillis()-start;
+                        if (cost > 500) {       // ob-timeout threshold 500ms
+                            AtomicInteger timeoutCount = jobTimeoutCountMap.putIfAbsent(jobId, new AtomicInteger(1));
+                            if (timeoutCount != null) {
+                                timeoutCount.incrementAndGet();
+                            }
                         }
+
                     }
 
                 }
+            });
+            TriggerAdmission.record("admit");
+            resetDeferCount(jobId);
+        } catch (RejectedExecutionException e) {
+            triggerAdmission.release();
+            if (jobGroup != null) {
+                triggerBulkhead.release(jobGroup);
+            }
+            overflow("trigger pool is EXHAUSTED", jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+        }
+    }
 
+    /**
+     * job group of job, learned from schedule pre-read or trigger, or load from db if unknown (such as the first manual trigger)
+     */
+    private static Integer resolveJobGroup(int jobId) {
+        Integer jobGroup = TriggerAdmission.loadJobGroup(jobId);
+        if (jobGroup != null) {
+            return jobGroup;
+        }
+        try {
+            XxlJobInfo jobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(jobId);
+            if (jobInfo != null) {
+                TriggerAdmission.putJobGroup(jobInfo.getId(), jobInfo.getJobGroup());
+                jobGroup = jobInfo.getJobGroup();
             }
-        });
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+        return jobGroup;
     }
 
+    /**
+     * virtual thread permits, total and executor group
+     *
+     * @return  permits of executor group, null if group unknown
+     */
+    private Semaphore acquireVirtualPermits(int jobId) throws InterruptedException {
+        virtualTriggerPermits.acquire();
+
+        Integer jobGroup = TriggerAdmission.loadJobGroup(jobId);
+        if (jobGroup == null) {
+            return null;
+        }
+        Semaphore groupPermits = virtualGroupPermitsMap.get(jobGroup);
+        if (groupPermits == null) {
+            groupPermits = new Semaphore(XxlJobAdminConfig.getAdminConfig().getTriggerPoolVirtualGroupMax());
+            Semaphore existPermits = virtualGroupPermitsMap.putIfAbsent(jobGroup, groupPermits);
+            if (existPermits != null) {
+                groupPermits = existPermits;
+            }
+        }
+        try {
+            groupPermits.acquire();
+        } catch (InterruptedException e) {
+            virtualTriggerPermits.release();
+            throw e;
+        }
+        return groupPermits;
+    }
+
+    private void releaseVirtualPermits(Semaphore groupPermits) {
+        if (groupPermits != null) {
+            groupPermits.release();
+        }
+        virtualTriggerPermits.release();
+    }
+
+    /**
+     * trigger not admitted, process by overflow policy
+     */
+    private void overflow(String rejectReason,
+                          int jobId,
+                          TriggerTypeEnum triggerType,
+                          int failRetryCount,
+                          String executorShardingParam,
+                          String executorParam,
+                          String addressList) {
+
+        TriggerOverflowPolicyEnum policy = resolveOverflowPolicy(overflowPolicy, jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+        if (TriggerOverflowPolicyEnum.DEFER == policy) {
+            JobScheduleHelper.getInstance().pushDeferTimeRing(jobId);
+            TriggerAdmission.record("defer");
+            logger.warn(">>>>>>>>>>> xxl-job, trigger deferred, jobId:{}, reason:{}", jobId, rejectReason);
+            return;
+        }
+        if (TriggerOverflowPolicyEnum.DROP == policy && TriggerOverflowPolicyEnum.DEFER == overflowPolicy) {
+            rejectReason = rejectReason + ", deferred over limit(" + DEFER_MAX + ")";
+        }
+
+        if (TriggerOverflowPolicyEnum.CALLER_RUNS == policy) {
+            TriggerAdmission.record("caller_runs");
+            logger.warn(">>>>>>>>>>> xxl-job, trigger run by caller, jobId:{}, reason:{}", jobId, rejectReason);
+            try {
+                XxlJobTrigger.trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+            }
+            return;
+        }
+
+        // drop, save fail log with reason, no alarm (dropped by admin, not fail of executor)
+        TriggerAdmission.record("drop");
+        logger.warn(">>>>>>>>>>> xxl-job, trigger dropped, jobId:{}, reason:{}", jobId, rejectReason);
+        try {
+            XxlJobInfo jobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(jobId);
+            if (jobInfo == null) {
+                return;
+            }
+
+            XxlJobLog jobLog = new XxlJobLog();
+            jobLog.setJobGroup(jobInfo.getJobGroup());
+            jobLog.setJobId(jobInfo.getId());
+            jobLog.setTriggerTime(new Date());
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().save(jobLog);
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateAlarmStatus(jobLog.getId(), 0, 1);     // alarm status: 1-no need alarm, before fail code set
+
+            jobLog.setExecutorHandler(jobInfo.getExecutorHandler());
+            jobLog.setExecutorParam(executorParam!=null?executorParam:jobInfo.getExecutorParam());
+            jobLog.setExecutorShardingParam(executorShardingParam);
+            jobLog.setExecutorFailRetryCount(0);     // no retry, avoid overload again
+            jobLog.setTriggerCode(ReturnT.FAIL_CODE);
+            jobLog.setTriggerMsg(I18nUtil.getString("jobconf_trigger_type") + "：" + triggerType.getTitle()
+                    + "<br>" + I18nUtil.getString("jobconf_trigger_overload") + "<br>" + rejectReason);
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateTriggerInfo(jobLog);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+
+
+    /**
+     * policy to process the not admitted trigger
+     *
+     *      a、DEFER：only cron trigger can defer to time-ring, which has no custom param, others run by caller; drop if deferred continuously over limit;
+     *      b、DROP、CALLER_RUNS：as it is;
+     */
+    TriggerOverflowPolicyEnum resolveOverflowPolicy(TriggerOverflowPolicyEnum policy,
+                                                    int jobId,
+                                                    TriggerTypeEnum triggerType,
+                                                    int failRetryCount,
+                                                    String executorShardingParam,
+                                                    String executorParam,
+                                                    String addressList) {
+        if (TriggerOverflowPolicyEnum.DEFER != policy) {
+            return policy;
+        }
+        if (!(TriggerTypeEnum.CRON == triggerType
+                && failRetryCount < 0
+                && executorShardingParam == null
+                && executorParam == null
+                && addressList == null)) {
+            return TriggerOverflowPolicyEnum.CALLER_RUNS;
+        }
+        if (loadDeferCount(jobId).incrementAndGet() <= DEFER_MAX) {
+            return TriggerOverflowPolicyEnum.DEFER;
+        }
+
+        // deferred over limit, drop
+        jobDeferCountMap.remove(jobId);
+        return TriggerOverflowPolicyEnum.DROP;
+    }
+
+    /**
+     * trigger admitted, not deferred continuously any more
+     */
+    void resetDeferCount(int jobId) {
+        jobDeferCountMap.remove(jobId);
+    }
+
+    private AtomicInteger loadDeferCount(int jobId) {
+        AtomicInteger deferCount = jobDeferCountMap.get(jobId);
+        if (deferCount == null) {
+            deferCount = new AtomicInteger(0);
+            AtomicInteger existDeferCount = jobDeferCountMap.putIfAbsent(jobId, deferCount);
+            if (existDeferCount != null) {
+                deferCount = existDeferCount;
+            }
+        }
+        return deferCount;
+    }
+
+
+    // ---------------------- jdbc permits ----------------------
+
+    /**
+     * acquire before jdbc operation of trigger, avoid virtual threads oversubscribe the jdbc pool; do nothing if not virtual thread mode
+     */
+    public static void acquireJdbcPermit() {
+        Semaphore permits = jdbcPermits;
+        if (permits != null) {
+            permits.acquireUninterruptibly();
+            TriggerStageTimer.mark(TriggerStageTimer.STAGE_PERMIT_WAIT);
+        }
+    }
+
+    public static void releaseJdbcPermit() {
+        Semaphore permits = jdbcPermits;
+        if (permits != null) {
+            permits.release();
+        }
+    }
 
 
     // ---------------------- helper ----------------------
@@ -0,0 +1,152 @@
+package com.xxl.job.admin.core.trigger;
+
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * trigger admission control
+ *
+ *      a、in-flight limit：global limit of triggers queued or running in trigger pool;
+ *      b、job rate limit：token bucket for each job, permits per second;
+ *      c、group rate limit：token bucket for each executor group, permits per second;
+ *
+ * @author agent 2026-10-18
+ */
+public class TriggerAdmission {
+
+    public static final String METRIC_ADMISSION = "xxl.job.trigger.admission";
+    public static final String METRIC_INFLIGHT = "xxl.job.trigger.inflight";
+
+    private final int inflightMax;
+    private final int jobRate;
+    private final int groupRate;
+
+    private final AtomicInteger inflight = new AtomicInteger(0);
+    private final ConcurrentMap<Integer, TokenBucket> jobBucketMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, TokenBucket> groupBucketMap = new ConcurrentHashMap<>();
+
+    // jobId -> jobGroup, learned from schedule pre-read and trigger, refreshed on job update; load from db if unknown
+    private static ConcurrentMap<Integer, Integer> jobGroupMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param inflightMax   <=0: no limit
+     * @param jobRate       <=0: no limit
+     * @param groupRate     <=0: no limit
+     */
+    public TriggerAdmission(int inflightMax, int jobRate, int groupRate) {
+        this.inflightMax = inflightMax;
+        this.jobRate = jobRate;
+        this.groupRate = groupRate;
+
+        Metrics.gauge(METRIC_INFLIGHT, inflight);
+    }
+
+    /**
+     * try acquire
+     *
+     * @param jobId
+     * @return  null: admitted, need release when trigger finish; not null: reject reason
+     */
+    public String tryAcquire(int jobId) {
+
+        // in-flight
+        if (inflight.incrementAndGet() > inflightMax && inflightMax > 0) {
+            inflight.decrementAndGet();
+            return "trigger in-flight over limit(" + inflightMax + ")";
+        }
+
+        // job rate
+        if (jobRate > 0 && !loadBucket(jobBucketMap, jobId, jobRate).tryAcquire()) {
+            inflight.decrementAndGet();
+            return "job trigger rate over limit(" + jobRate + "/s), jobId=" + jobId;
+        }
+
+        // group rate
+        Integer jobGroup = jobGroupMap.get(jobId);
+        if (groupRate > 0 && jobGroup != null && !loadBucket(groupBucketMap, jobGroup, groupRate).tryAcquire()) {
+            inflight.decrementAndGet();
+            return "executor group trigger rate over limit(" + groupRate + "/s), jobGroup=" + jobGroup;
+        }
+
+        return null;
+    }
+
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * record admission decision
+     *
+     * @param decision  admit, defer, drop, caller_runs
+     */
+    public static void record(String decision) {
+        Metrics.counter(METRIC_ADMISSION, "decision", decision).increment();
+    }
+
+    private static TokenBucket loadBucket(ConcurrentMap<Integer, TokenBucket> bucketMap, int key, int rate) {
+        TokenBucket bucket = bucketMap.get(key);
+        if (bucket == null) {
+            bucket = new TokenBucket(rate);
+            TokenBucket existBucket = bucketMap.putIfAbsent(key, bucket);
+            if (existBucket != null) {
+                bucket = existBucket;
+            }
+        }
+        return bucket;
+    }
+
+
+    // ---------------------- job group ----------------------
+
+    public static void putJobGroup(int jobId, int jobGroup) {
+        jobGroupMap.put(jobId, jobGroup);
+    }
+
+    public static Integer loadJobGroup(int jobId) {
+        return jobGroupMap.get(jobId);
+    }
+
+    public static void removeJobGroup(int jobId) {
+        jobGroupMap.remove(jobId);
+    }
+
+
+    // ---------------------- token bucket ----------------------
+
+    /**
+     * token bucket, refill "rate" permits per second, burst up to "rate"
+     */
+    public static class TokenBucket {
+        private final double rate;
+        private double tokens;
+        private long lastRefillNanos;
+
+        public TokenBucket(int rate) {
+            this.rate = rate;
+            this.tokens = rate;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        public synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(rate, tokens + (now - lastRefillNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+
+}
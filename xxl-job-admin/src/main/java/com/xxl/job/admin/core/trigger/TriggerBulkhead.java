@@ -0,0 +1,96 @@
+package com.xxl.job.admin.core.trigger;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * trigger bulkhead for each executor group
+ *
+ *      a、slice：each executor group can always hold "slice" triggers in-flight;
+ *      b、work-stealing：beyond the slice, group can borrow idle capacity, but keep one slice idle for other groups;
+ *      c、so, a slow or dead executor group can not starve healthy groups of trigger threads;
+ *
+ * @author agent 2026-10-18
+ */
+public class TriggerBulkhead {
+
+    public static final String METRIC_GROUP_INFLIGHT = "xxl.job.trigger.group.inflight";
+
+    private final String pool;
+    private final int slice;
+    private final int capacity;
+
+    private final AtomicInteger totalInflight = new AtomicInteger(0);
+    private final ConcurrentMap<Integer, AtomicInteger> groupInflightMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param pool      name of the pool which run the trigger, fast, slow or virtual
+     * @param slice     concurrency slice of each executor group
+     * @param capacity  total trigger capacity, shared by all executor groups; size of the pool which run the trigger
+     */
+    public TriggerBulkhead(String pool, int slice, int capacity) {
+        this.pool = pool;
+        this.slice = slice;
+        this.capacity = capacity;
+    }
+
+    /**
+     * try acquire
+     *
+     * @param jobGroup
+     * @return  true: acquired, need release when trigger finish
+     */
+    public boolean tryAcquire(int jobGroup) {
+        AtomicInteger groupInflight = loadGroupInflight(jobGroup);
+
+        int groupNow = groupInflight.incrementAndGet();
+        int totalNow = totalInflight.incrementAndGet();
+
+        // total capacity, never over the pool
+        if (totalNow > capacity) {
+            groupInflight.decrementAndGet();
+            totalInflight.decrementAndGet();
+            return false;
+        }
+        // own slice
+        if (groupNow <= slice) {
+            return true;
+        }
+        // borrow idle capacity
+        if (totalNow <= capacity - slice) {
+            return true;
+        }
+
+        groupInflight.decrementAndGet();
+        totalInflight.decrementAndGet();
+        return false;
+    }
+
+    public void release(int jobGroup) {
+        loadGroupInflight(jobGroup).decrementAndGet();
+        totalInflight.decrementAndGet();
+    }
+
+    public int getSlice() {
+        return slice;
+    }
+
+    private AtomicInteger loadGroupInflight(int jobGroup) {
+        AtomicInteger groupInflight = groupInflightMap.get(jobGroup);
+        if (groupInflight == null) {
+            groupInflight = new AtomicInteger(0);
+            AtomicInteger existInflight = groupInflightMap.putIfAbsent(jobGroup, groupInflight);
+            if (existInflight != null) {
+                groupInflight = existInflight;
+            } else {
+                Metrics.gauge(METRIC_GROUP_INFLIGHT, Tags.of("pool", pool, "group", String.valueOf(jobGroup)), groupInflight);
+            }
+        }
+        return groupInflight;
+    }
+
+}
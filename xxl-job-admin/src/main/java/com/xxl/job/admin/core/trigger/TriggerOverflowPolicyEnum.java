@@ -0,0 +1,36 @@
+package com.xxl.job.admin.core.trigger;
+
+/**
+ * trigger overflow policy, when trigger is not admitted (rate limited / in-flight full / trigger pool full)
+ *
+ * @author agent 2026-10-18
+ */
+public enum TriggerOverflowPolicyEnum {
+
+    /**
+     * defer to time-ring next second (cron trigger), drop if deferred over limit; other trigger run by caller
+     */
+    DEFER,
+
+    /**
+     * discard, and save a fail trigger log with the reason, no alarm
+     */
+    DROP,
+
+    /**
+     * run trigger by caller thread
+     */
+    CALLER_RUNS;
+
+    public static TriggerOverflowPolicyEnum match(String name, TriggerOverflowPolicyEnum defaultItem){
+        if (name != null) {
+            for (TriggerOverflowPolicyEnum item: TriggerOverflowPolicyEnum.values()) {
+                if (item.name().equalsIgnoreCase(name.trim())) {
+                    return item;
+                }
+            }
+        }
+        return defaultItem;
+    }
+
+}
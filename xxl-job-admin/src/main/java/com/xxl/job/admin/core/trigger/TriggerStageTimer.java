@@ -0,0 +1,213 @@
+package com.xxl.job.admin.core.trigger;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * trigger pipeline latency breakdown, stage cost of one trigger, bind to trigger thread
+ *
+ *      a、histogram：each stage of each executor group (few, series bounded), metric "xxl.job.trigger.stage", exposed by actuator "metrics" endpoint;
+ *      b、slow trigger：total cost over threshold, keep latest samples in ring buffer;
+ *
+ * @author agent 2026-10-18
+ */
+public class TriggerStageTimer {
+
+    public static final String METRIC_STAGE = "xxl.job.trigger.stage";
+
+    public static final String STAGE_QUEUE = "queue";
+    public static final String STAGE_PERMIT_WAIT = "permitWait";        // virtual thread mode, wait trigger/jdbc permits
+    public static final String STAGE_LOAD_JOB = "loadJob";
+    public static final String STAGE_LOAD_GROUP = "loadGroup";
+    public static final String STAGE_LOG_INSERT = "logInsert";
+    public static final String STAGE_ROUTE = "route";
+    public static final String STAGE_RPC = "rpc";
+    public static final String STAGE_LOG_UPDATE = "logUpdate";
+    public static final String STAGE_OTHER = "other";
+
+    private static final int SLOW_TRIGGER_BUFFER_SIZE = 100;
+
+    private static ThreadLocal<TriggerStageTimer> contextHolder = new ThreadLocal<TriggerStageTimer>();
+
+    private static ConcurrentMap<String, Timer> stageTimerMap = new ConcurrentHashMap<String, Timer>();
+
+    private static volatile long slowThreshold = 500;   // ms
+    private static AtomicReferenceArray<SlowTrigger> slowTriggerBuffer = new AtomicReferenceArray<SlowTrigger>(SLOW_TRIGGER_BUFFER_SIZE);
+    private static AtomicLong slowTriggerIndex = new AtomicLong(0);
+
+
+    private final int jobId;
+    private final long startTime;
+    private final long startNanos;
+    private long lastNanos;
+    private int jobGroup = -1;
+    private final Map<String, Long> stageCostMap = new LinkedHashMap<String, Long>();    // stage - nanos
+
+    private TriggerStageTimer(int jobId, long submitNanos) {
+        this.jobId = jobId;
+        this.startTime = System.currentTimeMillis();
+        this.startNanos = submitNanos;
+        this.lastNanos = submitNanos;
+    }
+
+
+    // ---------------------- stage ----------------------
+
+    /**
+     * start timer on trigger thread, cost from submit to now is the "queue" stage
+     *
+     * @param jobId
+     * @param submitNanos   System.nanoTime() when trigger submit to trigger pool
+     */
+    public static void start(int jobId, long submitNanos) {
+        TriggerStageTimer timer = new TriggerStageTimer(jobId, submitNanos);
+        contextHolder.set(timer);
+        mark(STAGE_QUEUE);
+    }
+
+    /**
+     * cost from last mark to now, add to stage
+     *
+     * @param stage
+     */
+    public static void mark(String stage) {
+        TriggerStageTimer timer = contextHolder.get();
+        if (timer == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        Long cost = timer.stageCostMap.get(stage);
+        timer.stageCostMap.put(stage, (cost!=null?cost:0) + (now - timer.lastNanos));
+        timer.lastNanos = now;
+    }
+
+    public static void setJobGroup(int jobGroup) {
+        TriggerStageTimer timer = contextHolder.get();
+        if (timer != null) {
+            timer.jobGroup = jobGroup;
+        }
+    }
+
+    /**
+     * finish timer, record histogram and slow trigger
+     */
+    public static void finish() {
+        TriggerStageTimer timer = contextHolder.get();
+        if (timer == null) {
+            return;
+        }
+        mark(STAGE_OTHER);
+        contextHolder.remove();
+
+        // histogram
+        String group = (timer.jobGroup>0)?String.valueOf(timer.jobGroup):"unknown";
+        for (Map.Entry<String, Long> item: timer.stageCostMap.entrySet()) {
+            loadStageTimer(group, item.getKey()).record(item.getValue(), TimeUnit.NANOSECONDS);
+        }
+
+        // slow trigger
+        long totalCost = TimeUnit.NANOSECONDS.toMillis(timer.lastNanos - timer.startNanos);
+        if (totalCost >= slowThreshold) {
+            Map<String, Long> stageCostMs = new LinkedHashMap<String, Long>();
+            for (Map.Entry<String, Long> item: timer.stageCostMap.entrySet()) {
+                stageCostMs.put(item.getKey(), TimeUnit.NANOSECONDS.toMillis(item.getValue()));
+            }
+            SlowTrigger slowTrigger = new SlowTrigger(timer.jobId, timer.jobGroup, timer.startTime, totalCost, stageCostMs);
+
+            int index = (int) (slowTriggerIndex.getAndIncrement() % SLOW_TRIGGER_BUFFER_SIZE);
+            slowTriggerBuffer.set(index, slowTrigger);
+        }
+    }
+
+    private static Timer loadStageTimer(String group, String stage) {
+        String key = group.concat("-").concat(stage);
+        Timer stageTimer = stageTimerMap.get(key);
+        if (stageTimer == null) {
+            stageTimer = Timer.builder(METRIC_STAGE)
+                    .tag("group", group)
+                    .tag("stage", stage)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+            stageTimerMap.putIfAbsent(key, stageTimer);
+        }
+        return stageTimer;
+    }
+
+
+    // ---------------------- slow trigger ----------------------
+
+    public static void setSlowThreshold(long slowThreshold) {
+        TriggerStageTimer.slowThreshold = slowThreshold;
+    }
+
+    /**
+     * slow trigger samples, latest first
+     *
+     * @return
+     */
+    public static List<SlowTrigger> loadSlowTriggerList() {
+        List<SlowTrigger> slowTriggerList = new ArrayList<SlowTrigger>();
+        for (int i = 0; i < SLOW_TRIGGER_BUFFER_SIZE; i++) {
+            SlowTrigger slowTrigger = slowTriggerBuffer.get(i);
+            if (slowTrigger != null) {
+                slowTriggerList.add(slowTrigger);
+            }
+        }
+        Collections.sort(slowTriggerList, new Comparator<SlowTrigger>() {
+            @Override
+            public int compare(SlowTrigger o1, SlowTrigger o2) {
+                return Long.compare(o2.getTriggerTime(), o1.getTriggerTime());
+            }
+        });
+        return slowTriggerList;
+    }
+
+    public static class SlowTrigger {
+        private int jobId;
+        private int jobGroup;
+        private long triggerTime;
+        private long totalCost;                 // ms
+        private Map<String, Long> stageCost;    // stage - ms
+
+        public SlowTrigger(int jobId, int jobGroup, long triggerTime, long totalCost, Map<String, Long> stageCost) {
+            this.jobId = jobId;
+            this.jobGroup = jobGroup;
+            this.triggerTime = triggerTime;
+            this.totalCost = totalCost;
+            this.stageCost = stageCost;
+        }
+
+        public int getJobId() {
+            return jobId;
+        }
+
+        public int getJobGroup() {
+            return jobGroup;
+        }
+
+        public long getTriggerTime() {
+            return triggerTime;
+        }
+
+        public long getTotalCost() {
+            return totalCost;
+        }
+
+        public Map<String, Long> getStageCost() {
+            return stageCost;
+        }
+    }
+
+}
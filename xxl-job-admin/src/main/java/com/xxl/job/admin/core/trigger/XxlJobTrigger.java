@@ -4,8 +4,13 @@ import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.route.ExecutorCircuitBreaker;
+import com.xxl.job.admin.core.route.ExecutorInflightCounter;
+import com.xxl.job.admin.core.route.ExecutorOverloadCache;
 import com.xxl.job.admin.core.route.ExecutorRouteStrategyEnum;
+import com.xxl.job.admin.core.route.ExecutorRouter;
 import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.thread.JobTriggerPoolHelper;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.model.ReturnT;
@@ -16,7 +21,9 @@ import com.xxl.job.core.util.ThrowableUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * xxl-job trigger
@@ -49,7 +56,19 @@ public class XxlJobTrigger {
                                String addressList) {
 
         // load data
-        XxlJobInfo jobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(jobId);
+        XxlJobInfo jobInfo = null;
+        XxlJobGroup group = null;
+        JobTriggerPoolHelper.acquireJdbcPermit();
+        try {
+            jobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(jobId);
+            TriggerStageTimer.mark(TriggerStageTimer.STAGE_LOAD_JOB);
+            if (jobInfo != null) {
+                group = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().load(jobInfo.getJobGroup());
+                TriggerStageTimer.mark(TriggerStageTimer.STAGE_LOAD_GROUP);
+            }
+        } finally {
+            JobTriggerPoolHelper.releaseJdbcPermit();
+        }
         if (jobInfo == null) {
             logger.warn(">>>>>>>>>>>> trigger fail, jobId invalid，jobId={}", jobId);
             return;
@@ -58,7 +77,8 @@ public class XxlJobTrigger {
             jobInfo.setExecutorParam(executorParam);
         }
         int finalFailRetryCount = failRetryCount>=0?failRetryCount:jobInfo.getExecutorFailRetryCount();
-        XxlJobGroup group = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().load(jobInfo.getJobGroup());
+        TriggerAdmission.putJobGroup(jobInfo.getId(), jobInfo.getJobGroup());
+        TriggerStageTimer.setJobGroup(jobInfo.getJobGroup());
 
         // cover addressList
         if (addressList!=null && addressList.trim().length()>0) {
@@ -116,11 +136,18 @@ public class XxlJobTrigger {
         String shardingParam = (ExecutorRouteStrategyEnum.SHARDING_BROADCAST==executorRouteStrategyEnum)?String.valueOf(index).concat("/").concat(String.valueOf(total)):null;
 
         // 1、save log-id
+        TriggerStageTimer.mark(TriggerStageTimer.STAGE_OTHER);
         XxlJobLog jobLog = new XxlJobLog();
         jobLog.setJobGroup(jobInfo.getJobGroup());
         jobLog.setJobId(jobInfo.getId());
         jobLog.setTriggerTime(new Date());
-        XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().save(jobLog);
+        JobTriggerPoolHelper.acquireJdbcPermit();
+        try {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().save(jobLog);
+        } finally {
+            JobTriggerPoolHelper.releaseJdbcPermit();
+        }
+        TriggerStageTimer.mark(TriggerStageTimer.STAGE_LOG_INSERT);
         logger.debug(">>>>>>>>>>> xxl-job trigger start, jobId:{}", jobLog.getId());
 
         // 2、init trigger-param
@@ -141,6 +168,7 @@ public class XxlJobTrigger {
         // 3、init address
         String address = null;
         ReturnT<String> routeAddressResult = null;
+        List<String> routeAddressList = null;
         if (group.getRegistryList()!=null && !group.getRegistryList().isEmpty()) {
             if (ExecutorRouteStrategyEnum.SHARDING_BROADCAST == executorRouteStrategyEnum) {
                 if (index < group.getRegistryList().size()) {
@@ -149,7 +177,8 @@ public class XxlJobTrigger {
                     address = group.getRegistryList().get(0);
                 }
             } else {
-                routeAddressResult = executorRouteStrategyEnum.getRouter().route(triggerParam, group.getRegistryList());
+                routeAddressList = ExecutorOverloadCache.filter(ExecutorCircuitBreaker.filter(group.getRegistryList()));      // skip open circuit and overloaded executor
+                routeAddressResult = executorRouteStrategyEnum.getRouter().route(triggerParam, routeAddressList);
                 if (routeAddressResult.getCode() == ReturnT.SUCCESS_CODE) {
                     address = routeAddressResult.getContent();
                 }
@@ -157,14 +186,23 @@ public class XxlJobTrigger {
         } else {
             routeAddressResult = new ReturnT<String>(ReturnT.FAIL_CODE, I18nUtil.getString("jobconf_trigger_address_empty"));
         }
+        TriggerStageTimer.mark(TriggerStageTimer.STAGE_ROUTE);
 
         // 4、trigger remote executor
         ReturnT<String> triggerResult = null;
         if (address != null) {
-            triggerResult = runExecutor(triggerParam, address);
+            // overloaded, reroute to other executor rather than fail; sharding broadcast bind to address, not reroute
+            RerouteResult rerouteResult = runExecutorWithReroute(triggerParam, address, routeAddressList, executorRouteStrategyEnum.getRouter(), DEFAULT_RUNNER);
+            address = rerouteResult.address;
+            triggerResult = rerouteResult.triggerResult;
+
+            if (triggerResult.getCode() == ReturnT.SUCCESS_CODE) {
+                ExecutorInflightCounter.increment(address, jobLog.getId());
+            }
         } else {
             triggerResult = new ReturnT<String>(ReturnT.FAIL_CODE, null);
         }
+        TriggerStageTimer.mark(TriggerStageTimer.STAGE_RPC);
 
         // 5、collection trigger info
         StringBuffer triggerMsgSb = new StringBuffer();
@@ -185,6 +223,7 @@ public class XxlJobTrigger {
                 .append((routeAddressResult!=null&&routeAddressResult.getMsg()!=null)?routeAddressResult.getMsg()+"<br><br>":"").append(triggerResult.getMsg()!=null?triggerResult.getMsg():"");
 
         // 6、save log trigger-info
+        TriggerStageTimer.mark(TriggerStageTimer.STAGE_OTHER);
         jobLog.setExecutorAddress(address);
         jobLog.setExecutorHandler(jobInfo.getExecutorHandler());
         jobLog.setExecutorParam(jobInfo.getExecutorParam());
@@ -193,11 +232,75 @@ public class XxlJobTrigger {
         //jobLog.setTriggerTime();
         jobLog.setTriggerCode(triggerResult.getCode());
         jobLog.setTriggerMsg(triggerMsgSb.toString());
-        XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateTriggerInfo(jobLog);
+        JobTriggerPoolHelper.acquireJdbcPermit();
+        try {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateTriggerInfo(jobLog);
+        } finally {
+            JobTriggerPoolHelper.releaseJdbcPermit();
+        }
+        TriggerStageTimer.mark(TriggerStageTimer.STAGE_LOG_UPDATE);
 
         logger.debug(">>>>>>>>>>> xxl-job trigger end, jobId:{}", jobLog.getId());
     }
 
+    /**
+     * run executor, if overloaded, reroute to other address in route list until success, not overloaded or list exhausted
+     *
+     * @param routeAddressList  null means bind to address, not reroute
+     */
+    static RerouteResult runExecutorWithReroute(TriggerParam triggerParam,
+                                                String address,
+                                                List<String> routeAddressList,
+                                                ExecutorRouter router,
+                                                ExecutorRunner runner) {
+        ReturnT<String> triggerResult = runner.run(triggerParam, address);
+
+        StringBuffer overloadMsgSb = new StringBuffer();
+        if (routeAddressList != null) {
+            List<String> rerouteAddressList = new ArrayList<String>(routeAddressList);
+            while (triggerResult.getCode() == ReturnT.OVERLOAD_CODE) {
+                ExecutorOverloadCache.overload(address, triggerResult.getRetryAfter());
+                rerouteAddressList.remove(address);
+                if (rerouteAddressList.isEmpty()) {
+                    break;
+                }
+                ReturnT<String> routeResult = router.route(triggerParam, rerouteAddressList);
+                if (routeResult.getCode() != ReturnT.SUCCESS_CODE) {
+                    break;
+                }
+
+                overloadMsgSb.append(triggerResult.getMsg()).append("<br>").append(I18nUtil.getString("jobconf_trigger_executor_overload")).append("<br><br>");
+                address = routeResult.getContent();
+                triggerResult = runner.run(triggerParam, address);
+            }
+        }
+        if (overloadMsgSb.length() > 0) {
+            triggerResult.setMsg(overloadMsgSb.toString() + triggerResult.getMsg());
+        }
+        return new RerouteResult(address, triggerResult);
+    }
+
+    interface ExecutorRunner {
+        ReturnT<String> run(TriggerParam triggerParam, String address);
+    }
+
+    private static final ExecutorRunner DEFAULT_RUNNER = new ExecutorRunner() {
+        @Override
+        public ReturnT<String> run(TriggerParam triggerParam, String address) {
+            return runExecutor(triggerParam, address);
+        }
+    };
+
+    static class RerouteResult {
+        final String address;                   // address run at last
+        final ReturnT<String> triggerResult;
+
+        RerouteResult(String address, ReturnT<String> triggerResult) {
+            this.address = address;
+            this.triggerResult = triggerResult;
+        }
+    }
+
     /**
      * run executor
      * @param triggerParam
@@ -208,7 +311,7 @@ public class XxlJobTrigger {
         ReturnT<String> runResult = null;
         try {
             ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
-            runResult = executorBiz.run(triggerParam);
+            runResult = XxlJobTriggerBatcher.run(executorBiz, address, triggerParam, XxlJobAdminConfig.getAdminConfig().getTriggerBatchWindow());
         } catch (Exception e) {
             logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", address, e);
             runResult = new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(e));
@@ -0,0 +1,266 @@
+package com.xxl.job.admin.core.trigger;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.enums.ExecutorCapability;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * coalesce triggers to the same executor address within a small window, and send them by one "runBatch" request
+ *
+ *      a、the first trigger of a window opens the batch, and schedule the flush after window;
+ *      b、batch flush when window end or batch full, invoke executor on flush pool and hand out results; triggers just wait for the result;
+ *      c、executor not advertise "runBatch" capability by beat (old version): each trigger run by itself, re-check after a while;
+ *
+ * @author agent 2026-10-18
+ */
+public class XxlJobTriggerBatcher {
+    private static Logger logger = LoggerFactory.getLogger(XxlJobTriggerBatcher.class);
+
+    private static final int BATCH_MAX_SIZE = 100;
+    private static final long CAPABILITY_CACHE_TIME = 5 * 60 * 1000;      // ms, re-check as executor may be upgraded
+    private static final long CAPABILITY_FAIL_CACHE_TIME = 10 * 1000;     // ms, beat fail (executor down or slow), run directly, probe again after it
+
+    private static ConcurrentMap<String, AddressBatch> addressBatchMap = new ConcurrentHashMap<String, AddressBatch>();
+    private static ConcurrentMap<String, Capability> capabilityMap = new ConcurrentHashMap<String, Capability>();
+
+    private static ScheduledExecutorService flushTimer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "xxl-job, admin XxlJobTriggerBatcher-flushTimer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+    private static ThreadPoolExecutor flushPool = new ThreadPoolExecutor(
+            0,
+            200,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(),
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "xxl-job, admin XxlJobTriggerBatcher-flushPool-" + r.hashCode());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    /**
+     * run executor, coalesce with other triggers of the same address
+     *
+     * @param executorBiz
+     * @param address
+     * @param triggerParam
+     * @param windowMs
+     * @return
+     */
+    public static ReturnT<String> run(ExecutorBiz executorBiz, String address, TriggerParam triggerParam, int windowMs) throws InterruptedException {
+
+        // valid
+        if (windowMs <= 0 || !isRunBatchSupported(executorBiz, address)) {
+            return executorBiz.run(triggerParam);
+        }
+
+        // join batch
+        AddressBatch addressBatch = addressBatchMap.get(address);
+        if (addressBatch == null) {
+            addressBatch = new AddressBatch();
+            AddressBatch existBatch = addressBatchMap.putIfAbsent(address, addressBatch);
+            if (existBatch != null) {
+                addressBatch = existBatch;
+            }
+        }
+
+        BatchItem batchItem = new BatchItem(triggerParam);
+        Batch batch = null;
+        boolean open = false;
+        boolean full = false;
+        synchronized (addressBatch) {
+            if (addressBatch.current == null) {
+                addressBatch.current = new Batch(executorBiz, address);
+                open = true;
+            }
+            batch = addressBatch.current;
+            batch.itemList.add(batchItem);
+            if (batch.itemList.size() >= BATCH_MAX_SIZE) {
+                addressBatch.current = null;
+                full = true;
+            }
+        }
+
+        if (full) {
+            // full, flush at once
+            flush(batch);
+        } else if (open) {
+            final AddressBatch scheduleAddressBatch = addressBatch;
+            final Batch scheduleBatch = batch;
+            flushTimer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (scheduleAddressBatch) {
+                        if (scheduleAddressBatch.current == scheduleBatch) {
+                            scheduleAddressBatch.current = null;
+                        }
+                    }
+                    flush(scheduleBatch);
+                }
+            }, windowMs, TimeUnit.MILLISECONDS);
+        }
+        batchItem.latch.await();
+
+        // batch not run it (flush pool full), run by itself
+        if (batchItem.result == null) {
+            return executorBiz.run(triggerParam);
+        }
+        return batchItem.result;
+    }
+
+    /**
+     * runBatch capability advertised by executor beat, cached a while
+     */
+    private static boolean isRunBatchSupported(ExecutorBiz executorBiz, String address) {
+        Capability capability = capabilityMap.get(address);
+        if (capability == null || capability.expireTime < System.currentTimeMillis()) {
+            ReturnT<String> beatResult = null;
+            try {
+                beatResult = executorBiz.beat();
+            } catch (Exception e) {
+                logger.error(">>>>>>>>>>> xxl-job trigger batch beat error, address:{}", address, e);
+            }
+            if (beatResult==null || beatResult.getCode()!=ReturnT.SUCCESS_CODE) {
+                // unknown now, cache briefly, run directly
+                capability = new Capability(false, System.currentTimeMillis() + CAPABILITY_FAIL_CACHE_TIME);
+            } else {
+                capability = new Capability(ExecutorCapability.contains(beatResult.getContent(), ExecutorCapability.RUN_BATCH),
+                        System.currentTimeMillis() + CAPABILITY_CACHE_TIME);
+                if (!capability.runBatch) {
+                    logger.info(">>>>>>>>>>> xxl-job, executor[{}] not support runBatch, fallback to run.", address);
+                }
+            }
+            capabilityMap.put(address, capability);
+        }
+        return capability.runBatch;
+    }
+
+    private static void flush(final Batch batch) {
+        if (!batch.flushed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushPool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    doRunBatch(batch.executorBiz, batch.address, batch.itemList);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn(">>>>>>>>>>> xxl-job, trigger batch flush pool full, each trigger run by itself, address:{}", batch.address);
+            for (BatchItem item: batch.itemList) {
+                item.latch.countDown();
+            }
+        }
+    }
+
+    private static void doRunBatch(ExecutorBiz executorBiz, String address, List<BatchItem> itemList) {
+        try {
+            // single, no need batch
+            if (itemList.size() == 1) {
+                itemList.get(0).result = executorBiz.run(itemList.get(0).triggerParam);
+                return;
+            }
+
+            List<TriggerParam> triggerParamList = new ArrayList<TriggerParam>(itemList.size());
+            for (BatchItem item: itemList) {
+                triggerParamList.add(item.triggerParam);
+            }
+
+            ReturnT<List<ReturnT<String>>> runBatchResult = executorBiz.runBatch(triggerParamList);
+            if (runBatchResult!=null
+                    && runBatchResult.getCode()==ReturnT.SUCCESS_CODE
+                    && runBatchResult.getContent()!=null
+                    && runBatchResult.getContent().size()==itemList.size()) {
+                for (int i = 0; i < itemList.size(); i++) {
+                    itemList.get(i).result = runBatchResult.getContent().get(i);
+                }
+            } else if (runBatchResult!=null
+                    && runBatchResult.getCode()==ReturnT.OVERLOAD_CODE) {
+                // overloaded, each trigger reroute to other executor
+                for (BatchItem item: itemList) {
+                    item.result = ReturnT.overload(runBatchResult.getMsg(), runBatchResult.getRetryAfter()!=null?runBatchResult.getRetryAfter():ReturnT.OVERLOAD_RETRY_AFTER);
+                }
+            } else {
+                for (BatchItem item: itemList) {
+                    item.result = new ReturnT<String>(ReturnT.FAIL_CODE, runBatchResult!=null?runBatchResult.getMsg():null);
+                }
+            }
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job trigger batch error, please check if the executor[{}] is running.", address, e);
+            for (BatchItem item: itemList) {
+                if (item.result == null) {
+                    item.result = new ReturnT<String>(ReturnT.FAIL_CODE, e.toString());
+                }
+            }
+        } finally {
+            for (BatchItem item: itemList) {
+                item.latch.countDown();
+            }
+        }
+    }
+
+    private static class AddressBatch {
+        private Batch current;
+    }
+
+    private static class Batch {
+        private final ExecutorBiz executorBiz;
+        private final String address;
+        private final List<BatchItem> itemList = new ArrayList<BatchItem>();
+        private final AtomicBoolean flushed = new AtomicBoolean(false);
+
+        public Batch(ExecutorBiz executorBiz, String address) {
+            this.executorBiz = executorBiz;
+            this.address = address;
+        }
+    }
+
+    private static class Capability {
+        private final boolean runBatch;
+        private final long expireTime;
+
+        public Capability(boolean runBatch, long expireTime) {
+            this.runBatch = runBatch;
+            this.expireTime = expireTime;
+        }
+    }
+
+    private static class BatchItem {
+        private final TriggerParam triggerParam;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile ReturnT<String> result;
+
+        public BatchItem(TriggerParam triggerParam) {
+            this.triggerParam = triggerParam;
+        }
+    }
+
+}
@@ -19,20 +19,28 @@ public interface XxlJobRegistryDao {
     public int removeDead(@Param("ids") List<Integer> ids);
 
     public List<XxlJobRegistry> findAll(@Param("timeout") int timeout,
-                                        @Param("nowTime") Date nowTime);
+                                        @Param("nowTime") Date nowTime,
+                                        @Param("withWeight") boolean withWeight);
 
     public int registryUpdate(@Param("registryGroup") String registryGroup,
                               @Param("registryKey") String registryKey,
                               @Param("registryValue") String registryValue,
+                              @Param("weight") Integer weight,
                               @Param("updateTime") Date updateTime);
 
     public int registrySave(@Param("registryGroup") String registryGroup,
                             @Param("registryKey") String registryKey,
                             @Param("registryValue") String registryValue,
+                            @Param("weight") Integer weight,
                             @Param("updateTime") Date updateTime);
 
     public int registryDelete(@Param("registryGroup") String registryGroup,
                           @Param("registryKey") String registryKey,
                           @Param("registryValue") String registryValue);
 
+    /**
+     * column "weight" added in v2.2.1, missing until "upgrade_v2.2.1.sql" executed
+     */
+    public int countWeightColumn();
+
 }
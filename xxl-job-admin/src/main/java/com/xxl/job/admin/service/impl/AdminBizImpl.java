@@ -2,6 +2,10 @@ package com.xxl.job.admin.service.impl;
 
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.route.ExecutorCircuitBreaker;
+import com.xxl.job.admin.core.route.ExecutorInflightCounter;
+import com.xxl.job.admin.core.route.ExecutorLoadCache;
+import com.xxl.job.admin.core.thread.JobRegistryMonitorHelper;
 import com.xxl.job.admin.core.thread.JobTriggerPoolHelper;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.core.util.I18nUtil;
@@ -13,6 +17,7 @@ import com.xxl.job.core.biz.AdminBiz;
 import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.enums.RegistryConfig;
 import com.xxl.job.core.handler.IJobHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +66,7 @@ public class AdminBizImpl implements AdminBiz {
         if (log.getHandleCode() > 0) {
             return new ReturnT<String>(ReturnT.FAIL_CODE, "log repeate callback.");     // avoid repeat callback, trigger child job etc
         }
+        ExecutorInflightCounter.decrement(log.getExecutorAddress(), log.getId());
 
         // trigger success, to trigger child job
         String callbackMsg = null;
@@ -139,9 +145,23 @@ public class AdminBizImpl implements AdminBiz {
             return new ReturnT<String>(ReturnT.FAIL_CODE, "Illegal Argument.");
         }
 
-        int ret = xxlJobRegistryDao.registryUpdate(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), new Date());
+        // executor load
+        if (RegistryConfig.RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup())) {
+            ExecutorLoadCache.put(registryParam.getRegistryValue(), registryParam.getLoad());
+        }
+
+        // weight, ignored if column not ready (before upgrade sql executed)
+        Integer weight = JobRegistryMonitorHelper.isWeightColumnReady()
+                ?((registryParam.getWeight() > 0)?registryParam.getWeight():1)
+                :null;
+        int ret = xxlJobRegistryDao.registryUpdate(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), weight, new Date());
         if (ret < 1) {
-            xxlJobRegistryDao.registrySave(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), new Date());
+            xxlJobRegistryDao.registrySave(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), weight, new Date());
+
+            // executor registry again (restart), reset circuit breaker
+            if (RegistryConfig.RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup())) {
+                ExecutorCircuitBreaker.remove(registryParam.getRegistryValue());
+            }
 
             // fresh
             freshGroupRegistryInfo(registryParam);
@@ -159,6 +179,12 @@ public class AdminBizImpl implements AdminBiz {
             return new ReturnT<String>(ReturnT.FAIL_CODE, "Illegal Argument.");
         }
 
+        if (RegistryConfig.RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup())) {
+            ExecutorLoadCache.remove(registryParam.getRegistryValue());
+            ExecutorInflightCounter.reset(registryParam.getRegistryValue());
+            ExecutorCircuitBreaker.remove(registryParam.getRegistryValue());
+        }
+
         int ret = xxlJobRegistryDao.registryDelete(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue());
         if (ret > 0) {
 
@@ -6,6 +6,7 @@ import com.xxl.job.admin.core.cron.CronExpression;
 import com.xxl.job.admin.core.model.XxlJobLogReport;
 import com.xxl.job.admin.core.route.ExecutorRouteStrategyEnum;
 import com.xxl.job.admin.core.thread.JobScheduleHelper;
+import com.xxl.job.admin.core.trigger.TriggerAdmission;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.admin.dao.*;
 import com.xxl.job.admin.service.XxlJobService;
@@ -226,6 +227,7 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		exists_jobInfo.setUpdateTime(new Date());
         xxlJobInfoDao.update(exists_jobInfo);
+		TriggerAdmission.putJobGroup(exists_jobInfo.getId(), exists_jobInfo.getJobGroup());
 
 
 		return ReturnT.SUCCESS;
@@ -241,6 +243,7 @@ public class XxlJobServiceImpl implements XxlJobService {
 		xxlJobInfoDao.delete(id);
 		xxlJobLogDao.delete(id);
 		xxlJobLogGlueDao.deleteByJobId(id);
+		TriggerAdmission.removeJobGroup(id);
 		return ReturnT.SUCCESS;
 	}
 
@@ -347,6 +347,36 @@ $(function() {
 		$("#clearLogModal .form")[0].reset();
 	});
 
+	// slow trigger
+	$('#slowTrigger').on('click', function(){
+		$.post(base_url + "/joblog/slowTrigger", {"jobGroup": $('#jobGroup').val()}, function(data, status) {
+			if (data.code == "200") {
+				var html = '';
+				$.each(data.content, function(index, item){
+					var stageCost = '';
+					$.each(item.stageCost, function(stage, cost){
+						stageCost += stage + ':' + cost + 'ms ';
+					});
+					html += '<tr>' +
+						'<td>' + item.jobId + '</td>' +
+						'<td>' + moment(new Date(item.triggerTime)).format("YYYY-MM-DD HH:mm:ss") + '</td>' +
+						'<td>' + item.totalCost + 'ms</td>' +
+						'<td>' + stageCost + '</td>' +
+						'</tr>';
+				});
+				$('#slowTriggerModal tbody').html(html);
+				$('#slowTriggerModal').modal('show');
+			} else {
+				layer.open({
+					title: I18n.system_tips ,
+					btn: [ I18n.system_ok ],
+					content: (data.msg || (I18n.joblog_slow_trigger + I18n.system_fail) ),
+					icon: '2'
+				});
+			}
+		});
+	});
+
 });
 
 
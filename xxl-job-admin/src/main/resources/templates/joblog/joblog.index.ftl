@@ -60,7 +60,7 @@
                     </div>
                 </div>
 
-	            <div class="col-xs-4">
+	            <div class="col-xs-3">
               		<div class="input-group">
                 		<span class="input-group-addon">
 	                  		${I18n.joblog_field_triggerTime}
@@ -76,6 +76,10 @@
 	            <div class="col-xs-1">
                     <button class="btn btn-block btn-nomal" id="clearLog">${I18n.joblog_clean}</button>
 	            </div>
+
+	            <div class="col-xs-1">
+                    <button class="btn btn-block btn-nomal" id="slowTrigger">${I18n.joblog_slow_trigger}</button>
+	            </div>
           	</div>
 			
 			<div class="row">
@@ -168,6 +172,33 @@
     </div>
 </div>
 
+<!-- 慢调度.模态框 -->
+<div class="modal fade" id="slowTriggerModal" tabindex="-1" role="dialog"  aria-hidden="true">
+    <div class="modal-dialog modal-lg">
+        <div class="modal-content">
+            <div class="modal-header">
+                <h4 class="modal-title" >${I18n.joblog_slow_trigger}</h4>
+            </div>
+            <div class="modal-body">
+                <table class="table table-bordered table-striped" width="100%" >
+                    <thead>
+                        <tr>
+                            <th>${I18n.jobinfo_field_id}</th>
+                            <th>${I18n.joblog_field_triggerTime}</th>
+                            <th>${I18n.joblog_slow_trigger_cost}</th>
+                            <th>${I18n.joblog_slow_trigger_stage}</th>
+                        </tr>
+                    </thead>
+                    <tbody></tbody>
+                </table>
+                <div class="text-center">
+                    <button type="button" class="btn btn-default" data-dismiss="modal">${I18n.system_close}</button>
+                </div>
+            </div>
+        </div>
+    </div>
+</div>
+
 <@netCommon.commonScript />
 <!-- DataTables -->
 <script src="${request.contextPath}/static/adminlte/bower_components/datatables.net/js/jquery.dataTables.min.js"></script>
@@ -0,0 +1,218 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutorCircuitBreakerTest {
+
+    @Test
+    public void shouldOpenOnRemotingFailAndFastFail() {
+        //given
+        String address = "http://127.0.0.1:9991/";
+        AtomicInteger remotingCount = new AtomicInteger(0);
+        ExecutorBiz executorBiz = ExecutorCircuitBreaker.wrap(address, new FixedResultExecutorBiz(remotingCount, "xxl-rpc remoting error(Connection refused), for url : " + address));
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            executorBiz.run(new TriggerParam());
+        }
+
+        //then: open after min request in window, then fast fail without remoting
+        assertEquals(3, remotingCount.get());
+        assertTrue(ExecutorCircuitBreaker.isOpen(address));
+        List<String> addressList = Arrays.asList(address, "http://127.0.0.1:9992/");
+        assertEquals(Arrays.asList("http://127.0.0.1:9992/"), ExecutorCircuitBreaker.filter(addressList));
+
+        //when: executor registry remove
+        ExecutorCircuitBreaker.remove(address);
+
+        //then
+        assertFalse(ExecutorCircuitBreaker.isOpen(address));
+    }
+
+    @Test
+    public void shouldNotOpenOnBizFail() {
+        //given
+        String address = "http://127.0.0.1:9993/";
+        AtomicInteger remotingCount = new AtomicInteger(0);
+        ExecutorBiz executorBiz = ExecutorCircuitBreaker.wrap(address, new FixedResultExecutorBiz(remotingCount, "job handler [demoJobHandler] not found."));
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            executorBiz.run(new TriggerParam());
+        }
+
+        //then
+        assertEquals(10, remotingCount.get());
+        assertFalse(ExecutorCircuitBreaker.isOpen(address));
+    }
+
+    @Test
+    public void shouldHalfOpenThenCloseThroughFilter() throws Exception {
+        //given: open
+        final String address = "http://127.0.0.1:9994/";
+        String otherAddress = "http://127.0.0.1:9995/";
+        List<String> addressList = Arrays.asList(address, otherAddress);
+        final SwitchableExecutorBiz targetBiz = new SwitchableExecutorBiz();
+        final ExecutorBiz executorBiz = ExecutorCircuitBreaker.wrap(address, targetBiz);
+        ExecutorCircuitBreaker.setOpenDuration(200);
+        try {
+            for (int i = 0; i < 3; i++) {
+                executorBiz.run(new TriggerParam());
+            }
+            assertEquals(Arrays.asList(otherAddress), ExecutorCircuitBreaker.filter(addressList));
+
+            //when: open duration passed
+            TimeUnit.MILLISECONDS.sleep(300);
+
+            //then: half-open, route can pick it for probe
+            assertEquals(addressList, ExecutorCircuitBreaker.filter(addressList));
+
+            //when: probe running, executor recovered
+            targetBiz.fail = false;
+            targetBiz.block = new CountDownLatch(1);
+            Thread probeThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    executorBiz.run(new TriggerParam());
+                }
+            });
+            probeThread.start();
+            while (targetBiz.remotingCount.get() < 4) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+
+            //then: only one probe pass
+            assertEquals(Arrays.asList(otherAddress), ExecutorCircuitBreaker.filter(addressList));
+            assertEquals(ReturnT.FAIL_CODE, executorBiz.run(new TriggerParam()).getCode());
+            assertEquals(4, targetBiz.remotingCount.get());
+
+            //when: probe success
+            targetBiz.block.countDown();
+            probeThread.join();
+
+            //then: closed
+            assertFalse(ExecutorCircuitBreaker.isOpen(address));
+            assertEquals(addressList, ExecutorCircuitBreaker.filter(addressList));
+            assertEquals(ReturnT.SUCCESS_CODE, executorBiz.run(new TriggerParam()).getCode());
+        } finally {
+            ExecutorCircuitBreaker.setOpenDuration(10 * 1000);
+            ExecutorCircuitBreaker.remove(address);
+        }
+    }
+
+    @Test
+    public void shouldOpenAgainWhenProbeFail() throws Exception {
+        //given: half-open
+        String address = "http://127.0.0.1:9996/";
+        SwitchableExecutorBiz targetBiz = new SwitchableExecutorBiz();
+        ExecutorBiz executorBiz = ExecutorCircuitBreaker.wrap(address, targetBiz);
+        ExecutorCircuitBreaker.setOpenDuration(200);
+        try {
+            for (int i = 0; i < 3; i++) {
+                executorBiz.run(new TriggerParam());
+            }
+            TimeUnit.MILLISECONDS.sleep(300);
+            assertFalse(ExecutorCircuitBreaker.isOpen(address));
+
+            //when: probe fail
+            executorBiz.run(new TriggerParam());
+
+            //then: open again, fast fail
+            assertTrue(ExecutorCircuitBreaker.isOpen(address));
+            executorBiz.run(new TriggerParam());
+            assertEquals(4, targetBiz.remotingCount.get());
+        } finally {
+            ExecutorCircuitBreaker.setOpenDuration(10 * 1000);
+            ExecutorCircuitBreaker.remove(address);
+        }
+    }
+
+    private static class SwitchableExecutorBiz extends FixedResultExecutorBiz {
+        private final AtomicInteger remotingCount;
+        private volatile boolean fail = true;
+        private volatile CountDownLatch block;
+
+        public SwitchableExecutorBiz() {
+            this(new AtomicInteger(0));
+        }
+
+        private SwitchableExecutorBiz(AtomicInteger remotingCount) {
+            super(remotingCount, "xxl-rpc remoting error(Connection refused)");
+            this.remotingCount = remotingCount;
+        }
+
+        @Override
+        public ReturnT<String> run(TriggerParam triggerParam) {
+            if (fail) {
+                return super.run(triggerParam);
+            }
+            remotingCount.incrementAndGet();
+            if (block != null) {
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ReturnT.SUCCESS;
+        }
+    }
+
+    private static class FixedResultExecutorBiz implements ExecutorBiz {
+        private final AtomicInteger remotingCount;
+        private final String failMsg;
+
+        public FixedResultExecutorBiz(AtomicInteger remotingCount, String failMsg) {
+            this.remotingCount = remotingCount;
+            this.failMsg = failMsg;
+        }
+
+        private <T> ReturnT<T> fail() {
+            remotingCount.incrementAndGet();
+            return new ReturnT<T>(ReturnT.FAIL_CODE, failMsg);
+        }
+
+        @Override
+        public ReturnT<String> beat() {
+            return fail();
+        }
+
+        @Override
+        public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam) {
+            return fail();
+        }
+
+        @Override
+        public ReturnT<String> run(TriggerParam triggerParam) {
+            return fail();
+        }
+
+        @Override
+        public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+            return fail();
+        }
+
+        @Override
+        public ReturnT<String> kill(KillParam killParam) {
+            return fail();
+        }
+
+        @Override
+        public ReturnT<LogResult> log(LogParam logParam) {
+            return fail();
+        }
+    }
+
+}
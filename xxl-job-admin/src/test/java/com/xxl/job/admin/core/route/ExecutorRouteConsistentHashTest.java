@@ -0,0 +1,125 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.route.strategy.ExecutorRouteConsistentHash;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutorRouteConsistentHashTest {
+
+    private ExecutorRouteConsistentHash router = new ExecutorRouteConsistentHash();
+
+    @Test
+    public void shouldKeepMd5PlacementWhenCompatible() throws Exception {
+        //given
+        List<String> addressList = addressList(5);
+
+        //when //then
+        for (int jobId = 1; jobId <= 1000; jobId++) {
+            assertEquals(md5HashJob(jobId, addressList), router.hashJob(jobId, addressList, true));
+        }
+    }
+
+    @Test
+    public void shouldUseMd5PlacementByDefault() throws Exception {
+        //given
+        List<String> addressList = addressList(5);
+
+        //when //then: upgrade keep placement, unless murmur3 opt-in
+        for (int jobId = 1; jobId <= 100; jobId++) {
+            assertEquals(md5HashJob(jobId, addressList), router.hashJob(jobId, addressList));
+        }
+    }
+
+    @Test
+    public void shouldSpreadJobsWithFastHash() {
+        //given
+        List<String> addressList = addressList(5);
+
+        //when
+        Map<String, Integer> countMap = new HashMap<>();
+        for (int jobId = 1; jobId <= 10000; jobId++) {
+            String address = router.hashJob(jobId, addressList, false);
+            countMap.put(address, countMap.containsKey(address)?countMap.get(address)+1:1);
+        }
+
+        //then: each address get job, and no address get more than double of average
+        assertEquals(5, countMap.size());
+        for (Integer count: countMap.values()) {
+            assertTrue(count < 10000 / 5 * 2);
+        }
+        assertEquals(router.hashJob(7, addressList, false), router.hashJob(7, new ArrayList<>(addressList), false));
+    }
+
+    /**
+     * simple timing (no jmh in project): cached ring route vs. rebuild md5 ring for each route
+     */
+    @Test
+    public void benchmarkRoute() throws Exception {
+        //given
+        List<String> addressList = addressList(10);
+        int count = 2000;
+
+        //when
+        long start = System.nanoTime();
+        for (int jobId = 0; jobId < count; jobId++) {
+            md5HashJob(jobId, addressList);
+        }
+        long rebuildCost = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int jobId = 0; jobId < count; jobId++) {
+            router.hashJob(jobId, addressList, false);
+        }
+        long cachedCost = System.nanoTime() - start;
+
+        //then
+        System.out.println("rebuild md5 ring: " + rebuildCost/count + " ns/route, cached ring: " + cachedCost/count + " ns/route");
+        assertTrue(cachedCost < rebuildCost);
+    }
+
+    private static List<String> addressList(int size) {
+        List<String> addressList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            addressList.add("http://127.0.0." + i + ":9999/");
+        }
+        return addressList;
+    }
+
+    /**
+     * route of old version: rebuild md5 ring for each route
+     */
+    private static String md5HashJob(int jobId, List<String> addressList) throws Exception {
+        TreeMap<Long, String> addressRing = new TreeMap<Long, String>();
+        for (String address: addressList) {
+            for (int i = 0; i < 100; i++) {
+                addressRing.put(md5Hash("SHARD-" + address + "-NODE-" + i), address);
+            }
+        }
+        SortedMap<Long, String> lastRing = addressRing.tailMap(md5Hash(String.valueOf(jobId)));
+        if (!lastRing.isEmpty()) {
+            return lastRing.get(lastRing.firstKey());
+        }
+        return addressRing.firstEntry().getValue();
+    }
+
+    private static long md5Hash(String key) throws Exception {
+        byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+        long hashCode = ((long) (digest[3] & 0xFF) << 24)
+                | ((long) (digest[2] & 0xFF) << 16)
+                | ((long) (digest[1] & 0xFF) << 8)
+                | (digest[0] & 0xFF);
+        return hashCode & 0xffffffffL;
+    }
+
+}
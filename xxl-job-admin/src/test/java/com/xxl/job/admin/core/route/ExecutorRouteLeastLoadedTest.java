@@ -0,0 +1,59 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.route.strategy.ExecutorRouteLeastLoaded;
+import com.xxl.job.core.biz.model.ExecutorLoad;
+import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.enums.RegistryConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExecutorRouteLeastLoadedTest {
+
+    @After
+    public void after() {
+        ExecutorLoadCache.setExpireTime(RegistryConfig.DEAD_TIMEOUT * 1000L);
+    }
+
+    @Test
+    public void shouldRouteToLeastLoadedAndCountDispatched() {
+        //given
+        List<String> addressList = Arrays.asList("127.0.0.1:9981", "127.0.0.1:9982");
+        ExecutorLoadCache.put("127.0.0.1:9981", new ExecutorLoad(3, 2, 0, 0.5));
+        ExecutorLoadCache.put("127.0.0.1:9982", new ExecutorLoad(1, 0, 0, 0.5));
+        ExecutorRouteLeastLoaded router = new ExecutorRouteLeastLoaded();
+
+        //when //then: 9982 is less loaded, until dispatched triggers catch up
+        for (int i = 0; i < 4; i++) {
+            assertEquals("127.0.0.1:9982", router.route(new TriggerParam(), addressList).getContent());
+        }
+        assertEquals(5, ExecutorLoadCache.loadScore("127.0.0.1:9982"));
+
+        //when: new beat reset dispatched
+        ExecutorLoadCache.put("127.0.0.1:9982", new ExecutorLoad(9, 0, 0, 0.5));
+
+        //then
+        assertEquals("127.0.0.1:9981", router.route(new TriggerParam(), addressList).getContent());
+    }
+
+    @Test
+    public void shouldEvictDeadExecutorWithoutRegistryRemove() throws Exception {
+        //given: executor dead, never registry remove
+        ExecutorLoadCache.setExpireTime(50);
+        ExecutorLoadCache.put("127.0.0.1:9983", new ExecutorLoad(3, 0, 0, 0.5));
+        Thread.sleep(100);
+
+        //when: beat of other executor
+        ExecutorLoadCache.put("127.0.0.1:9984", new ExecutorLoad(1, 0, 0, 0.5));
+
+        //then
+        assertEquals(1, ExecutorLoadCache.size());
+        assertEquals(0, ExecutorLoadCache.loadScore("127.0.0.1:9983"));
+        assertEquals(-1, ExecutorLoadCache.cpuLoad("127.0.0.1:9983"), 0);
+    }
+
+}
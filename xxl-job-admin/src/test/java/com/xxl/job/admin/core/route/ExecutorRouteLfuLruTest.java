@@ -0,0 +1,128 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.route.strategy.ExecutorRouteLFU;
+import com.xxl.job.admin.core.route.strategy.ExecutorRouteLRU;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutorRouteLfuLruTest {
+
+    private static final List<String> ADDRESS_LIST = Arrays.asList("127.0.0.1:9991", "127.0.0.1:9992", "127.0.0.1:9993", "127.0.0.1:9994");
+
+    @Test
+    public void shouldBalanceLfuUnderConcurrency() throws Exception {
+        //given
+        final ExecutorRouteLFU router = new ExecutorRouteLFU();
+
+        //when
+        Map<String, AtomicInteger> countMap = stress(new RouteCall() {
+            @Override
+            public String route(List<String> addressList) {
+                return router.route(1001, addressList);
+            }
+        });
+
+        //then: least used first, differ no more than initial random offset
+        assertBalanced(countMap, ADDRESS_LIST.size() + 1);
+    }
+
+    @Test
+    public void shouldBalanceLruUnderConcurrency() throws Exception {
+        //given
+        final ExecutorRouteLRU router = new ExecutorRouteLRU();
+
+        //when
+        Map<String, AtomicInteger> countMap = stress(new RouteCall() {
+            @Override
+            public String route(List<String> addressList) {
+                return router.route(1002, addressList);
+            }
+        });
+
+        //then: eldest first, strict rotation
+        assertBalanced(countMap, 1);
+    }
+
+    @Test
+    public void shouldFollowAddressChange() {
+        //given
+        ExecutorRouteLFU lfu = new ExecutorRouteLFU();
+        ExecutorRouteLRU lru = new ExecutorRouteLRU();
+        lfu.route(1003, ADDRESS_LIST);
+        lru.route(1003, ADDRESS_LIST);
+
+        //when
+        List<String> newAddressList = Arrays.asList("127.0.0.1:9995");
+
+        //then
+        assertEquals("127.0.0.1:9995", lfu.route(1003, newAddressList));
+        assertEquals("127.0.0.1:9995", lru.route(1003, newAddressList));
+    }
+
+    private interface RouteCall {
+        String route(List<String> addressList);
+    }
+
+    private static Map<String, AtomicInteger> stress(final RouteCall routeCall) throws Exception {
+        final int threadNum = 16;
+        final int routeNum = 10000;
+        final Map<String, AtomicInteger> countMap = new ConcurrentHashMap<>();
+        for (String address: ADDRESS_LIST) {
+            countMap.put(address, new AtomicInteger(0));
+        }
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch endLatch = new CountDownLatch(threadNum);
+
+        for (int i = 0; i < threadNum; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        for (int j = 0; j < routeNum; j++) {
+                            // new list each time, like registry list of job group
+                            String address = routeCall.route(new ArrayList<>(ADDRESS_LIST));
+                            countMap.get(address).incrementAndGet();
+                        }
+                    } catch (Throwable e) {
+                        error.compareAndSet(null, e);
+                    } finally {
+                        endLatch.countDown();
+                    }
+                }
+            }).start();
+        }
+        startLatch.countDown();
+        endLatch.await();
+
+        assertNull(error.get());
+        return countMap;
+    }
+
+    private static void assertBalanced(Map<String, AtomicInteger> countMap, int maxDiff) {
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        int total = 0;
+        for (AtomicInteger count: countMap.values()) {
+            min = Math.min(min, count.get());
+            max = Math.max(max, count.get());
+            total += count.get();
+        }
+        assertEquals(16 * 10000, total);
+        assertTrue("min=" + min + ", max=" + max, max - min <= maxDiff);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.route.strategy.ExecutorRoutePowerOfTwoChoices;
+import com.xxl.job.core.biz.model.TriggerParam;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExecutorRoutePowerOfTwoChoicesTest {
+
+    private static final String ADDRESS_BUSY = "127.0.0.1:9991";
+    private static final String ADDRESS_IDLE = "127.0.0.1:9992";
+
+    @After
+    public void after() {
+        ExecutorInflightCounter.setInflightTimeout(10 * 60 * 1000);
+        ExecutorInflightCounter.reset(ADDRESS_BUSY);
+        ExecutorInflightCounter.reset(ADDRESS_IDLE);
+    }
+
+    @Test
+    public void shouldRouteToAddressWithFewerInflight() {
+        //given
+        List<String> addressList = Arrays.asList(ADDRESS_BUSY, ADDRESS_IDLE);
+        ExecutorInflightCounter.increment(ADDRESS_BUSY, 1);
+        ExecutorInflightCounter.increment(ADDRESS_BUSY, 2);
+        ExecutorRoutePowerOfTwoChoices router = new ExecutorRoutePowerOfTwoChoices();
+
+        //when //then: two address, both sampled each time
+        for (int i = 0; i < 10; i++) {
+            assertEquals(ADDRESS_IDLE, router.route(new TriggerParam(), addressList).getContent());
+        }
+    }
+
+    @Test
+    public void shouldDecrementOnlyOwnedLog() {
+        //given
+        ExecutorInflightCounter.increment(ADDRESS_BUSY, 1);
+        ExecutorInflightCounter.increment(ADDRESS_BUSY, 2);
+
+        //when: callback of log triggered by other admin, and repeat callback
+        ExecutorInflightCounter.decrement(ADDRESS_BUSY, 3);
+        ExecutorInflightCounter.decrement(ADDRESS_BUSY, 1);
+        ExecutorInflightCounter.decrement(ADDRESS_BUSY, 1);
+
+        //then
+        assertEquals(1, ExecutorInflightCounter.get(ADDRESS_BUSY));
+        assertEquals(0, ExecutorInflightCounter.get(ADDRESS_IDLE));
+    }
+
+    @Test
+    public void shouldDecayLogNotCallback() throws Exception {
+        //given: callback of log reach other admin, never decrement here
+        ExecutorInflightCounter.setInflightTimeout(50);
+        ExecutorInflightCounter.increment(ADDRESS_BUSY, 1);
+        assertEquals(1, ExecutorInflightCounter.get(ADDRESS_BUSY));
+
+        //when
+        Thread.sleep(100);
+
+        //then
+        assertEquals(0, ExecutorInflightCounter.get(ADDRESS_BUSY));
+    }
+
+}
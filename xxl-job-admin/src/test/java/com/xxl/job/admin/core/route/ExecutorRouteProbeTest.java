@@ -0,0 +1,128 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.util.I18nUtil;
+import com.xxl.job.core.biz.model.ReturnT;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutorRouteProbeTest {
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        // i18n without admin config
+        Field propField = I18nUtil.class.getDeclaredField("prop");
+        propField.setAccessible(true);
+        if (propField.get(null) == null) {
+            propField.set(null, new Properties());
+        }
+    }
+
+    @Test
+    public void shouldSkipAddressWhenProbePoolFullNotProbeOnCaller() throws Exception {
+        //given: more address than probe pool, all probe block except the first
+        final Thread callerThread = Thread.currentThread();
+        final AtomicInteger callerProbeCount = new AtomicInteger(0);
+        final CountDownLatch release = new CountDownLatch(1);
+        List<String> addressList = new ArrayList<String>();
+        for (int i = 0; i < 250; i++) {
+            addressList.add("127.0.0.1:" + (10000 + i));
+        }
+        ExecutorRouteProbe routeProbe = new ExecutorRouteProbe("jobconf_idleBeat", 0, 0, false);
+
+        //when
+        ReturnT<String> routeResult;
+        try {
+            routeResult = routeProbe.route("", addressList, new ExecutorRouteProbe.Probe() {
+                @Override
+                public ReturnT<String> probe(String address) throws Exception {
+                    if (Thread.currentThread() == callerThread) {
+                        callerProbeCount.incrementAndGet();
+                    }
+                    if ("127.0.0.1:10000".equals(address)) {
+                        return ReturnT.SUCCESS;
+                    }
+                    release.await(5, TimeUnit.SECONDS);
+                    return ReturnT.FAIL;
+                }
+            });
+        } finally {
+            release.countDown();
+        }
+
+        //then
+        assertEquals(ReturnT.SUCCESS_CODE, routeResult.getCode());
+        assertEquals("127.0.0.1:10000", routeResult.getContent());
+        assertEquals(0, callerProbeCount.get());
+        assertTrue(routeResult.getMsg().contains("probe pool full"));
+    }
+
+    @Test
+    public void shouldCacheIdleResultAndConsumeOnceRouted() throws Exception {
+        //given: "a" idle at once, "b" idle a little later
+        final AtomicInteger probeCount = new AtomicInteger(0);
+        ExecutorRouteProbe.Probe probe = new ExecutorRouteProbe.Probe() {
+            @Override
+            public ReturnT<String> probe(String address) throws Exception {
+                probeCount.incrementAndGet();
+                if ("b".equals(address)) {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                }
+                return ReturnT.SUCCESS;
+            }
+        };
+        ExecutorRouteProbe routeProbe = new ExecutorRouteProbe("jobconf_idleBeat", 5000, 0, true);
+        List<String> addressList = Arrays.asList("a", "b");
+
+        //when
+        ReturnT<String> firstResult = routeProbe.route("1-", addressList, probe);
+        TimeUnit.MILLISECONDS.sleep(300);
+        ReturnT<String> secondResult = routeProbe.route("1-", addressList, probe);
+
+        //then: "a" consumed by first route, "b" idle result cached, not probe again
+        assertEquals("a", firstResult.getContent());
+        assertEquals("b", secondResult.getContent());
+        assertEquals(2, probeCount.get());
+
+        //when: all consumed
+        routeProbe.route("1-", addressList, probe);
+
+        //then
+        assertTrue(probeCount.get() > 2);
+    }
+
+    @Test
+    public void shouldReuseSuccessResultIfNotConsume() throws Exception {
+        //given
+        final AtomicInteger probeCount = new AtomicInteger(0);
+        ExecutorRouteProbe.Probe probe = new ExecutorRouteProbe.Probe() {
+            @Override
+            public ReturnT<String> probe(String address) throws Exception {
+                probeCount.incrementAndGet();
+                return ReturnT.SUCCESS;
+            }
+        };
+        ExecutorRouteProbe routeProbe = new ExecutorRouteProbe("jobconf_beat", 5000, 0, false);
+        List<String> addressList = Arrays.asList("a");
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            assertEquals("a", routeProbe.route("", addressList, probe).getContent());
+        }
+
+        //then
+        assertEquals(1, probeCount.get());
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.route.strategy.ExecutorRouteWeightedRound;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExecutorRouteWeightedRoundTest {
+
+    @Test
+    public void shouldRouteSmoothlyByWeight() {
+        //given
+        Map<String, Integer> weightMap = new HashMap<>();
+        weightMap.put("a", 5);
+        weightMap.put("b", 1);
+        weightMap.put("c", 1);
+        ExecutorRouteWeightedRound.refreshWeight(weightMap);
+        ExecutorRouteWeightedRound router = new ExecutorRouteWeightedRound();
+        List<String> addressList = Arrays.asList("a", "b", "c");
+
+        //when
+        StringBuilder routeSB = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            routeSB.append(router.route(2001, addressList));
+        }
+
+        //then
+        assertEquals("aabacaa", routeSB.toString());
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.xxl.job.admin.core.server;
+
+import com.xxl.job.core.biz.AdminBiz;
+import com.xxl.job.core.biz.client.AdminBizClient;
+import com.xxl.job.core.biz.model.HandleCallbackParam;
+import com.xxl.job.core.biz.model.RegistryParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.XxlJobHttpClient;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class AdminApiServerTest {
+
+    private AdminApiServer adminApiServer = new AdminApiServer();
+    private RecordAdminBiz adminBiz = new RecordAdminBiz();
+
+    @After
+    public void after() {
+        adminBiz.release.countDown();
+        adminApiServer.toStop();
+        XxlJobHttpClient.stop();
+    }
+
+    @Test
+    public void shouldRoundTripCallbackAndRegistry() throws Exception {
+        //given: executor use admin address with context path
+        adminBiz.release.countDown();
+        int port = loadFreePort();
+        adminApiServer.start(port, 10, 100, adminBiz, "token");
+        AdminBizClient adminBizClient = new AdminBizClient("http://127.0.0.1:" + port + "/xxl-job-admin/", "token");
+
+        //when
+        ReturnT<String> callbackResult = adminBizClient.callback(Arrays.asList(new HandleCallbackParam(7, 1000, ReturnT.SUCCESS)));
+        ReturnT<String> registryResult = adminBizClient.registry(new RegistryParam("EXECUTOR", "app", "http://127.0.0.1:9999/"));
+        ReturnT<String> registryRemoveResult = adminBizClient.registryRemove(new RegistryParam("EXECUTOR", "app", "http://127.0.0.1:9999/"));
+
+        //then
+        assertEquals(ReturnT.SUCCESS_CODE, callbackResult.getCode());
+        assertEquals(ReturnT.SUCCESS_CODE, registryResult.getCode());
+        assertEquals(ReturnT.SUCCESS_CODE, registryRemoveResult.getCode());
+
+        assertEquals(1, adminBiz.callbackParamList.size());
+        assertEquals(7, adminBiz.callbackParamList.get(0).getLogId());
+        assertEquals(ReturnT.SUCCESS_CODE, adminBiz.callbackParamList.get(0).getExecuteResult().getCode());
+        assertEquals(Arrays.asList("registry:app", "registryRemove:app"), adminBiz.registryList);
+    }
+
+    @Test
+    public void shouldRejectWrongAccessToken() throws Exception {
+        //given
+        int port = loadFreePort();
+        adminApiServer.start(port, 10, 100, adminBiz, "token");
+        AdminBizClient adminBizClient = new AdminBizClient("http://127.0.0.1:" + port + "/", "wrong");
+
+        //when
+        ReturnT<String> registryResult = adminBizClient.registry(new RegistryParam("EXECUTOR", "app", "http://127.0.0.1:9999/"));
+
+        //then
+        assertEquals(ReturnT.FAIL_CODE, registryResult.getCode());
+        assertTrue(registryResult.getMsg().contains("access token is wrong"));
+        assertTrue(adminBiz.registryList.isEmpty());
+    }
+
+    @Test
+    public void shouldRejectNonPost() throws Exception {
+        //given
+        int port = loadFreePort();
+        adminApiServer.start(port, 10, 100, adminBiz, null);
+
+        //when
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + port + "/api/callback").openConnection();
+        connection.setRequestMethod("GET");
+        ReturnT<?> result = GsonTool.fromJson(readBody(connection), ReturnT.class);
+        connection.disconnect();
+
+        //then
+        assertEquals(ReturnT.FAIL_CODE, result.getCode());
+        assertTrue(result.getMsg().contains("HttpMethod not support"));
+        assertTrue(adminBiz.callbackParamList.isEmpty());
+    }
+
+    @Test
+    public void shouldRejectAsOverloadWhenBizThreadPoolExhausted() throws Exception {
+        //given: one biz thread blocked by first request
+        int port = loadFreePort();
+        adminApiServer.start(port, 1, 1, adminBiz, null);
+        final AdminBizClient adminBizClient = new AdminBizClient("http://127.0.0.1:" + port + "/", null);
+        final BlockingQueue<ReturnT<String>> resultQueue = new LinkedBlockingQueue<ReturnT<String>>();
+        Runnable callbackTask = new Runnable() {
+            @Override
+            public void run() {
+                resultQueue.add(adminBizClient.callback(Arrays.asList(new HandleCallbackParam(1, 1000, ReturnT.SUCCESS))));
+            }
+        };
+        new Thread(callbackTask).start();
+        assertTrue(adminBiz.entered.await(3, TimeUnit.SECONDS));
+
+        //when: one more queued, the other one rejected
+        new Thread(callbackTask).start();
+        new Thread(callbackTask).start();
+
+        //then
+        ReturnT<String> rejectResult = resultQueue.poll(3, TimeUnit.SECONDS);
+        assertNotNull(rejectResult);
+        assertEquals(ReturnT.OVERLOAD_CODE, rejectResult.getCode());
+        assertEquals(Long.valueOf(ReturnT.OVERLOAD_RETRY_AFTER), rejectResult.getRetryAfter());
+
+        adminBiz.release.countDown();
+        for (int i = 0; i < 2; i++) {
+            ReturnT<String> callbackResult = resultQueue.poll(3, TimeUnit.SECONDS);
+            assertNotNull(callbackResult);
+            assertEquals(ReturnT.SUCCESS_CODE, callbackResult.getCode());
+        }
+        assertEquals(2, adminBiz.callbackParamList.size());
+    }
+
+    /**
+     * record request, callback wait until released
+     */
+    private static class RecordAdminBiz implements AdminBiz {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<HandleCallbackParam> callbackParamList = new ArrayList<HandleCallbackParam>();
+        private final List<String> registryList = new ArrayList<String>();
+
+        @Override
+        public ReturnT<String> callback(List<HandleCallbackParam> callbackParamList) {
+            entered.countDown();
+            try {
+                release.await(3, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return ReturnT.FAIL;
+            }
+            synchronized (this) {
+                this.callbackParamList.addAll(callbackParamList);
+            }
+            return ReturnT.SUCCESS;
+        }
+
+        @Override
+        public synchronized ReturnT<String> registry(RegistryParam registryParam) {
+            registryList.add("registry:" + registryParam.getRegistryKey());
+            return ReturnT.SUCCESS;
+        }
+
+        @Override
+        public synchronized ReturnT<String> registryRemove(RegistryParam registryParam) {
+            registryList.add("registryRemove:" + registryParam.getRegistryKey());
+            return ReturnT.SUCCESS;
+        }
+    }
+
+    private static String readBody(HttpURLConnection connection) throws IOException {
+        InputStream in = connection.getInputStream();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            for (int len; (len = in.read(buffer)) > 0; ) {
+                out.write(buffer, 0, len);
+            }
+            return new String(out.toByteArray(), "UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+
+    private static int loadFreePort() throws IOException {
+        ServerSocket serverSocket = new ServerSocket(0);
+        try {
+            return serverSocket.getLocalPort();
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+}
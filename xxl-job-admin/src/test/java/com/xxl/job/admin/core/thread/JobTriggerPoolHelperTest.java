@@ -0,0 +1,151 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.trigger.TriggerBulkhead;
+import com.xxl.job.admin.core.trigger.TriggerOverflowPolicyEnum;
+import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
+import com.xxl.job.admin.core.util.I18nUtil;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JobTriggerPoolHelperTest {
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        // i18n without admin config
+        Field propField = I18nUtil.class.getDeclaredField("prop");
+        propField.setAccessible(true);
+        if (propField.get(null) == null) {
+            propField.set(null, new Properties());
+        }
+    }
+
+    @Test
+    public void shouldRunHealthyGroupWhileOtherGroupBlocked() throws Exception {
+        //given: trigger of dead executor group block, hold all capacity it can borrow
+        int max = 20;
+        int slice = 2;
+        TriggerBulkhead bulkhead = new TriggerBulkhead("fast", slice, max);
+        ThreadPoolExecutor triggerPool = JobTriggerPoolHelper.newTriggerPool("xxl-job, admin JobTriggerPoolHelperTest-", max, 1000, true);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blockedRunning = new CountDownLatch(max - slice);
+        try {
+            int blockedCount = 0;
+            while (bulkhead.tryAcquire(1)) {
+                triggerPool.execute(new BulkheadTask(bulkhead, 1, blockedRunning, release));
+                blockedCount++;
+            }
+            assertEquals(max - slice, blockedCount);
+            assertTrue(blockedRunning.await(5, TimeUnit.SECONDS));
+
+            //when
+            CountDownLatch healthyRunning = new CountDownLatch(1);
+            assertTrue(bulkhead.tryAcquire(2));
+            triggerPool.execute(new BulkheadTask(bulkhead, 2, healthyRunning, new CountDownLatch(0)));
+
+            //then: run at once, not queued behind blocked triggers
+            assertTrue(healthyRunning.await(5, TimeUnit.SECONDS));
+            assertFalse(bulkhead.tryAcquire(1));
+        } finally {
+            release.countDown();
+            triggerPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldDeferCronTriggerUntilLimitThenDrop() {
+        //given
+        JobTriggerPoolHelper helper = new JobTriggerPoolHelper();
+
+        //when //then: deferred continuously, drop over limit, and defer again after that
+        for (int i = 0; i < 3; i++) {
+            assertEquals(TriggerOverflowPolicyEnum.DEFER, resolveCron(helper, TriggerOverflowPolicyEnum.DEFER, 1));
+        }
+        assertEquals(TriggerOverflowPolicyEnum.DROP, resolveCron(helper, TriggerOverflowPolicyEnum.DEFER, 1));
+        assertEquals(TriggerOverflowPolicyEnum.DEFER, resolveCron(helper, TriggerOverflowPolicyEnum.DEFER, 1));
+    }
+
+    @Test
+    public void shouldResetDeferCountWhenAdmitted() {
+        //given
+        JobTriggerPoolHelper helper = new JobTriggerPoolHelper();
+        for (int i = 0; i < 3; i++) {
+            resolveCron(helper, TriggerOverflowPolicyEnum.DEFER, 2);
+        }
+
+        //when
+        helper.resetDeferCount(2);
+
+        //then
+        assertEquals(TriggerOverflowPolicyEnum.DEFER, resolveCron(helper, TriggerOverflowPolicyEnum.DEFER, 2));
+        assertEquals(TriggerOverflowPolicyEnum.DEFER, resolveCron(helper, TriggerOverflowPolicyEnum.DEFER, 3));
+    }
+
+    @Test
+    public void shouldRunByCallerWhenDeferNotSupported() {
+        //given
+        JobTriggerPoolHelper helper = new JobTriggerPoolHelper();
+
+        //when //then: manual trigger, retry, custom param can not defer to time-ring
+        assertEquals(TriggerOverflowPolicyEnum.CALLER_RUNS,
+                helper.resolveOverflowPolicy(TriggerOverflowPolicyEnum.DEFER, 4, TriggerTypeEnum.MANUAL, -1, null, null, null));
+        assertEquals(TriggerOverflowPolicyEnum.CALLER_RUNS,
+                helper.resolveOverflowPolicy(TriggerOverflowPolicyEnum.DEFER, 4, TriggerTypeEnum.RETRY, 1, null, null, null));
+        assertEquals(TriggerOverflowPolicyEnum.CALLER_RUNS,
+                helper.resolveOverflowPolicy(TriggerOverflowPolicyEnum.DEFER, 4, TriggerTypeEnum.CRON, -1, null, "param", null));
+    }
+
+    @Test
+    public void shouldKeepDropAndCallerRunsPolicy() {
+        //given
+        JobTriggerPoolHelper helper = new JobTriggerPoolHelper();
+
+        //when //then: never defer, no matter trigger type
+        for (int i = 0; i < 5; i++) {
+            assertEquals(TriggerOverflowPolicyEnum.DROP, resolveCron(helper, TriggerOverflowPolicyEnum.DROP, 5));
+            assertEquals(TriggerOverflowPolicyEnum.CALLER_RUNS, resolveCron(helper, TriggerOverflowPolicyEnum.CALLER_RUNS, 5));
+        }
+        assertEquals(TriggerOverflowPolicyEnum.DROP,
+                helper.resolveOverflowPolicy(TriggerOverflowPolicyEnum.DROP, 5, TriggerTypeEnum.MANUAL, -1, null, null, null));
+    }
+
+    private static TriggerOverflowPolicyEnum resolveCron(JobTriggerPoolHelper helper, TriggerOverflowPolicyEnum policy, int jobId) {
+        return helper.resolveOverflowPolicy(policy, jobId, TriggerTypeEnum.CRON, -1, null, null, null);
+    }
+
+    private static class BulkheadTask implements Runnable {
+        private final TriggerBulkhead bulkhead;
+        private final int jobGroup;
+        private final CountDownLatch running;
+        private final CountDownLatch release;
+
+        public BulkheadTask(TriggerBulkhead bulkhead, int jobGroup, CountDownLatch running, CountDownLatch release) {
+            this.bulkhead = bulkhead;
+            this.jobGroup = jobGroup;
+            this.running = running;
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+            try {
+                running.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                // pool shutdown
+            } finally {
+                bulkhead.release(jobGroup);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.xxl.job.admin.core.trigger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TriggerBulkheadTest {
+
+    @Test
+    public void shouldKeepSliceForHealthyGroup() {
+        //given
+        TriggerBulkhead bulkhead = new TriggerBulkhead("fast", 2, 6);
+
+        //when: slow group take own slice, and borrow idle capacity until one slice left
+        for (int i = 0; i < 4; i++) {
+            assertTrue(bulkhead.tryAcquire(1));
+        }
+
+        //then
+        assertFalse(bulkhead.tryAcquire(1));
+        assertTrue(bulkhead.tryAcquire(2));
+        assertTrue(bulkhead.tryAcquire(2));
+    }
+
+    @Test
+    public void shouldAcquireAgainAfterRelease() {
+        //given
+        TriggerBulkhead bulkhead = new TriggerBulkhead("fast", 1, 2);
+        assertTrue(bulkhead.tryAcquire(1));
+        assertFalse(bulkhead.tryAcquire(1));
+
+        //when
+        bulkhead.release(1);
+
+        //then
+        assertTrue(bulkhead.tryAcquire(1));
+    }
+
+    @Test
+    public void shouldNotOverCapacityWithinSlice() {
+        //given: slice of all groups over capacity
+        TriggerBulkhead bulkhead = new TriggerBulkhead("fast", 2, 3);
+        assertTrue(bulkhead.tryAcquire(1));
+        assertTrue(bulkhead.tryAcquire(1));
+        assertTrue(bulkhead.tryAcquire(2));
+
+        //when
+        boolean acquired = bulkhead.tryAcquire(2);
+
+        //then
+        assertFalse(acquired);
+        bulkhead.release(1);
+        assertTrue(bulkhead.tryAcquire(2));
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.xxl.job.admin.core.trigger;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class TriggerStageTimerTest {
+
+    private static SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeClass
+    public static void beforeClass() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    public void shouldRecordPermitWaitAsOwnStageOfGroup() throws Exception {
+        //given
+        TriggerStageTimer.start(1, System.nanoTime());
+        TriggerStageTimer.setJobGroup(1);
+
+        //when
+        Thread.sleep(20);
+        TriggerStageTimer.mark(TriggerStageTimer.STAGE_PERMIT_WAIT);
+        TriggerStageTimer.mark(TriggerStageTimer.STAGE_LOAD_JOB);
+        TriggerStageTimer.finish();
+
+        //then
+        Timer permitTimer = meterRegistry.find(TriggerStageTimer.METRIC_STAGE).tags("group", "1", "stage", TriggerStageTimer.STAGE_PERMIT_WAIT).timer();
+        assertNotNull(permitTimer);
+        assertTrue(permitTimer.totalTime(TimeUnit.MILLISECONDS) >= 20);
+        assertEquals(1, meterRegistry.find(TriggerStageTimer.METRIC_STAGE).tags("group", "1", "stage", TriggerStageTimer.STAGE_LOAD_JOB).timers().size());
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.xxl.job.admin.core.trigger;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.IdleBeatParam;
+import com.xxl.job.core.biz.model.KillParam;
+import com.xxl.job.core.biz.model.LogParam;
+import com.xxl.job.core.biz.model.LogResult;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.enums.ExecutorCapability;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class XxlJobTriggerBatcherTest {
+
+    @Test
+    public void shouldRunOneByOneWhenExecutorNotAdvertiseRunBatch() throws Exception {
+        //given: old executor, beat without capability
+        RecordExecutorBiz executorBiz = new RecordExecutorBiz(null);
+
+        //when
+        runConcurrently(executorBiz, "127.0.0.1:9801", 3, 100);
+
+        //then
+        assertEquals(0, executorBiz.runBatchCount.get());
+        assertEquals(3, executorBiz.runCount.get());
+    }
+
+    @Test
+    public void shouldCoalesceWithinWindowOnScheduledFlush() throws Exception {
+        //given
+        RecordExecutorBiz executorBiz = new RecordExecutorBiz(ExecutorCapability.ALL);
+
+        //when
+        List<ReturnT<String>> resultList = runConcurrently(executorBiz, "127.0.0.1:9802", 5, 300);
+
+        //then: one runBatch, invoked by flush pool not the trigger thread
+        assertEquals(1, executorBiz.runBatchCount.get());
+        assertEquals(5, executorBiz.batchSizeList.get(0).intValue());
+        assertTrue(executorBiz.runBatchThreadName.startsWith("xxl-job, admin XxlJobTriggerBatcher-flushPool-"));
+        for (ReturnT<String> result: resultList) {
+            assertEquals(ReturnT.SUCCESS_CODE, result.getCode());
+        }
+    }
+
+    @Test
+    public void shouldFlushAtOnceWhenBatchFull() throws Exception {
+        //given
+        RecordExecutorBiz executorBiz = new RecordExecutorBiz(ExecutorCapability.ALL);
+
+        //when: window much longer than test
+        long start = System.currentTimeMillis();
+        runConcurrently(executorBiz, "127.0.0.1:9803", 100, 60 * 1000);
+
+        //then
+        assertTrue(System.currentTimeMillis() - start < 10 * 1000);
+        assertEquals(Collections.singletonList(100), executorBiz.batchSizeList);
+    }
+
+    @Test
+    public void shouldProbeDownExecutorOnceAWhile() throws Exception {
+        //given
+        RecordExecutorBiz executorBiz = new RecordExecutorBiz(ExecutorCapability.ALL);
+        executorBiz.beatFail = true;
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            XxlJobTriggerBatcher.run(executorBiz, "127.0.0.1:9804", new TriggerParam(), 10);
+        }
+
+        //then: beat fail cached, each trigger run directly
+        assertEquals(1, executorBiz.beatCount.get());
+        assertEquals(3, executorBiz.runCount.get());
+        assertEquals(0, executorBiz.runBatchCount.get());
+    }
+
+    private static List<ReturnT<String>> runConcurrently(final ExecutorBiz executorBiz, final String address, int count, final int windowMs) throws Exception {
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<ReturnT<String>> resultList = Collections.synchronizedList(new ArrayList<ReturnT<String>>());
+        List<Thread> threadList = new ArrayList<Thread>();
+        for (int i = 0; i < count; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        resultList.add(XxlJobTriggerBatcher.run(executorBiz, address, new TriggerParam(), windowMs));
+                    } catch (InterruptedException e) {
+                        // test end
+                    }
+                }
+            });
+            thread.start();
+            threadList.add(thread);
+        }
+        startLatch.countDown();
+        for (Thread thread: threadList) {
+            thread.join(TimeUnit.SECONDS.toMillis(20));
+        }
+        assertEquals(count, resultList.size());
+        return resultList;
+    }
+
+    private static class RecordExecutorBiz implements ExecutorBiz {
+        private final String capabilities;
+        private final AtomicInteger runCount = new AtomicInteger(0);
+        private final AtomicInteger runBatchCount = new AtomicInteger(0);
+        private final List<Integer> batchSizeList = Collections.synchronizedList(new ArrayList<Integer>());
+        private volatile String runBatchThreadName;
+        private final AtomicInteger beatCount = new AtomicInteger(0);
+        private volatile boolean beatFail = false;
+
+        public RecordExecutorBiz(String capabilities) {
+            this.capabilities = capabilities;
+        }
+
+        @Override
+        public ReturnT<String> beat() {
+            beatCount.incrementAndGet();
+            if (beatFail) {
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "connect timeout");
+            }
+            return new ReturnT<String>(capabilities);
+        }
+
+        @Override
+        public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam) {
+            return ReturnT.SUCCESS;
+        }
+
+        @Override
+        public ReturnT<String> run(TriggerParam triggerParam) {
+            runCount.incrementAndGet();
+            return ReturnT.SUCCESS;
+        }
+
+        @Override
+        public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+            runBatchCount.incrementAndGet();
+            batchSizeList.add(triggerParamList.size());
+            runBatchThreadName = Thread.currentThread().getName();
+            List<ReturnT<String>> resultList = new ArrayList<ReturnT<String>>();
+            for (int i = 0; i < triggerParamList.size(); i++) {
+                resultList.add(ReturnT.SUCCESS);
+            }
+            return new ReturnT<List<ReturnT<String>>>(resultList);
+        }
+
+        @Override
+        public ReturnT<String> kill(KillParam killParam) {
+            return ReturnT.SUCCESS;
+        }
+
+        @Override
+        public ReturnT<LogResult> log(LogParam logParam) {
+            return new ReturnT<LogResult>(ReturnT.FAIL_CODE, null);
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.xxl.job.admin.core.trigger;
+
+import com.xxl.job.admin.core.route.ExecutorOverloadCache;
+import com.xxl.job.admin.core.route.strategy.ExecutorRouteFirst;
+import com.xxl.job.admin.core.util.I18nUtil;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class XxlJobTriggerRerouteTest {
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        // i18n without admin config
+        Field propField = I18nUtil.class.getDeclaredField("prop");
+        propField.setAccessible(true);
+        if (propField.get(null) == null) {
+            propField.set(null, new Properties());
+        }
+    }
+
+    @Test
+    public void shouldRerouteToNextAddressWhenOverloaded() {
+        //given
+        List<String> addressList = Arrays.asList("127.0.0.1:9701", "127.0.0.1:9702");
+        RecordRunner runner = new RecordRunner("127.0.0.1:9701");
+
+        //when
+        XxlJobTrigger.RerouteResult result = XxlJobTrigger.runExecutorWithReroute(new TriggerParam(), addressList.get(0), addressList, new ExecutorRouteFirst(), runner);
+
+        //then
+        assertEquals(ReturnT.SUCCESS_CODE, result.triggerResult.getCode());
+        assertEquals("127.0.0.1:9702", result.address);
+        assertEquals(addressList, runner.runAddressList);
+        assertTrue(ExecutorOverloadCache.isOverload("127.0.0.1:9701"));
+        assertEquals(Arrays.asList("127.0.0.1:9702"), ExecutorOverloadCache.filter(addressList));
+    }
+
+    @Test
+    public void shouldSkipOverloadedUntilRetryAfter() throws Exception {
+        //given
+        List<String> addressList = Arrays.asList("127.0.0.1:9711", "127.0.0.1:9712");
+        RecordRunner runner = new RecordRunner("127.0.0.1:9711");
+        runner.retryAfter = 200L;
+
+        //when
+        XxlJobTrigger.runExecutorWithReroute(new TriggerParam(), addressList.get(0), addressList, new ExecutorRouteFirst(), runner);
+
+        //then: skipped within retry-after hint of executor, available again after it
+        assertTrue(ExecutorOverloadCache.isOverload("127.0.0.1:9711"));
+        Thread.sleep(300);
+        assertFalse(ExecutorOverloadCache.isOverload("127.0.0.1:9711"));
+        assertEquals(addressList, ExecutorOverloadCache.filter(addressList));
+    }
+
+    @Test
+    public void shouldStopWhenAllAddressOverloaded() {
+        //given
+        List<String> addressList = Arrays.asList("127.0.0.1:9721", "127.0.0.1:9722");
+        RecordRunner runner = new RecordRunner("127.0.0.1:9721", "127.0.0.1:9722");
+
+        //when
+        XxlJobTrigger.RerouteResult result = XxlJobTrigger.runExecutorWithReroute(new TriggerParam(), addressList.get(0), addressList, new ExecutorRouteFirst(), runner);
+
+        //then: each address run once, overloaded result kept; filter fallback to origin list
+        assertEquals(ReturnT.OVERLOAD_CODE, result.triggerResult.getCode());
+        assertEquals("127.0.0.1:9722", result.address);
+        assertEquals(addressList, runner.runAddressList);
+        assertEquals(addressList, ExecutorOverloadCache.filter(addressList));
+    }
+
+    @Test
+    public void shouldNotRerouteWithoutRouteList() {
+        //given: sharding broadcast, bind to address
+        RecordRunner runner = new RecordRunner("127.0.0.1:9731");
+
+        //when
+        XxlJobTrigger.RerouteResult result = XxlJobTrigger.runExecutorWithReroute(new TriggerParam(), "127.0.0.1:9731", null, new ExecutorRouteFirst(), runner);
+
+        //then
+        assertEquals(ReturnT.OVERLOAD_CODE, result.triggerResult.getCode());
+        assertEquals(Arrays.asList("127.0.0.1:9731"), runner.runAddressList);
+    }
+
+    private static class RecordRunner implements XxlJobTrigger.ExecutorRunner {
+        private final List<String> overloadAddressList;
+        private final List<String> runAddressList = new ArrayList<String>();
+        private Long retryAfter = 10 * 1000L;
+
+        public RecordRunner(String... overloadAddress) {
+            this.overloadAddressList = Arrays.asList(overloadAddress);
+        }
+
+        @Override
+        public ReturnT<String> run(TriggerParam triggerParam, String address) {
+            runAddressList.add(address);
+            if (overloadAddressList.contains(address)) {
+                return ReturnT.overload("overloaded", retryAfter);
+            }
+            return ReturnT.SUCCESS;
+        }
+    }
+
+}
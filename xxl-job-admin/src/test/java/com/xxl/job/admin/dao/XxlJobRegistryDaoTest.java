@@ -20,12 +20,12 @@ public class XxlJobRegistryDaoTest {
 
     @Test
     public void test(){
-        int ret = xxlJobRegistryDao.registryUpdate("g1", "k1", "v1", new Date());
+        int ret = xxlJobRegistryDao.registryUpdate("g1", "k1", "v1", 1, new Date());
         if (ret < 1) {
-            ret = xxlJobRegistryDao.registrySave("g1", "k1", "v1", new Date());
+            ret = xxlJobRegistryDao.registrySave("g1", "k1", "v1", 1, new Date());
         }
 
-        List<XxlJobRegistry> list = xxlJobRegistryDao.findAll(1, new Date());
+        List<XxlJobRegistry> list = xxlJobRegistryDao.findAll(1, new Date(), xxlJobRegistryDao.countWeightColumn() > 0);
 
         int ret2 = xxlJobRegistryDao.removeDead(Arrays.asList(1));
     }
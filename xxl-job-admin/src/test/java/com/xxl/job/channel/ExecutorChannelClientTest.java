@@ -0,0 +1,159 @@
+package com.xxl.job.channel;
+
+import com.xxl.job.admin.core.channel.ChannelExecutorBiz;
+import com.xxl.job.core.biz.model.RegistryParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.channel.ChannelInvoker;
+import com.xxl.job.core.channel.ChannelMessage;
+import com.xxl.job.core.channel.ExecutorChannelClient;
+import com.xxl.job.core.codec.XxlJobCodec;
+import com.xxl.job.core.enums.RegistryConfig;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * executor channel client, against a stub admin channel server (bind only, no registry db)
+ */
+public class ExecutorChannelClientTest {
+
+    private static final String EXECUTOR_ADDRESS = "http://127.0.0.1:9999/";
+
+    private EventLoopGroup serverGroup;
+    private int serverPort;
+    private BlockingQueue<Channel> boundChannelQueue = new LinkedBlockingQueue<Channel>();
+    private BlockingQueue<String> bindCodecQueue = new LinkedBlockingQueue<String>();
+    private ExecutorChannelClient channelClient;
+
+    @Before
+    public void before() throws Exception {
+        serverGroup = new NioEventLoopGroup(1);
+        Channel serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(SocketChannel channel) throws Exception {
+                        ChannelInvoker.initPipeline(channel.pipeline(), new StubAdminChannelHandler());
+                    }
+                })
+                .bind("127.0.0.1", 0).sync().channel();
+        serverPort = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+
+        channelClient = new ExecutorChannelClient("http://127.0.0.1:8080/xxl-job-admin/", null, serverPort);
+        channelClient.start();
+    }
+
+    @After
+    public void after() {
+        channelClient.toStop();
+        serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldBindAndInvokeOverChannel() throws Exception {
+        //given
+        awaitConnected();
+
+        //when
+        ReturnT<String> bindResult = channelClient.bind(buildRegistryParam());
+
+        //then
+        assertEquals(ReturnT.SUCCESS_CODE, bindResult.getCode());
+        Channel boundChannel = boundChannelQueue.poll(3, TimeUnit.SECONDS);
+        assertNotNull(boundChannel);
+
+        //when: admin invoke executor over bound channel
+        ReturnT<String> beatResult = new ChannelExecutorBiz(boundChannel, null).beat();
+
+        //then
+        assertEquals(ReturnT.SUCCESS_CODE, beatResult.getCode());
+    }
+
+    @Test
+    public void shouldReconnectAndBindAgain() throws Exception {
+        //given
+        awaitConnected();
+        channelClient.bind(buildRegistryParam());
+        Channel boundChannel = boundChannelQueue.poll(3, TimeUnit.SECONDS);
+        assertNotNull(boundChannel);
+
+        //when: channel closed by admin
+        boundChannel.close().sync();
+
+        //then: reconnect, and bind at once without registry
+        Channel reboundChannel = boundChannelQueue.poll(15, TimeUnit.SECONDS);
+        assertNotNull(reboundChannel);
+        assertNotSame(boundChannel, reboundChannel);
+        assertEquals(ReturnT.SUCCESS_CODE, new ChannelExecutorBiz(reboundChannel, null).beat().getCode());
+    }
+
+    @Test
+    public void shouldRequestInPreferCodecAfterPeerAccepted() throws Exception {
+        //given
+        awaitConnected();
+        XxlJobRemotingUtil.setCodec("binary");
+        try {
+            //when
+            channelClient.bind(buildRegistryParam());
+            channelClient.bind(buildRegistryParam());
+
+            //then: json until admin reply in binary, then binary
+            assertEquals("json", bindCodecQueue.poll(3, TimeUnit.SECONDS));
+            assertEquals("binary", bindCodecQueue.poll(3, TimeUnit.SECONDS));
+        } finally {
+            XxlJobRemotingUtil.setCodec("json");
+        }
+    }
+
+    private void awaitConnected() throws Exception {
+        for (int i = 0; i < 50 && !channelClient.isConnected(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private static RegistryParam buildRegistryParam() {
+        return new RegistryParam(RegistryConfig.RegistType.EXECUTOR.name(), "xxl-job-executor-test", EXECUTOR_ADDRESS);
+    }
+
+    private class StubAdminChannelHandler extends ChannelInvoker.RequestHandler {
+
+        @Override
+        protected Object process(Channel channel, ChannelMessage request) throws Exception {
+            if ("bind".equals(request.getUri())) {
+                RegistryParam registryParam = XxlJobCodec.loadCodecOrJson(request.getCodec()).decode(request.getData(), RegistryParam.class);
+                if (registryParam == null) {
+                    return new ReturnT<String>(ReturnT.FAIL_CODE, "Illegal Argument.");
+                }
+                assertEquals(EXECUTOR_ADDRESS, registryParam.getRegistryValue());
+                bindCodecQueue.add(request.getCodec());
+                boundChannelQueue.add(channel);
+                return ReturnT.SUCCESS;
+            }
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping("+ request.getUri() +") not found.");
+        }
+
+        @Override
+        protected void execute(Runnable runnable) {
+            runnable.run();
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package com.xxl.job.codec;
+
+import com.google.gson.JsonParseException;
+import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.codec.XxlJobCodec;
+import com.xxl.job.core.util.GsonTool;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class XxlJobCodecTest {
+
+    private static final Type CALLBACK_LIST_TYPE = new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{HandleCallbackParam.class});
+    private static final Type RETURN_STRING_TYPE = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class});
+    private static final Type RETURN_LOG_TYPE = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{LogResult.class});
+    private static final Type RUN_BATCH_RESULT_TYPE = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{
+            new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{
+                    new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class})})});
+
+    @Test
+    public void shouldRoundTripHotTypes() throws Exception {
+        for (XxlJobCodec codec: Arrays.asList(XxlJobCodec.JSON, XxlJobCodec.BINARY)) {
+            //given
+            TriggerParam triggerParam = buildTriggerParam(1);
+            List<HandleCallbackParam> callbackParamList = buildCallbackParamList(10);
+            RegistryParam registryParam = new RegistryParam("EXECUTOR", "xxl-job-executor-sample", "http://127.0.0.1:9999/");
+            registryParam.setLoad(new ExecutorLoad(2, 3, 0, 0.75));
+            registryParam.setWeight(4);
+            ReturnT<LogResult> logResult = new ReturnT<LogResult>(new LogResult(1, 3, "line1\nline2\n中文", true));
+            ReturnT<List<ReturnT<String>>> runBatchResult = new ReturnT<List<ReturnT<String>>>(Arrays.asList(ReturnT.SUCCESS, new ReturnT<String>(ReturnT.FAIL_CODE, "fail")));
+
+            //when //then
+            assertEquals(triggerParam.toString(), roundTrip(codec, triggerParam, TriggerParam.class).toString());
+            assertEquals(callbackParamList.toString(), roundTrip(codec, callbackParamList, CALLBACK_LIST_TYPE).toString());
+            assertEquals(registryParam.toString(), roundTrip(codec, registryParam, RegistryParam.class).toString());
+            ReturnT<LogResult> logResultResult = roundTrip(codec, logResult, RETURN_LOG_TYPE);
+            assertEquals(logResult.getContent().getLogContent(), logResultResult.getContent().getLogContent());
+            assertEquals(3, logResultResult.getContent().getToLineNum());
+            assertTrue(logResultResult.getContent().isEnd());
+            assertEquals(runBatchResult.toString(), roundTrip(codec, runBatchResult, RUN_BATCH_RESULT_TYPE).toString());
+
+            KillParam killParam = roundTrip(codec, new KillParam(7), KillParam.class);
+            assertEquals(7, killParam.getJobId());
+
+            ReturnT<String> overloadResult = roundTrip(codec, ReturnT.<String>overload("overloaded", 1500), RETURN_STRING_TYPE);
+            assertEquals(ReturnT.OVERLOAD_CODE, overloadResult.getCode());
+            assertEquals(Long.valueOf(1500), overloadResult.getRetryAfter());
+            ReturnT<String> successResult = roundTrip(codec, ReturnT.SUCCESS, RETURN_STRING_TYPE);
+            assertNull(successResult.getRetryAfter());
+        }
+    }
+
+    @Test
+    public void shouldKeepNullAndNegative() throws Exception {
+        //given
+        TriggerParam triggerParam = new TriggerParam();
+        triggerParam.setJobId(-1);
+        triggerParam.setLogId(Long.MIN_VALUE);
+        triggerParam.setGlueUpdatetime(Long.MAX_VALUE);
+
+        //when
+        TriggerParam result = roundTrip(XxlJobCodec.BINARY, triggerParam, TriggerParam.class);
+
+        //then
+        assertEquals(-1, result.getJobId());
+        assertEquals(Long.MIN_VALUE, result.getLogId());
+        assertEquals(Long.MAX_VALUE, result.getGlueUpdatetime());
+        assertNull(result.getExecutorHandler());
+        assertNull(XxlJobCodec.BINARY.decode(XxlJobCodec.BINARY.encode(null), TriggerParam.class));
+    }
+
+    @Test
+    public void shouldSkipUnknownTrailingFieldOfNewerMessageVersion() throws Exception {
+        //given: TriggerParam of newer message version, with a field appended; format: version(1) + tag(1) + length(4) + message version(varint) + fields
+        TriggerParam triggerParam = buildTriggerParam(1);
+        byte[] data = XxlJobCodec.BINARY.encode(triggerParam);
+        byte[] trailingField = new byte[]{5, 'h', 'e', 'l', 'l'};
+        ByteBuffer newerData = ByteBuffer.allocate(data.length + trailingField.length);
+        newerData.put(data).put(trailingField);
+        newerData.putInt(2, newerData.getInt(2) + trailingField.length);
+        newerData.put(6, (byte) 4);     // zigzag varint of message version 2
+
+        //when
+        TriggerParam result = XxlJobCodec.BINARY.decode(newerData.array(), TriggerParam.class);
+
+        //then
+        assertEquals(triggerParam.toString(), result.toString());
+    }
+
+    @Test
+    public void shouldStreamLargeJsonPayload() throws Exception {
+        //given
+        StringBuilder logContent = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            logContent.append("line ").append(i).append(" 中文 \"quoted\"\n");
+        }
+        ReturnT<LogResult> logResult = new ReturnT<LogResult>(new LogResult(1, 20000, logContent.toString(), false));
+
+        //when
+        ReturnT<LogResult> result = roundTrip(XxlJobCodec.JSON, logResult, RETURN_LOG_TYPE);
+
+        //then
+        assertEquals(logContent.toString(), result.getContent().getLogContent());
+        assertEquals(20000, result.getContent().getToLineNum());
+        TriggerParam triggerParam = buildTriggerParam(1);
+        assertEquals(GsonTool.toJson(triggerParam), new String(XxlJobCodec.JSON.encode(triggerParam), "UTF-8"));
+        assertNull(XxlJobCodec.JSON.decode("null".getBytes("UTF-8"), RETURN_LOG_TYPE));
+    }
+
+    @Test
+    public void shouldRejectTrailingContentOfJson() throws Exception {
+        //given
+        byte[] data = "{\"code\":200,\"content\":\"ok\"} trailing".getBytes("UTF-8");
+
+        //when
+        Exception decodeException = null;
+        try {
+            XxlJobCodec.JSON.decode(data, RETURN_STRING_TYPE);
+        } catch (Exception e) {
+            decodeException = e;
+        }
+
+        //then
+        assertTrue(decodeException instanceof JsonParseException);
+        assertNull(XxlJobCodec.JSON.decode(" ".getBytes("UTF-8"), RETURN_STRING_TYPE));
+    }
+
+    @Test
+    public void shouldLoadCodecByName() {
+        assertSame(XxlJobCodec.BINARY, XxlJobCodec.loadCodecOrJson("binary"));
+        assertSame(XxlJobCodec.JSON, XxlJobCodec.loadCodecOrJson(null));
+        assertSame(XxlJobCodec.JSON, XxlJobCodec.loadCodecOrJson("unknown"));
+    }
+
+    @Test
+    public void benchmarkCodec() throws Exception {
+        //given
+        TriggerParam triggerParam = buildTriggerParam(1);
+        List<HandleCallbackParam> callbackParamList = buildCallbackParamList(100);
+        int count = 20000;
+
+        for (XxlJobCodec codec: Arrays.asList(XxlJobCodec.JSON, XxlJobCodec.BINARY, XxlJobCodec.JSON, XxlJobCodec.BINARY)) {
+            //when
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                roundTrip(codec, triggerParam, TriggerParam.class);
+            }
+            long triggerCost = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < count/100; i++) {
+                roundTrip(codec, callbackParamList, CALLBACK_LIST_TYPE);
+            }
+            long callbackCost = System.nanoTime() - start;
+
+            System.out.println(codec.name() + " TriggerParam: " + codec.encode(triggerParam).length + " bytes, " + triggerCost/count + " ns/round-trip; "
+                    + "callback batch(100): " + codec.encode(callbackParamList).length + " bytes, " + callbackCost/(count/100) + " ns/round-trip");
+        }
+
+        //then
+        assertTrue(XxlJobCodec.BINARY.encode(triggerParam).length < XxlJobCodec.JSON.encode(triggerParam).length);
+        assertTrue(XxlJobCodec.BINARY.encode(callbackParamList).length < XxlJobCodec.JSON.encode(callbackParamList).length);
+    }
+
+    private static <T> T roundTrip(XxlJobCodec codec, Object obj, Type type) throws Exception {
+        return codec.decode(codec.encode(obj), type);
+    }
+
+    private static TriggerParam buildTriggerParam(int jobId) {
+        TriggerParam triggerParam = new TriggerParam();
+        triggerParam.setJobId(jobId);
+        triggerParam.setExecutorHandler("demoJobHandler");
+        triggerParam.setExecutorParams("param=1");
+        triggerParam.setExecutorBlockStrategy("SERIAL_EXECUTION");
+        triggerParam.setExecutorTimeout(0);
+        triggerParam.setLogId(123456789L);
+        triggerParam.setLogDateTime(System.currentTimeMillis());
+        triggerParam.setGlueType("BEAN");
+        triggerParam.setGlueSource(null);
+        triggerParam.setGlueUpdatetime(System.currentTimeMillis());
+        triggerParam.setBroadcastIndex(0);
+        triggerParam.setBroadcastTotal(1);
+        return triggerParam;
+    }
+
+    private static List<HandleCallbackParam> buildCallbackParamList(int size) {
+        List<HandleCallbackParam> callbackParamList = new ArrayList<HandleCallbackParam>();
+        for (int i = 0; i < size; i++) {
+            ReturnT<String> executeResult = (i%10 == 0)
+                    ?new ReturnT<String>(ReturnT.FAIL_CODE, "job handler fail, i=" + i)
+                    :ReturnT.SUCCESS;
+            callbackParamList.add(new HandleCallbackParam(100000L + i, System.currentTimeMillis(), executeResult));
+        }
+        return callbackParamList;
+    }
+
+}
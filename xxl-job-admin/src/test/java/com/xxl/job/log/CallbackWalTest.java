@@ -0,0 +1,171 @@
+package com.xxl.job.log;
+
+import com.xxl.job.core.biz.model.HandleCallbackParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.log.CallbackWal;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CallbackWalTest {
+
+    private static final FilenameFilter SEGMENT_FILTER = new FilenameFilter() {
+        @Override
+        public boolean accept(File dir, String name) {
+            return name.endsWith(".wal");
+        }
+    };
+    private static final FilenameFilter QUARANTINE_FILTER = new FilenameFilter() {
+        @Override
+        public boolean accept(File dir, String name) {
+            return name.endsWith(".wal.corrupt");
+        }
+    };
+
+    @Rule
+    public TemporaryFolder walFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReplayInOrderFromCheckpointAfterReopen() throws Exception {
+        //given
+        String walPath = walFolder.getRoot().getAbsolutePath();
+        CallbackWal callbackWal = new CallbackWal(walPath, true);
+        for (long logId = 1; logId <= 3; logId++) {
+            callbackWal.append(buildCallbackParamList(logId));
+        }
+        List<CallbackWal.Record> recordList = callbackWal.read(100);
+        callbackWal.checkpoint(recordList.get(0));
+        callbackWal.close();
+
+        //when
+        callbackWal = new CallbackWal(walPath, true);
+        recordList = callbackWal.read(100);
+
+        //then
+        assertEquals(2, recordList.size());
+        assertEquals(2, recordList.get(0).getCallbackParamList().get(0).getLogId());
+        assertEquals(3, recordList.get(1).getCallbackParamList().get(0).getLogId());
+        assertEquals("fail-2", recordList.get(0).getCallbackParamList().get(0).getExecuteResult().getMsg());
+
+        //when: all replayed
+        callbackWal.checkpoint(recordList.get(1));
+
+        //then: consumed segment deleted
+        assertTrue(callbackWal.read(100).isEmpty());
+        assertEquals(1, walFolder.getRoot().list(SEGMENT_FILTER).length);
+        callbackWal.close();
+    }
+
+    @Test
+    public void shouldTruncateTornRecordOnReopen() throws Exception {
+        //given
+        String walPath = walFolder.getRoot().getAbsolutePath();
+        CallbackWal callbackWal = new CallbackWal(walPath, false);
+        callbackWal.append(buildCallbackParamList(1));
+        callbackWal.close();
+
+        File segmentFile = walFolder.getRoot().listFiles(SEGMENT_FILTER)[0];
+        try (FileOutputStream out = new FileOutputStream(segmentFile, true)) {
+            out.write(new byte[]{0, 0, 0, 100, 1, 2, 3});     // crash during append
+        }
+
+        //when
+        callbackWal = new CallbackWal(walPath, false);
+        callbackWal.append(buildCallbackParamList(2));
+        List<CallbackWal.Record> recordList = callbackWal.read(100);
+
+        //then
+        assertEquals(2, recordList.size());
+        assertEquals(1, recordList.get(0).getCallbackParamList().get(0).getLogId());
+        assertEquals(2, recordList.get(1).getCallbackParamList().get(0).getLogId());
+        callbackWal.close();
+    }
+
+    @Test
+    public void shouldStopAndQuarantineSegmentOnDecodeError() throws Exception {
+        //given: record with valid crc but unknown payload version, then a later record
+        String walPath = walFolder.getRoot().getAbsolutePath();
+        CallbackWal callbackWal = new CallbackWal(walPath, false);
+        callbackWal.append(buildCallbackParamList(1));
+        callbackWal.close();
+
+        File segmentFile = walFolder.getRoot().listFiles(SEGMENT_FILTER)[0];
+        byte[] payload = new byte[]{99, 0, 0, 0, 0};
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload, 0, payload.length);
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        record.putInt(payload.length);
+        record.putInt((int) crc32.getValue());
+        record.put(payload);
+        try (FileOutputStream out = new FileOutputStream(segmentFile, true)) {
+            out.write(record.array());
+        }
+
+        callbackWal = new CallbackWal(walPath, false);
+        callbackWal.append(buildCallbackParamList(3));
+
+        //when
+        List<CallbackWal.Record> recordList = callbackWal.read(100);
+
+        //then: stop before the corrupt record
+        assertEquals(1, recordList.size());
+        assertEquals(1, recordList.get(0).getCallbackParamList().get(0).getLogId());
+
+        //when
+        callbackWal.checkpoint(recordList.get(0));
+        recordList = callbackWal.read(100);
+
+        //then: segment quarantined, not skipped silently
+        assertTrue(recordList.isEmpty());
+        assertEquals(1, walFolder.getRoot().list(QUARANTINE_FILTER).length);
+        assertFalse(segmentFile.exists());
+
+        //when: append after quarantine
+        callbackWal.append(buildCallbackParamList(4));
+        recordList = callbackWal.read(100);
+
+        //then
+        assertEquals(1, recordList.size());
+        assertEquals(4, recordList.get(0).getCallbackParamList().get(0).getLogId());
+        callbackWal.close();
+    }
+
+    @Test
+    public void shouldAppendWhenCallerInterrupted() throws Exception {
+        //given
+        String walPath = walFolder.getRoot().getAbsolutePath();
+        CallbackWal callbackWal = new CallbackWal(walPath, true);
+
+        //when
+        Thread.currentThread().interrupt();
+        try {
+            callbackWal.append(buildCallbackParamList(1));
+            callbackWal.append(buildCallbackParamList(2));
+        } finally {
+            Thread.interrupted();
+        }
+
+        //then
+        List<CallbackWal.Record> recordList = callbackWal.read(100);
+        assertEquals(2, recordList.size());
+        assertEquals(2, recordList.get(1).getCallbackParamList().get(0).getLogId());
+        callbackWal.close();
+    }
+
+    private static List<HandleCallbackParam> buildCallbackParamList(long logId) {
+        return Arrays.asList(new HandleCallbackParam(logId, System.currentTimeMillis(), new ReturnT<String>(ReturnT.FAIL_CODE, "fail-" + logId)));
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.xxl.job.remoting;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.xxl.job.core.biz.client.ExecutorBizClient;
+import com.xxl.job.core.biz.model.LogParam;
+import com.xxl.job.core.biz.model.LogResult;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.log.XxlJobFileAppender;
+import com.xxl.job.core.server.EmbedServer;
+import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.XxlJobHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class XxlJobHttpClientTest {
+
+    @Rule
+    public TemporaryFolder logFolder = new TemporaryFolder();
+
+    private HttpServer server;
+    private String url;
+    private byte[] responseBody;
+
+    @Before
+    public void before() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/log", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                exchange.sendResponseHeaders(200, responseBody.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(responseBody);
+                out.close();
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/log";
+    }
+
+    @After
+    public void after() {
+        XxlJobHttpClient.stop();
+        server.stop(0);
+    }
+
+    @Test
+    public void shouldReadResponseLargerThanFiveMb() throws Exception {
+        //given
+        responseBody = new byte[8 * 1024 * 1024];
+        Arrays.fill(responseBody, (byte) 'a');
+
+        //when
+        XxlJobHttpClient.HttpResult httpResult = XxlJobHttpClient.getInstance().post(url, null, new byte[0], 10);
+
+        //then
+        assertEquals(200, httpResult.getStatusCode());
+        assertArrayEquals(responseBody, httpResult.getContent());
+    }
+
+    @Test
+    public void shouldRoundTripGzipLogFromEmbedServer() throws Exception {
+        //given: log larger than 5MB after decompressed, embed server compress it
+        XxlJobFileAppender.initLogPath(logFolder.getRoot().getAbsolutePath());
+        Date logDate = new Date();
+        String logFileName = XxlJobFileAppender.makeLogFileName(logDate, 1);
+        StringBuilder logContent = new StringBuilder();
+        for (int i = 0; logContent.length() < 6 * 1024 * 1024; i++) {
+            logContent.append("line ").append(i).append(", xxl-job log content for gzip round trip.\n");
+        }
+        FileOutputStream out = new FileOutputStream(logFileName);
+        out.write(logContent.toString().getBytes("UTF-8"));
+        out.close();
+
+        int port = loadFreePort();
+        EmbedServer embedServer = new EmbedServer();
+        embedServer.start("http://127.0.0.1:" + port + "/", port, null, null);
+        try {
+            String address = "http://127.0.0.1:" + port + "/";
+            ExecutorBizClient executorBizClient = new ExecutorBizClient(address, null);
+            for (int i = 0; i < 50 && executorBizClient.beat().getCode() != ReturnT.SUCCESS_CODE; i++) {
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+
+            //when
+            ReturnT<LogResult> logResult = executorBizClient.log(new LogParam(logDate.getTime(), 1, 1));
+
+            //then: compressed on wire, decompressed transparently
+            assertEquals(ReturnT.SUCCESS_CODE, logResult.getCode());
+            assertEquals(logContent.toString(), logResult.getContent().getLogContent());
+
+            HttpURLConnection connection = (HttpURLConnection) new URL(address + "log").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            connection.getOutputStream().write(GsonTool.toJson(new LogParam(logDate.getTime(), 1, 1)).getBytes("UTF-8"));
+            assertEquals("gzip", connection.getHeaderField("Content-Encoding"));
+            InputStream in = connection.getInputStream();
+            long compressedLength = 0;
+            for (int len; (len = in.read(new byte[8192])) > 0; ) {
+                compressedLength += len;
+            }
+            in.close();
+            assertTrue(compressedLength < logContent.length() / 10);
+            connection.disconnect();
+        } finally {
+            embedServer.stop();
+        }
+    }
+
+    @Test
+    public void shouldFailCleanlyWhenPostAfterStop() throws Exception {
+        //given
+        responseBody = "ok".getBytes("UTF-8");
+        XxlJobHttpClient client = XxlJobHttpClient.getInstance();
+        client.post(url, null, new byte[0], 10);
+
+        //when
+        XxlJobHttpClient.stop();
+
+        //then
+        try {
+            client.post(url, null, new byte[0], 10);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("stopped"));
+        }
+        assertEquals(200, XxlJobHttpClient.getInstance().post(url, null, new byte[0], 10).getStatusCode());
+    }
+
+    private static int loadFreePort() throws IOException {
+        ServerSocket serverSocket = new ServerSocket(0);
+        try {
+            return serverSocket.getLocalPort();
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+}
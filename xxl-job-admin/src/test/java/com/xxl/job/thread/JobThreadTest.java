@@ -0,0 +1,341 @@
+package com.xxl.job.thread;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.impl.ExecutorBizImpl;
+import com.xxl.job.core.biz.model.HandleCallbackParam;
+import com.xxl.job.core.biz.model.KillParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.enums.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.executor.XxlJobExecutor;
+import com.xxl.job.core.glue.GlueTypeEnum;
+import com.xxl.job.core.handler.IJobHandler;
+import com.xxl.job.core.log.XxlJobFileAppender;
+import com.xxl.job.core.thread.JobThread;
+import com.xxl.job.core.thread.JobWorkerPool;
+import com.xxl.job.core.thread.TriggerCallbackThread;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class JobThreadTest {
+
+    private static final String BLOCKING_HANDLER = "jobThreadTestBlockingHandler";
+
+    private ExecutorBiz executorBiz = new ExecutorBizImpl();
+    private int parallelMax;
+
+    @Rule
+    public TemporaryFolder logFolder = new TemporaryFolder();
+
+    @Before
+    public void before() throws Exception {
+        XxlJobFileAppender.initLogPath(logFolder.getRoot().getAbsolutePath());
+        loadCallbackQueue().clear();
+        parallelMax = JobThread.getParallelMax();
+    }
+
+    @After
+    public void after() throws Exception {
+        for (JobThread jobThread: XxlJobExecutor.loadJobThreadList()) {
+            XxlJobExecutor.removeJobThread(jobThread.getJobId(), "test finish");
+        }
+        JobWorkerPool.stop();
+        loadCallbackQueue().clear();
+        JobThread.setParallelMax(parallelMax);
+    }
+
+    @Test
+    public void shouldCallbackTimeoutAndRunNextTriggerWhileHandlerNotExit() throws Exception {
+        //given: handler ignore interrupt until released
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingQueue<String> startedQueue = new LinkedBlockingQueue<String>();
+        JobThread jobThread = new JobThread(1, new IJobHandler() {
+            @Override
+            public ReturnT<String> execute(String param) throws Exception {
+                startedQueue.add(param);
+                while ("stuck".equals(param)) {
+                    try {
+                        if (release.await(100, TimeUnit.MILLISECONDS)) {
+                            break;
+                        }
+                    } catch (InterruptedException e) {
+                        // ignore interrupt, such as handler not response to interrupt
+                    }
+                }
+                return SUCCESS;
+            }
+        });
+
+        //when
+        jobThread.pushTriggerQueue(buildTriggerParam(1, "stuck", 1));
+        jobThread.pushTriggerQueue(buildTriggerParam(2, "quick", 0));
+
+        //then: timeout callback at deadline, next trigger run without waiting for the stuck handler
+        HandleCallbackParam timeoutCallback = loadCallbackQueue().poll(5, TimeUnit.SECONDS);
+        assertNotNull(timeoutCallback);
+        assertEquals(1, timeoutCallback.getLogId());
+        assertEquals(IJobHandler.FAIL_TIMEOUT.getCode(), timeoutCallback.getExecuteResult().getCode());
+
+        assertEquals("stuck", startedQueue.poll(1, TimeUnit.SECONDS));
+        assertEquals("quick", startedQueue.poll(3, TimeUnit.SECONDS));
+        HandleCallbackParam quickCallback = loadCallbackQueue().poll(3, TimeUnit.SECONDS);
+        assertNotNull(quickCallback);
+        assertEquals(2, quickCallback.getLogId());
+        assertEquals(ReturnT.SUCCESS_CODE, quickCallback.getExecuteResult().getCode());
+
+        //when: stuck handler exit at last
+        release.countDown();
+        jobThread.toStop("test finish");
+        jobThread.join(10, TimeUnit.SECONDS);
+
+        //then: never callback again
+        List<HandleCallbackParam> restCallbackList = new ArrayList<HandleCallbackParam>();
+        loadCallbackQueue().drainTo(restCallbackList);
+        assertTrue(restCallbackList.isEmpty());
+    }
+
+    @Test
+    public void shouldRunInOrderOneByOneWhenSerial() throws Exception {
+        //given
+        BlockingHandler handler = registBlockingHandler();
+
+        //when
+        for (long logId = 1; logId <= 3; logId++) {
+            assertEquals(ReturnT.SUCCESS_CODE, executorBiz.run(buildBeanTriggerParam(11, logId, "block", ExecutorBlockStrategyEnum.SERIAL_EXECUTION)).getCode());
+        }
+        assertEquals("block", handler.startedQueue.poll(3, TimeUnit.SECONDS));
+        handler.release.countDown();
+
+        //then
+        for (long logId = 1; logId <= 3; logId++) {
+            HandleCallbackParam callbackParam = loadCallbackQueue().poll(3, TimeUnit.SECONDS);
+            assertNotNull(callbackParam);
+            assertEquals(logId, callbackParam.getLogId());
+            assertEquals(ReturnT.SUCCESS_CODE, callbackParam.getExecuteResult().getCode());
+        }
+        assertEquals(1, handler.maxRunning.get());
+    }
+
+    @Test
+    public void shouldDiscardLaterTriggerWhenRunning() throws Exception {
+        //given
+        BlockingHandler handler = registBlockingHandler();
+        executorBiz.run(buildBeanTriggerParam(12, 1, "block", ExecutorBlockStrategyEnum.DISCARD_LATER));
+        assertEquals("block", handler.startedQueue.poll(3, TimeUnit.SECONDS));
+
+        //when
+        ReturnT<String> runResult = executorBiz.run(buildBeanTriggerParam(12, 2, "block", ExecutorBlockStrategyEnum.DISCARD_LATER));
+
+        //then
+        assertEquals(ReturnT.FAIL_CODE, runResult.getCode());
+        assertTrue(runResult.getMsg().contains(ExecutorBlockStrategyEnum.DISCARD_LATER.getTitle()));
+
+        handler.release.countDown();
+        HandleCallbackParam callbackParam = loadCallbackQueue().poll(3, TimeUnit.SECONDS);
+        assertNotNull(callbackParam);
+        assertEquals(1, callbackParam.getLogId());
+        assertEquals(null, loadCallbackQueue().poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldKillRunningAndRunNewTriggerWhenCoverEarly() throws Exception {
+        //given
+        BlockingHandler handler = registBlockingHandler();
+        executorBiz.run(buildBeanTriggerParam(13, 1, "block", ExecutorBlockStrategyEnum.COVER_EARLY));
+        assertEquals("block", handler.startedQueue.poll(3, TimeUnit.SECONDS));
+
+        //when
+        ReturnT<String> runResult = executorBiz.run(buildBeanTriggerParam(13, 2, "quick", ExecutorBlockStrategyEnum.COVER_EARLY));
+
+        //then: running one killed, new one run on new job thread
+        assertEquals(ReturnT.SUCCESS_CODE, runResult.getCode());
+        HandleCallbackParam killedCallback = loadCallbackQueue().poll(3, TimeUnit.SECONDS);
+        HandleCallbackParam newCallback = loadCallbackQueue().poll(3, TimeUnit.SECONDS);
+        assertNotNull(killedCallback);
+        assertNotNull(newCallback);
+        if (killedCallback.getLogId() != 1) {
+            HandleCallbackParam tmp = killedCallback;
+            killedCallback = newCallback;
+            newCallback = tmp;
+        }
+        assertEquals(1, killedCallback.getLogId());
+        assertEquals(ReturnT.FAIL_CODE, killedCallback.getExecuteResult().getCode());
+        assertTrue(killedCallback.getExecuteResult().getMsg().contains("killed"));
+        assertEquals(2, newCallback.getLogId());
+        assertEquals(ReturnT.SUCCESS_CODE, newCallback.getExecuteResult().getCode());
+    }
+
+    @Test
+    public void shouldRunAtMostParallelMaxAndDrainRestWhenParallel() throws Exception {
+        //given
+        JobThread.setParallelMax(3);
+        BlockingHandler handler = registBlockingHandler();
+
+        //when
+        for (long logId = 1; logId <= 5; logId++) {
+            assertEquals(ReturnT.SUCCESS_CODE, executorBiz.run(buildBeanTriggerParam(14, logId, "block", ExecutorBlockStrategyEnum.PARALLEL)).getCode());
+        }
+
+        //then: exactly parallelMax run at once, the rest wait in queue
+        for (int i = 0; i < 3; i++) {
+            assertEquals("block", handler.startedQueue.poll(3, TimeUnit.SECONDS));
+        }
+        assertEquals(null, handler.startedQueue.poll(500, TimeUnit.MILLISECONDS));
+        assertEquals(3, handler.running.get());
+        assertEquals(2, XxlJobExecutor.loadJobThread(14).getTriggerQueueSize());
+
+        //when
+        handler.release.countDown();
+
+        //then: the rest drain after, never over parallelMax
+        for (int i = 0; i < 5; i++) {
+            HandleCallbackParam callbackParam = loadCallbackQueue().poll(3, TimeUnit.SECONDS);
+            assertNotNull(callbackParam);
+            assertEquals(ReturnT.SUCCESS_CODE, callbackParam.getExecuteResult().getCode());
+        }
+        assertEquals(3, handler.maxRunning.get());
+    }
+
+    @Test
+    public void shouldInterruptEveryRunnerAndDestroyAfterAllExitWhenParallelKilled() throws Exception {
+        //given: parallelMax runner hold, the rest in queue
+        JobThread.setParallelMax(3);
+        BlockingHandler handler = registBlockingHandler();
+        for (long logId = 1; logId <= 5; logId++) {
+            executorBiz.run(buildBeanTriggerParam(15, logId, "hold", ExecutorBlockStrategyEnum.PARALLEL));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals("hold", handler.startedQueue.poll(3, TimeUnit.SECONDS));
+        }
+        JobThread jobThread = XxlJobExecutor.loadJobThread(15);
+
+        //when
+        assertEquals(ReturnT.SUCCESS_CODE, executorBiz.kill(new KillParam(15)).getCode());
+
+        //then: every runner interrupted, not destroyed while any runner still exit
+        for (int i = 0; i < 3; i++) {
+            assertEquals("interrupted", handler.interruptedQueue.poll(3, TimeUnit.SECONDS));
+        }
+        assertFalse(jobThread.join(500, TimeUnit.MILLISECONDS));
+        assertEquals(1, handler.destroyed.getCount());
+
+        //when
+        handler.exit.countDown();
+
+        //then: destroyed once after all runner exit, running and queued trigger callback killed
+        assertTrue(jobThread.join(3, TimeUnit.SECONDS));
+        assertEquals(0, handler.runningAtDestroy.get());
+        int runningKilled = 0;
+        int queuedKilled = 0;
+        for (int i = 0; i < 5; i++) {
+            HandleCallbackParam callbackParam = loadCallbackQueue().poll(3, TimeUnit.SECONDS);
+            assertNotNull(callbackParam);
+            assertEquals(ReturnT.FAIL_CODE, callbackParam.getExecuteResult().getCode());
+            if (callbackParam.getExecuteResult().getMsg().contains("[job running, killed]")) {
+                runningKilled++;
+            } else if (callbackParam.getExecuteResult().getMsg().contains("[job not executed, in the job queue, killed.]")) {
+                queuedKilled++;
+            }
+        }
+        assertEquals(3, runningKilled);
+        assertEquals(2, queuedKilled);
+    }
+
+    private BlockingHandler registBlockingHandler() {
+        BlockingHandler handler = new BlockingHandler();
+        XxlJobExecutor.registJobHandler(BLOCKING_HANDLER, handler);
+        return handler;
+    }
+
+    /**
+     * param "block" wait until released, or interrupted;
+     * param "hold" wait until released, if interrupted wait until exit, such as handler clean up slowly
+     */
+    private static class BlockingHandler extends IJobHandler {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch exit = new CountDownLatch(1);
+        private final CountDownLatch destroyed = new CountDownLatch(1);
+        private final BlockingQueue<String> startedQueue = new LinkedBlockingQueue<String>();
+        private final BlockingQueue<String> interruptedQueue = new LinkedBlockingQueue<String>();
+        private final AtomicInteger running = new AtomicInteger(0);
+        private final AtomicInteger maxRunning = new AtomicInteger(0);
+        private final AtomicInteger runningAtDestroy = new AtomicInteger(-1);
+
+        @Override
+        public ReturnT<String> execute(String param) throws Exception {
+            int runningNow = running.incrementAndGet();
+            try {
+                if (runningNow > maxRunning.get()) {
+                    maxRunning.set(runningNow);
+                }
+                startedQueue.add(param);
+                if ("block".equals(param)) {
+                    release.await();
+                } else if ("hold".equals(param)) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        interruptedQueue.add("interrupted");
+                        while (!exit.await(100, TimeUnit.MILLISECONDS)) {
+                            // wait until exit
+                        }
+                        throw e;
+                    }
+                }
+                return SUCCESS;
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void destroy() {
+            runningAtDestroy.set(running.get());
+            destroyed.countDown();
+        }
+    }
+
+    private static TriggerParam buildBeanTriggerParam(int jobId, long logId, String executorParams, ExecutorBlockStrategyEnum blockStrategy) {
+        TriggerParam triggerParam = buildTriggerParam(logId, executorParams, 0);
+        triggerParam.setJobId(jobId);
+        triggerParam.setGlueType(GlueTypeEnum.BEAN.name());
+        triggerParam.setExecutorHandler(BLOCKING_HANDLER);
+        triggerParam.setExecutorBlockStrategy(blockStrategy.name());
+        return triggerParam;
+    }
+
+    private static TriggerParam buildTriggerParam(long logId, String executorParams, int executorTimeout) {
+        TriggerParam triggerParam = new TriggerParam();
+        triggerParam.setJobId(1);
+        triggerParam.setLogId(logId);
+        triggerParam.setLogDateTime(System.currentTimeMillis());
+        triggerParam.setExecutorParams(executorParams);
+        triggerParam.setExecutorTimeout(executorTimeout);
+        return triggerParam;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BlockingQueue<HandleCallbackParam> loadCallbackQueue() throws Exception {
+        Field callBackQueueField = TriggerCallbackThread.class.getDeclaredField("callBackQueue");
+        callBackQueueField.setAccessible(true);
+        return (BlockingQueue<HandleCallbackParam>) callBackQueueField.get(TriggerCallbackThread.getInstance());
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.xxl.job.thread;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.handler.IJobHandler;
+import com.xxl.job.core.log.XxlJobFileAppender;
+import com.xxl.job.core.thread.JobThread;
+import com.xxl.job.core.thread.JobWorkerPool;
+import com.xxl.job.core.util.VirtualThreadUtil;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * benchmark of 10k sleeping jobs, wall-clock bound and heavy, run manually; behavior is covered by JobWorkerPoolTest
+ */
+@Ignore("benchmark, run manually")
+public class JobWorkerPoolBenchmarkTest {
+
+    private static final int JOB_COUNT = 10000;
+    private static final long SLEEP_MS = 500;
+
+    @Rule
+    public TemporaryFolder logFolder = new TemporaryFolder();
+
+    @Before
+    public void before() {
+        XxlJobFileAppender.initLogPath(logFolder.getRoot().getAbsolutePath());
+        JobWorkerPool.stop();
+    }
+
+    @After
+    public void after() {
+        JobWorkerPool.stop();
+        JobWorkerPool.setWorkerMax(256);
+        JobWorkerPool.setVirtualThread(false);
+    }
+
+    @Test
+    public void benchmarkPlatformThread() throws Exception {
+        //given
+        JobWorkerPool.setWorkerMax(JOB_COUNT);
+        JobWorkerPool.setVirtualThread(false);
+
+        //when
+        long cost = runSleepingJobs("platform");
+
+        //then
+        assertTrue(cost < SLEEP_MS * 20);
+    }
+
+    @Test
+    public void benchmarkVirtualThread() throws Exception {
+        //given
+        Assume.assumeTrue("virtual thread not supported by current JVM", VirtualThreadUtil.isSupported());
+        JobWorkerPool.setVirtualThread(true);
+
+        //when
+        long cost = runSleepingJobs("virtual");
+
+        //then
+        assertTrue(cost < SLEEP_MS * 20);
+    }
+
+    /**
+     * 10k jobs, one trigger each, handler sleep (io-bound), all running concurrently
+     */
+    private static long runSleepingJobs(String mode) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(JOB_COUNT);
+        IJobHandler sleepHandler = new IJobHandler() {
+            @Override
+            public ReturnT<String> execute(String param) throws Exception {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(SLEEP_MS);
+                    return SUCCESS;
+                } finally {
+                    latch.countDown();
+                }
+            }
+        };
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        threadMXBean.resetPeakThreadCount();
+
+        long start = System.currentTimeMillis();
+        List<JobThread> jobThreadList = new ArrayList<JobThread>(JOB_COUNT);
+        for (int i = 0; i < JOB_COUNT; i++) {
+            JobThread jobThread = new JobThread(i, sleepHandler);
+            jobThreadList.add(jobThread);
+
+            TriggerParam triggerParam = new TriggerParam();
+            triggerParam.setJobId(i);
+            triggerParam.setLogId(i);
+            triggerParam.setLogDateTime(start);
+            jobThread.pushTriggerQueue(triggerParam);
+        }
+        latch.await(SLEEP_MS * 40, TimeUnit.MILLISECONDS);
+        long cost = System.currentTimeMillis() - start;
+
+        for (JobThread jobThread: jobThreadList) {
+            jobThread.toStop("benchmark finish");
+        }
+        for (JobThread jobThread: jobThreadList) {
+            jobThread.join(10, TimeUnit.SECONDS);
+        }
+
+        System.out.println(mode + " thread: " + JOB_COUNT + " sleeping(" + SLEEP_MS + "ms) jobs, cost " + cost + " ms, "
+                + "peak platform thread " + threadMXBean.getPeakThreadCount() + ", unfinished " + latch.getCount());
+        return cost;
+    }
+
+}
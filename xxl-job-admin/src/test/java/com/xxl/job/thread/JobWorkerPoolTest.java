@@ -0,0 +1,90 @@
+package com.xxl.job.thread;
+
+import com.xxl.job.core.thread.JobWorkerPool;
+import com.xxl.job.core.util.VirtualThreadUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JobWorkerPoolTest {
+
+    private static final String PLATFORM_WORKER_PREFIX = "xxl-job, executor JobWorkerPool-worker-";
+    private static final String VIRTUAL_WORKER_PREFIX = "xxl-job, executor JobWorkerPool-virtualWorker-";
+
+    @Before
+    public void before() {
+        JobWorkerPool.stop();
+    }
+
+    @After
+    public void after() {
+        JobWorkerPool.stop();
+        JobWorkerPool.setVirtualThread(false);
+    }
+
+    @Test
+    public void shouldRunOnPlatformWorkerByDefault() throws Exception {
+        //given
+        JobWorkerPool.setVirtualThread(false);
+
+        //when
+        String workerName = runAndLoadWorkerName();
+
+        //then
+        assertTrue(workerName, workerName.startsWith(PLATFORM_WORKER_PREFIX));
+    }
+
+    @Test
+    public void shouldRunOnVirtualWorkerOrFallbackToPlatform() throws Exception {
+        //given
+        JobWorkerPool.setVirtualThread(true);
+
+        //when
+        String workerName = runAndLoadWorkerName();
+
+        //then: virtual thread by VirtualThreadUtil on JDK 21+, platform worker on old JDK
+        if (VirtualThreadUtil.isSupported()) {
+            assertTrue(workerName, workerName.startsWith(VIRTUAL_WORKER_PREFIX));
+        } else {
+            assertTrue(workerName, workerName.startsWith(PLATFORM_WORKER_PREFIX));
+        }
+    }
+
+    @Test
+    public void shouldCreateVirtualExecutorOnlyIfSupported() {
+        //when
+        ExecutorService executor = VirtualThreadUtil.newVirtualThreadPerTaskExecutor(VIRTUAL_WORKER_PREFIX);
+
+        //then
+        if (VirtualThreadUtil.isSupported()) {
+            assertNotNull(executor);
+            executor.shutdown();
+        } else {
+            assertNull(executor);
+            assertNull(VirtualThreadUtil.newVirtualThreadFactory(VIRTUAL_WORKER_PREFIX));
+        }
+    }
+
+    private static String runAndLoadWorkerName() throws Exception {
+        final BlockingQueue<String> workerNameQueue = new LinkedBlockingQueue<String>();
+        JobWorkerPool.execute(new Runnable() {
+            @Override
+            public void run() {
+                workerNameQueue.add(Thread.currentThread().getName());
+            }
+        });
+        String workerName = workerNameQueue.poll(5, TimeUnit.SECONDS);
+        assertNotNull(workerName);
+        return workerName;
+    }
+
+}
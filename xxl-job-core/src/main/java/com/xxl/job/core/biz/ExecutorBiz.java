@@ -2,6 +2,8 @@ package com.xxl.job.core.biz;
 
 import com.xxl.job.core.biz.model.*;
 
+import java.util.List;
+
 /**
  * Created by xuxueli on 17/3/1.
  */
@@ -9,7 +11,7 @@ public interface ExecutorBiz {
 
     /**
      * beat
-     * @return
+     * @return  ReturnT.content=capabilities of executor, see ExecutorCapability
      */
     public ReturnT<String> beat();
 
@@ -28,6 +30,14 @@ public interface ExecutorBiz {
      */
     public ReturnT<String> run(TriggerParam triggerParam);
 
+    /**
+     * run batch, trigger many jobs in one request
+     *
+     * @param triggerParamList
+     * @return  ReturnT.content=run result of each trigger, in the same order as triggerParamList
+     */
+    public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList);
+
     /**
      * kill
      * @param killParam
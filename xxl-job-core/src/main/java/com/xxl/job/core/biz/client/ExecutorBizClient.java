@@ -2,8 +2,12 @@ package com.xxl.job.core.biz.client;
 
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.util.GsonTool;
 import com.xxl.job.core.util.XxlJobRemotingUtil;
 
+import java.lang.reflect.Type;
+import java.util.List;
+
 /**
  * admin api test
  *
@@ -43,6 +47,14 @@ public class ExecutorBizClient implements ExecutorBiz {
         return XxlJobRemotingUtil.postBody(addressUrl + "run", accessToken, timeout, triggerParam, String.class);
     }
 
+    private static final Type RUN_BATCH_RESULT_TYPE = new GsonTool.ParameterizedType4ReturnT(List.class,
+            new Type[]{new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class})});
+
+    @Override
+    public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+        return XxlJobRemotingUtil.postBody(addressUrl + "runBatch", accessToken, timeout, triggerParamList, RUN_BATCH_RESULT_TYPE);
+    }
+
     @Override
     public ReturnT<String> kill(KillParam killParam) {
         return XxlJobRemotingUtil.postBody(addressUrl + "kill", accessToken, timeout, killParam, String.class);
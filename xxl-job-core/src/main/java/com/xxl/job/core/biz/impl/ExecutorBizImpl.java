@@ -3,6 +3,7 @@ package com.xxl.job.core.biz.impl;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.model.*;
 import com.xxl.job.core.enums.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.enums.ExecutorCapability;
 import com.xxl.job.core.executor.XxlJobExecutor;
 import com.xxl.job.core.glue.GlueFactory;
 import com.xxl.job.core.glue.GlueTypeEnum;
@@ -14,7 +15,9 @@ import com.xxl.job.core.thread.JobThread;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Created by xuxueli on 17/3/1.
@@ -24,7 +27,7 @@ public class ExecutorBizImpl implements ExecutorBiz {
 
     @Override
     public ReturnT<String> beat() {
-        return ReturnT.SUCCESS;
+        return new ReturnT<String>(ExecutorCapability.ALL);
     }
 
     @Override
@@ -119,8 +122,9 @@ public class ExecutorBizImpl implements ExecutorBiz {
         }
 
         // executor block strategy
+        ExecutorBlockStrategyEnum blockStrategy = ExecutorBlockStrategyEnum.match(triggerParam.getExecutorBlockStrategy(), null);
+        int concurrency = (ExecutorBlockStrategyEnum.PARALLEL == blockStrategy)?JobThread.getParallelMax():1;
         if (jobThread != null) {
-            ExecutorBlockStrategyEnum blockStrategy = ExecutorBlockStrategyEnum.match(triggerParam.getExecutorBlockStrategy(), null);
             if (ExecutorBlockStrategyEnum.DISCARD_LATER == blockStrategy) {
                 // discard when running
                 if (jobThread.isRunningOrHasQueue()) {
@@ -136,11 +140,18 @@ public class ExecutorBizImpl implements ExecutorBiz {
             } else {
                 // just queue trigger
             }
+
+            // change block strategy from or to parallel, replace thread when idle, otherwise queue to the old one
+            if (jobThread!=null && jobThread.getConcurrency()!=concurrency && !jobThread.isRunningOrHasQueue()) {
+                removeOldReason = "change block strategy, and terminate the old job thread.";
+
+                jobThread = null;
+            }
         }
 
         // replace thread (new or exists invalid)
         if (jobThread == null) {
-            jobThread = XxlJobExecutor.registJobThread(triggerParam.getJobId(), jobHandler, removeOldReason);
+            jobThread = XxlJobExecutor.registJobThread(triggerParam.getJobId(), jobHandler, concurrency, removeOldReason);
         }
 
         // push data to queue
@@ -148,6 +159,26 @@ public class ExecutorBizImpl implements ExecutorBiz {
         return pushResult;
     }
 
+    @Override
+    public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+        if (triggerParamList == null || triggerParamList.isEmpty()) {
+            return new ReturnT<List<ReturnT<String>>>(ReturnT.FAIL_CODE, "triggerParamList is empty.");
+        }
+
+        List<ReturnT<String>> runResultList = new ArrayList<ReturnT<String>>(triggerParamList.size());
+        for (TriggerParam triggerParam: triggerParamList) {
+            ReturnT<String> runResult = null;
+            try {
+                runResult = run(triggerParam);
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+                runResult = new ReturnT<String>(ReturnT.FAIL_CODE, e.getMessage());
+            }
+            runResultList.add(runResult);
+        }
+        return new ReturnT<List<ReturnT<String>>>(runResultList);
+    }
+
     @Override
     public ReturnT<String> kill(KillParam killParam) {
         // kill handlerThread, and create new one
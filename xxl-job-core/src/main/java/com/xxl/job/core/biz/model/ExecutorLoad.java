@@ -0,0 +1,68 @@
+package com.xxl.job.core.biz.model;
+
+import java.io.Serializable;
+
+/**
+ * executor load, report with registry beat
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorLoad implements Serializable {
+    private static final long serialVersionUID = 42L;
+
+    private int runningJobThreads;      // job threads running job
+    private int queuedTriggers;         // triggers waiting in job thread queue
+    private int bizQueueSize;           // requests waiting in bizThreadPool queue of embed server
+    private double cpuLoad;             // system load average / processors, <0 means unknown
+
+    public ExecutorLoad() {
+    }
+    public ExecutorLoad(int runningJobThreads, int queuedTriggers, int bizQueueSize, double cpuLoad) {
+        this.runningJobThreads = runningJobThreads;
+        this.queuedTriggers = queuedTriggers;
+        this.bizQueueSize = bizQueueSize;
+        this.cpuLoad = cpuLoad;
+    }
+
+    public int getRunningJobThreads() {
+        return runningJobThreads;
+    }
+
+    public void setRunningJobThreads(int runningJobThreads) {
+        this.runningJobThreads = runningJobThreads;
+    }
+
+    public int getQueuedTriggers() {
+        return queuedTriggers;
+    }
+
+    public void setQueuedTriggers(int queuedTriggers) {
+        this.queuedTriggers = queuedTriggers;
+    }
+
+    public int getBizQueueSize() {
+        return bizQueueSize;
+    }
+
+    public void setBizQueueSize(int bizQueueSize) {
+        this.bizQueueSize = bizQueueSize;
+    }
+
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    public void setCpuLoad(double cpuLoad) {
+        this.cpuLoad = cpuLoad;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorLoad{" +
+                "runningJobThreads=" + runningJobThreads +
+                ", queuedTriggers=" + queuedTriggers +
+                ", bizQueueSize=" + bizQueueSize +
+                ", cpuLoad=" + cpuLoad +
+                '}';
+    }
+}
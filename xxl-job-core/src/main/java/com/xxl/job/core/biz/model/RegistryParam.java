@@ -11,6 +11,8 @@ public class RegistryParam implements Serializable {
     private String registryGroup;
     private String registryKey;
     private String registryValue;
+    private ExecutorLoad load;          // executor load, only for executor registry beat, may be null
+    private int weight;                 // executor weight, for weighted route; <=0 means default 1
 
     public RegistryParam(){}
     public RegistryParam(String registryGroup, String registryKey, String registryValue) {
@@ -43,12 +45,30 @@ public class RegistryParam implements Serializable {
         this.registryValue = registryValue;
     }
 
+    public ExecutorLoad getLoad() {
+        return load;
+    }
+
+    public void setLoad(ExecutorLoad load) {
+        this.load = load;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
     @Override
     public String toString() {
         return "RegistryParam{" +
                 "registryGroup='" + registryGroup + '\'' +
                 ", registryKey='" + registryKey + '\'' +
                 ", registryValue='" + registryValue + '\'' +
+                ", load=" + load +
+                ", weight=" + weight +
                 '}';
     }
 }
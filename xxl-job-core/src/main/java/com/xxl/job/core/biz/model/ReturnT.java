@@ -12,6 +12,8 @@ public class ReturnT<T> implements Serializable {
 
 	public static final int SUCCESS_CODE = 200;
 	public static final int FAIL_CODE = 500;
+	public static final int OVERLOAD_CODE = 503;		// rejected before run as overloaded, not a failure; try other address, or retry after "retryAfter"
+	public static final long OVERLOAD_RETRY_AFTER = 1000;		// ms, default retry-after hint
 
 	public static final ReturnT<String> SUCCESS = new ReturnT<String>(null);
 	public static final ReturnT<String> FAIL = new ReturnT<String>(FAIL_CODE, null);
@@ -19,6 +21,7 @@ public class ReturnT<T> implements Serializable {
 	private int code;
 	private String msg;
 	private T content;
+	private Long retryAfter;		// ms, retry-after hint of OVERLOAD_CODE, null for others
 
 	public ReturnT(){}
 	public ReturnT(int code, String msg) {
@@ -48,6 +51,25 @@ public class ReturnT<T> implements Serializable {
 	public void setContent(T content) {
 		this.content = content;
 	}
+	public Long getRetryAfter() {
+		return retryAfter;
+	}
+	public void setRetryAfter(Long retryAfter) {
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * overloaded, rejected before run
+	 *
+	 * @param msg
+	 * @param retryAfter	ms
+	 * @return
+	 */
+	public static <T> ReturnT<T> overload(String msg, long retryAfter) {
+		ReturnT<T> returnT = new ReturnT<T>(OVERLOAD_CODE, msg);
+		returnT.setRetryAfter(retryAfter);
+		return returnT;
+	}
 
 	@Override
 	public String toString() {
@@ -0,0 +1,268 @@
+package com.xxl.job.core.channel;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.codec.XxlJobCodec;
+import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.ThrowableUtil;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.MessageToMessageCodec;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * invoke over admin-executor channel, multiplexed by requestId
+ *
+ *      codec：request in json until peer reply in prefer codec, then request in prefer codec on this channel, the same as http;
+ *
+ * @author agent 2026-10-18
+ */
+public class ChannelInvoker {
+    private static Logger logger = LoggerFactory.getLogger(ChannelInvoker.class);
+
+    public static final int IDLE_TIMEOUT = 30 * 3;      // second, beat 3N, close if idle
+    private static volatile int maxFrameLength = 256 * 1024 * 1024;     // response of log may be large
+
+    private static final AttributeKey<String> ACCEPT_CODEC = AttributeKey.valueOf("xxl-job-accept-codec");     // prefer codec accepted by peer
+
+    private static AtomicLong requestIdGenerator = new AtomicLong(0);
+    private static ConcurrentMap<Long, PendingRequest> pendingRequestMap = new ConcurrentHashMap<Long, PendingRequest>();
+
+    /**
+     * max frame length, effective for channel connected after it
+     *
+     * @param maxFrameLength    MB, less than 1024
+     */
+    public static void setMaxFrameLength(int maxFrameLength) {
+        if (maxFrameLength > 0) {
+            ChannelInvoker.maxFrameLength = Math.min(maxFrameLength, 1024) * 1024 * 1024;
+        }
+    }
+
+    /**
+     * pipeline of channel, the same for admin and executor
+     */
+    public static void initPipeline(ChannelPipeline pipeline, ChannelHandler handler) {
+        pipeline.addLast(new IdleStateHandler(0, 0, IDLE_TIMEOUT, TimeUnit.SECONDS))
+                .addLast(new LengthFieldBasedFrameDecoder(maxFrameLength, 0, 4, 0, 4))
+                .addLast(new LengthFieldPrepender(4))
+                .addLast(new ChannelMessageCodec())
+                .addLast(handler);
+    }
+
+    /**
+     * invoke, wait for response
+     *
+     * @param channel
+     * @param uri
+     * @param accessToken
+     * @param requestObj
+     * @param returnTargTypeOfT
+     * @param timeout               second
+     * @return
+     */
+    public static ReturnT invoke(Channel channel, String uri, String accessToken, Object requestObj, Type returnTargTypeOfT, int timeout) {
+        long requestId = requestIdGenerator.incrementAndGet();
+        try {
+            // codec, use prefer codec only if peer has accepted it, json by default
+            XxlJobCodec preferCodec = XxlJobRemotingUtil.getCodec();
+            XxlJobCodec codec = (preferCodec!=XxlJobCodec.JSON && preferCodec.name().equals(channel.attr(ACCEPT_CODEC).get()))
+                    ?preferCodec
+                    :XxlJobCodec.JSON;
+            byte[] requestData = (requestObj != null)?codec.encode(requestObj):null;
+
+            Promise<ChannelMessage> promise = channel.eventLoop().newPromise();
+            pendingRequestMap.put(requestId, new PendingRequest(channel, promise));
+
+            // request
+            channel.writeAndFlush(new ChannelMessage(ChannelMessage.TYPE_REQUEST, requestId, uri, accessToken, codec.name(), requestData, preferCodec.name()));
+
+            // response
+            if (!promise.await(timeout * 1000L, TimeUnit.MILLISECONDS)) {
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-rpc remoting timeout("+ timeout +"s), for channel : " + channel.remoteAddress() + ", uri : " + uri);
+            }
+            if (!promise.isSuccess()) {
+                throw (promise.cause() instanceof Exception)?(Exception) promise.cause():new IOException(promise.cause());
+            }
+
+            ChannelMessage response = promise.getNow();
+            XxlJobCodec responseCodec = XxlJobCodec.loadCodecOrJson(response.getCodec());
+
+            // codec negotiate, peer reply in prefer codec means accept it; old version peer reply in request codec
+            if (preferCodec != XxlJobCodec.JSON) {
+                if (responseCodec == preferCodec) {
+                    channel.attr(ACCEPT_CODEC).set(preferCodec.name());
+                } else {
+                    channel.attr(ACCEPT_CODEC).set(null);
+                }
+            }
+            try {
+                return responseCodec.decode(response.getData(), new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{returnTargTypeOfT}));
+            } catch (Exception e) {
+                String resultContent = (response.getData()!=null)?new String(response.getData(), StandardCharsets.UTF_8):null;
+                logger.error("xxl-rpc remoting (channel="+ channel.remoteAddress() +", uri="+ uri +") response content invalid("+ resultContent +").", e);
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-rpc remoting (channel="+ channel.remoteAddress() +", uri="+ uri +") response content invalid("+ resultContent +").");
+            }
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-rpc remoting error("+ e.getMessage() +"), for channel : " + channel.remoteAddress() + ", uri : " + uri);
+        } finally {
+            pendingRequestMap.remove(requestId);
+        }
+    }
+
+    /**
+     * reply request, in accept codec of request if support, otherwise the same codec as request
+     */
+    public static void reply(Channel channel, ChannelMessage request, Object responseObj) {
+        XxlJobCodec codec = XxlJobCodec.loadCodec(request.getAcceptCodec());
+        if (codec == null) {
+            codec = XxlJobCodec.loadCodecOrJson(request.getCodec());
+        }
+        byte[] responseData = null;
+        try {
+            responseData = codec.encode(responseObj);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            codec = XxlJobCodec.JSON;
+            responseData = GsonTool.toJson(new ReturnT<String>(ReturnT.FAIL_CODE, "response encode error:" + ThrowableUtil.toString(e))).getBytes(StandardCharsets.UTF_8);
+        }
+        channel.writeAndFlush(new ChannelMessage(ChannelMessage.TYPE_RESPONSE, request.getRequestId(), null, null, codec.name(), responseData));
+    }
+
+    private static void onResponse(ChannelMessage response) {
+        PendingRequest pendingRequest = pendingRequestMap.get(response.getRequestId());
+        if (pendingRequest != null) {
+            pendingRequest.promise.trySuccess(response);
+        }
+    }
+
+    private static void onClose(Channel channel) {
+        for (Map.Entry<Long, PendingRequest> item: pendingRequestMap.entrySet()) {
+            if (item.getValue().channel == channel) {
+                item.getValue().promise.tryFailure(new IOException("channel closed"));
+            }
+        }
+    }
+
+    private static class PendingRequest {
+        private final Channel channel;
+        private final Promise<ChannelMessage> promise;
+
+        public PendingRequest(Channel channel, Promise<ChannelMessage> promise) {
+            this.channel = channel;
+            this.promise = promise;
+        }
+    }
+
+
+    // ---------------------- handler ----------------------
+
+    private static class ChannelMessageCodec extends MessageToMessageCodec<ByteBuf, ChannelMessage> {
+        @Override
+        protected void encode(ChannelHandlerContext ctx, ChannelMessage msg, List<Object> out) throws Exception {
+            ByteBuf buf = ctx.alloc().buffer();
+            msg.writeTo(buf);
+            out.add(buf);
+        }
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) throws Exception {
+            out.add(ChannelMessage.readFrom(msg));
+        }
+    }
+
+    /**
+     * handler of channel: response complete pending request; request process in biz pool and reply
+     */
+    public static abstract class RequestHandler extends SimpleChannelInboundHandler<ChannelMessage> {
+
+        /**
+         * process request
+         *
+         * @return  response object
+         */
+        protected abstract Object process(Channel channel, ChannelMessage request) throws Exception;
+
+        /**
+         * execute process in biz pool, never block io thread
+         */
+        protected abstract void execute(Runnable runnable);
+
+        @Override
+        protected void channelRead0(final ChannelHandlerContext ctx, final ChannelMessage msg) throws Exception {
+            if (msg.getType() == ChannelMessage.TYPE_RESPONSE) {
+                onResponse(msg);
+                return;
+            }
+
+            try {
+                execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        Object responseObj = null;
+                        try {
+                            responseObj = process(ctx.channel(), msg);
+                        } catch (Exception e) {
+                            logger.error(e.getMessage(), e);
+                            responseObj = new ReturnT<String>(ReturnT.FAIL_CODE, "request error:" + ThrowableUtil.toString(e));
+                        }
+                        reply(ctx.channel(), msg, responseObj);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // biz pool exhausted, reply overload and keep channel
+                logger.warn(">>>>>>>>>>> xxl-job channel overloaded, reject request, uri:{}", msg.getUri());
+                reply(ctx.channel(), msg, ReturnT.overload("xxl-job channel overloaded, " + e.getMessage(), ReturnT.OVERLOAD_RETRY_AFTER));
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+                reply(ctx.channel(), msg, new ReturnT<String>(ReturnT.FAIL_CODE, "request error:" + e.getMessage()));
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            onClose(ctx.channel());
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            logger.error(">>>>>>>>>>> xxl-job channel caught exception", cause);
+            ctx.close();
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                ctx.channel().close();      // beat 3N, close if idle
+                logger.debug(">>>>>>>>>>> xxl-job channel close an idle channel.");
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.xxl.job.core.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+
+/**
+ * message of admin-executor channel, request and response correlated by requestId
+ *
+ *      frame：type(1) + requestId(8) + uri + accessToken + codec + data + acceptCodec; string/data = length(4, -1 means null) + bytes;
+ *      new field append to the end, read only if present, so frame of old version still work;
+ *
+ * @author agent 2026-10-18
+ */
+public class ChannelMessage {
+
+    public static final byte TYPE_REQUEST = 1;
+    public static final byte TYPE_RESPONSE = 2;
+
+    private byte type;
+    private long requestId;
+    private String uri;             // request only, such as "run"、"callback"
+    private String accessToken;     // request only
+    private String codec;           // codec of data
+    private byte[] data;
+    private String acceptCodec;     // request only, codec prefer by requester for response, the same as header "XXL-JOB-ACCEPT-CODEC"
+
+    public ChannelMessage() {
+    }
+    public ChannelMessage(byte type, long requestId, String uri, String accessToken, String codec, byte[] data) {
+        this(type, requestId, uri, accessToken, codec, data, null);
+    }
+    public ChannelMessage(byte type, long requestId, String uri, String accessToken, String codec, byte[] data, String acceptCodec) {
+        this.type = type;
+        this.requestId = requestId;
+        this.uri = uri;
+        this.accessToken = accessToken;
+        this.codec = codec;
+        this.data = data;
+        this.acceptCodec = acceptCodec;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public void setType(byte type) {
+        this.type = type;
+    }
+
+    public long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(long requestId) {
+        this.requestId = requestId;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public String getAcceptCodec() {
+        return acceptCodec;
+    }
+
+    public void setAcceptCodec(String acceptCodec) {
+        this.acceptCodec = acceptCodec;
+    }
+
+
+    // ---------------------- frame ----------------------
+
+    public void writeTo(ByteBuf out) {
+        out.writeByte(type);
+        out.writeLong(requestId);
+        writeBytes(out, uri!=null?uri.getBytes(CharsetUtil.UTF_8):null);
+        writeBytes(out, accessToken!=null?accessToken.getBytes(CharsetUtil.UTF_8):null);
+        writeBytes(out, codec!=null?codec.getBytes(CharsetUtil.UTF_8):null);
+        writeBytes(out, data);
+        writeBytes(out, acceptCodec!=null?acceptCodec.getBytes(CharsetUtil.UTF_8):null);
+    }
+
+    public static ChannelMessage readFrom(ByteBuf in) {
+        ChannelMessage message = new ChannelMessage();
+        message.type = in.readByte();
+        message.requestId = in.readLong();
+        message.uri = readString(in);
+        message.accessToken = readString(in);
+        message.codec = readString(in);
+        message.data = readBytes(in);
+        message.acceptCodec = in.isReadable()?readString(in):null;
+        return message;
+    }
+
+    private static void writeBytes(ByteBuf out, byte[] bytes) {
+        if (bytes == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuf in) {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readBytes(bytes);
+        return bytes;
+    }
+
+    private static String readString(ByteBuf in) {
+        byte[] bytes = readBytes(in);
+        return bytes!=null?new String(bytes, CharsetUtil.UTF_8):null;
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelMessage{" +
+                "type=" + type +
+                ", requestId=" + requestId +
+                ", uri='" + uri + '\'' +
+                ", codec='" + codec + '\'' +
+                ", acceptCodec='" + acceptCodec + '\'' +
+                '}';
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.xxl.job.core.channel;
+
+import com.xxl.job.core.biz.AdminBiz;
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.client.AdminBizClient;
+import com.xxl.job.core.biz.impl.ExecutorBizImpl;
+import com.xxl.job.core.biz.model.HandleCallbackParam;
+import com.xxl.job.core.biz.model.RegistryParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.codec.XxlJobCodec;
+import com.xxl.job.core.server.EmbedServer;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * executor side of admin-executor channel, one long-lived connection to each admin node, initiated by executor
+ *
+ *      a、admin → executor：run、kill、log ... pushed over channel, no inbound connection to executor, work behind NAT;
+ *      b、executor → admin：callback、registry beat over channel; fallback to http if channel not connected;
+ *      c、bind：executor address bound to the channel of each admin node, on connect and on each registry beat, whichever admin the registry sent to;
+ *      d、reconnect：reconnect after close, and bind at once;
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorChannelClient implements AdminBiz {
+    private static Logger logger = LoggerFactory.getLogger(ExecutorChannelClient.class);
+
+    private static final int RECONNECT_INTERVAL = 5;    // second
+
+    private static ThreadPoolExecutor bizThreadPool = new ThreadPoolExecutor(
+            0,
+            200,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(2000),
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "xxl-job, executor ExecutorChannelClient-bizThreadPool-" + r.hashCode());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            },
+            new RejectedExecutionHandler() {
+                @Override
+                public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                    throw new RejectedExecutionException("xxl-job, ExecutorChannelClient bizThreadPool is EXHAUSTED!");
+                }
+            });
+
+    private final String host;
+    private final int port;
+    private final String accessToken;
+    private final int timeout = 3;
+    private final AdminBizClient httpAdminBiz;
+    private final ExecutorBiz executorBiz = new ExecutorBizImpl();
+
+    private EventLoopGroup workerGroup;
+    private Bootstrap bootstrap;
+    private volatile Channel channel;
+    private volatile RegistryParam registryParam;
+    private volatile boolean toStop = false;
+
+    /**
+     * @param adminAddress      admin address, such as "http://127.0.0.1:8080/xxl-job-admin/"
+     * @param accessToken
+     * @param channelPort       channel port of admin
+     */
+    public ExecutorChannelClient(String adminAddress, String accessToken, int channelPort) throws Exception {
+        this.host = new URI(adminAddress.trim()).getHost();
+        this.port = channelPort;
+        this.accessToken = accessToken;
+        this.httpAdminBiz = new AdminBizClient(adminAddress.trim(), accessToken);
+    }
+
+    public void start() {
+        workerGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("xxl-job, executor ExecutorChannelClient", true));
+        bootstrap = new Bootstrap()
+                .group(workerGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout * 1000)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(SocketChannel channel) throws Exception {
+                        ChannelInvoker.initPipeline(channel.pipeline(), new ExecutorChannelHandler());
+                    }
+                });
+        connect();
+    }
+
+    public void toStop() {
+        toStop = true;
+        Channel channel = this.channel;
+        if (channel != null) {
+            channel.close();
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS);
+        }
+    }
+
+    private void connect() {
+        if (toStop) {
+            return;
+        }
+        bootstrap.connect(host, port).addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                if (!future.isSuccess()) {
+                    logger.warn(">>>>>>>>>>> xxl-job channel connect fail, admin {}:{}, reconnect after {}s. {}", host, port, RECONNECT_INTERVAL, future.cause().getMessage());
+                    scheduleReconnect();
+                    return;
+                }
+
+                channel = future.channel();
+                logger.info(">>>>>>>>>>> xxl-job channel connect success, admin {}:{}", host, port);
+                channel.closeFuture().addListener(new ChannelFutureListener() {
+                    @Override
+                    public void operationComplete(ChannelFuture future) throws Exception {
+                        channel = null;
+                        logger.warn(">>>>>>>>>>> xxl-job channel closed, admin {}:{}, reconnect after {}s.", host, port, RECONNECT_INTERVAL);
+                        scheduleReconnect();
+                    }
+                });
+
+                // bind at once, admin bind channel to executor address
+                final RegistryParam registryParam = ExecutorChannelClient.this.registryParam;
+                if (registryParam != null) {
+                    bizThreadPool.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            bind(registryParam);
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    private void scheduleReconnect() {
+        if (toStop) {
+            return;
+        }
+        workerGroup.schedule(new Runnable() {
+            @Override
+            public void run() {
+                connect();
+            }
+        }, RECONNECT_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * bind executor address to the channel of this admin node, without registry; bind again after reconnect
+     *
+     * @param registryParam
+     * @return  fail if channel not connected
+     */
+    public ReturnT<String> bind(RegistryParam registryParam) {
+        this.registryParam = registryParam;
+
+        Channel channel = activeChannel();
+        if (channel == null) {
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "channel not connected, admin " + host + ":" + port);
+        }
+        ReturnT<String> bindResult = ChannelInvoker.invoke(channel, "bind", accessToken, registryParam, String.class, timeout);
+        if (bindResult==null || bindResult.getCode()!=ReturnT.SUCCESS_CODE) {
+            logger.info(">>>>>>>>>>> xxl-job channel bind fail, admin {}:{}, bindResult:{}", host, port, bindResult);
+        }
+        return bindResult;
+    }
+
+    public boolean isConnected() {
+        return activeChannel() != null;
+    }
+
+    private Channel activeChannel() {
+        Channel channel = this.channel;
+        return (channel!=null && channel.isActive())?channel:null;
+    }
+
+
+    // ---------------------- admin biz ----------------------
+
+    @Override
+    public ReturnT<String> callback(List<HandleCallbackParam> callbackParamList) {
+        Channel channel = activeChannel();
+        if (channel == null) {
+            return httpAdminBiz.callback(callbackParamList);
+        }
+        return ChannelInvoker.invoke(channel, "callback", accessToken, callbackParamList, String.class, timeout);
+    }
+
+    @Override
+    public ReturnT<String> registry(RegistryParam registryParam) {
+        this.registryParam = registryParam;
+
+        Channel channel = activeChannel();
+        if (channel == null) {
+            return httpAdminBiz.registry(registryParam);
+        }
+        return ChannelInvoker.invoke(channel, "registry", accessToken, registryParam, String.class, timeout);
+    }
+
+    @Override
+    public ReturnT<String> registryRemove(RegistryParam registryParam) {
+        this.registryParam = null;
+
+        Channel channel = activeChannel();
+        if (channel == null) {
+            return httpAdminBiz.registryRemove(registryParam);
+        }
+        return ChannelInvoker.invoke(channel, "registryRemove", accessToken, registryParam, String.class, timeout);
+    }
+
+
+    // ---------------------- executor biz ----------------------
+
+    private class ExecutorChannelHandler extends ChannelInvoker.RequestHandler {
+
+        @Override
+        protected Object process(Channel channel, ChannelMessage request) throws Exception {
+            if (accessToken!=null
+                    && accessToken.trim().length()>0
+                    && !accessToken.equals(request.getAccessToken())) {
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "The access token is wrong.");
+            }
+            ByteBuf requestData = (request.getData()!=null)?Unpooled.wrappedBuffer(request.getData()):Unpooled.EMPTY_BUFFER;
+            return EmbedServer.invoke(executorBiz, request.getUri(), requestData, XxlJobCodec.loadCodecOrJson(request.getCodec()));
+        }
+
+        @Override
+        protected void execute(Runnable runnable) {
+            bizThreadPool.execute(runnable);
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.xxl.job.core.codec;
+
+import com.xxl.job.core.codec.impl.BinaryCodec;
+import com.xxl.job.core.codec.impl.JsonCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * codec of rpc payload, negotiated by header "XXL-JOB-CODEC" and "XXL-JOB-ACCEPT-CODEC"
+ *
+ *      a、json：default, compatible with all version;
+ *      b、binary：compact binary, for hot message type, such as TriggerParam、HandleCallbackParam、RegistryParam;
+ *      c、spi：custom codec, regist by "XxlJobCodec.registCodec", or "META-INF/services/com.xxl.job.core.codec.XxlJobCodec";
+ *
+ * @author agent 2026-10-18
+ */
+public abstract class XxlJobCodec {
+    private static Logger logger = LoggerFactory.getLogger(XxlJobCodec.class);
+
+    /**
+     * codec name, value of header "XXL-JOB-CODEC"
+     */
+    public abstract String name();
+
+    /**
+     * content type of http body
+     */
+    public abstract String contentType();
+
+    /**
+     * encode
+     *
+     * @param obj
+     * @return
+     */
+    public abstract byte[] encode(Object obj) throws Exception;
+
+    /**
+     * decode
+     *
+     * @param data
+     * @param type      full type, such as "ReturnT<String>", "List<HandleCallbackParam>"
+     * @return
+     */
+    public abstract <T> T decode(byte[] data, Type type) throws Exception;
+
+    /**
+     * encode into buffer, such as pooled direct buffer of netty; encode to bytes then copy by default
+     *
+     * @param obj
+     * @param out
+     */
+    public void encode(Object obj, ByteBuf out) throws Exception {
+        out.writeBytes(encode(obj));
+    }
+
+    /**
+     * decode from buffer, readable bytes only, buffer not released; copy to bytes then decode by default
+     *
+     * @param data
+     * @param type
+     * @return
+     */
+    public <T> T decode(ByteBuf data, Type type) throws Exception {
+        return decode(ByteBufUtil.getBytes(data), type);
+    }
+
+
+    // ---------------------- codec repository ----------------------
+
+    public static final XxlJobCodec JSON = new JsonCodec();
+    public static final XxlJobCodec BINARY = new BinaryCodec();
+
+    private static ConcurrentMap<String, XxlJobCodec> codecRepository = new ConcurrentHashMap<String, XxlJobCodec>();
+    static {
+        registCodec(JSON);
+        registCodec(BINARY);
+
+        // spi
+        try {
+            Iterator<XxlJobCodec> iterator = ServiceLoader.load(XxlJobCodec.class).iterator();
+            while (iterator.hasNext()) {
+                registCodec(iterator.next());
+            }
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> xxl-job codec spi load error.", e);
+        }
+    }
+
+    public static void registCodec(XxlJobCodec codec) {
+        logger.info(">>>>>>>>>>> xxl-job register codec success, name:{}, codec:{}", codec.name(), codec);
+        codecRepository.put(codec.name(), codec);
+    }
+
+    /**
+     * load codec by name
+     *
+     * @param name
+     * @return  codec, null if not found
+     */
+    public static XxlJobCodec loadCodec(String name) {
+        if (name==null || name.trim().length()==0) {
+            return null;
+        }
+        return codecRepository.get(name.trim());
+    }
+
+    /**
+     * load codec by name, json if not found; for codec of body, absent header means json
+     *
+     * @param name
+     * @return
+     */
+    public static XxlJobCodec loadCodecOrJson(String name) {
+        XxlJobCodec codec = loadCodec(name);
+        return codec!=null?codec:JSON;
+    }
+
+}
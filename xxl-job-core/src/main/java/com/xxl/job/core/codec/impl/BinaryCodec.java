@@ -0,0 +1,409 @@
+package com.xxl.job.core.codec.impl;
+
+import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.codec.XxlJobCodec;
+import com.xxl.job.core.util.GsonTool;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * compact binary codec, no reflection
+ *
+ *      a、format：version(1 byte) + value; value = tag(1 byte) + body;
+ *      b、message：hot type body = length(4 byte) + message version(varint) + fields in fixed order;
+ *      c、number：zigzag varint; string：varint length+1 (0 means null) + utf-8 bytes;
+ *      d、hot type：ReturnT、TriggerParam、HandleCallbackParam、RegistryParam、LogResult, framed as message; String、List;
+ *      e、other type：tag "json", body in json, decode by the expected type;
+ *
+ *      field order is the protocol, new field of message must append to the end and bump version of the message;
+ *      reader read new field only if message version not less than the version adding it, and skip unknown trailing fields of newer version by length;
+ *
+ * @author agent 2026-10-18
+ */
+public class BinaryCodec extends XxlJobCodec {
+
+    private static final byte VERSION = 2;      // format version, message evolve by message version, not by it
+
+    // message version, of each hot type
+    private static final int RETURN_T_VERSION = 1;
+    private static final int TRIGGER_PARAM_VERSION = 1;
+    private static final int CALLBACK_PARAM_VERSION = 1;
+    private static final int REGISTRY_PARAM_VERSION = 1;
+    private static final int LOG_RESULT_VERSION = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_JSON = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_LIST = 3;
+    private static final byte TAG_RETURN_T = 4;
+    private static final byte TAG_TRIGGER_PARAM = 5;
+    private static final byte TAG_CALLBACK_PARAM = 6;
+    private static final byte TAG_REGISTRY_PARAM = 7;
+    private static final byte TAG_LOG_RESULT = 8;
+
+    @Override
+    public String name() {
+        return "binary";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/octet-stream";
+    }
+
+    @Override
+    public byte[] encode(Object obj) throws Exception {
+        ByteBuf out = Unpooled.buffer(256);
+        encode(obj, out);
+        return ByteBufUtil.getBytes(out);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Type type) throws Exception {
+        if (data==null || data.length==0) {
+            return null;
+        }
+        return decode(Unpooled.wrappedBuffer(data), type);
+    }
+
+    @Override
+    public void encode(Object obj, ByteBuf out) throws Exception {
+        Output output = new Output(out);
+        output.writeByte(VERSION);
+        writeValue(output, obj);
+    }
+
+    @Override
+    public <T> T decode(ByteBuf data, Type type) throws Exception {
+        if (data==null || !data.isReadable()) {
+            return null;
+        }
+        Input in = new Input(data);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("xxl-job binary codec version("+ version +") not support.");
+        }
+        return (T) readValue(in, type);
+    }
+
+
+    // ---------------------- value ----------------------
+
+    private static void writeValue(Output out, Object obj) {
+        if (obj == null) {
+            out.writeByte(TAG_NULL);
+        } else if (obj instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeString((String) obj);
+        } else if (obj instanceof List) {
+            List<?> list = (List<?>) obj;
+            out.writeByte(TAG_LIST);
+            out.writeVarInt(list.size());
+            for (Object item: list) {
+                writeValue(out, item);
+            }
+        } else if (obj instanceof ReturnT) {
+            ReturnT<?> returnT = (ReturnT<?>) obj;
+            int lengthIndex = out.beginMessage(TAG_RETURN_T, RETURN_T_VERSION);
+            out.writeVarInt(returnT.getCode());
+            out.writeString(returnT.getMsg());
+            writeValue(out, returnT.getContent());
+            out.writeBoolean(returnT.getRetryAfter() != null);
+            if (returnT.getRetryAfter() != null) {
+                out.writeVarLong(returnT.getRetryAfter());
+            }
+            out.endMessage(lengthIndex);
+        } else if (obj instanceof TriggerParam) {
+            int lengthIndex = out.beginMessage(TAG_TRIGGER_PARAM, TRIGGER_PARAM_VERSION);
+            writeTriggerParam(out, (TriggerParam) obj);
+            out.endMessage(lengthIndex);
+        } else if (obj instanceof HandleCallbackParam) {
+            HandleCallbackParam callbackParam = (HandleCallbackParam) obj;
+            int lengthIndex = out.beginMessage(TAG_CALLBACK_PARAM, CALLBACK_PARAM_VERSION);
+            out.writeVarLong(callbackParam.getLogId());
+            out.writeVarLong(callbackParam.getLogDateTim());
+            writeValue(out, callbackParam.getExecuteResult());
+            out.endMessage(lengthIndex);
+        } else if (obj instanceof RegistryParam) {
+            int lengthIndex = out.beginMessage(TAG_REGISTRY_PARAM, REGISTRY_PARAM_VERSION);
+            writeRegistryParam(out, (RegistryParam) obj);
+            out.endMessage(lengthIndex);
+        } else if (obj instanceof LogResult) {
+            LogResult logResult = (LogResult) obj;
+            int lengthIndex = out.beginMessage(TAG_LOG_RESULT, LOG_RESULT_VERSION);
+            out.writeVarInt(logResult.getFromLineNum());
+            out.writeVarInt(logResult.getToLineNum());
+            out.writeString(logResult.getLogContent());
+            out.writeBoolean(logResult.isEnd());
+            out.endMessage(lengthIndex);
+        } else {
+            out.writeByte(TAG_JSON);
+            out.writeString(GsonTool.toJson(obj));
+        }
+    }
+
+    private static Object readValue(Input in, Type type) {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_JSON:
+                return GsonTool.fromJson(in.readString(), type);
+            case TAG_STRING:
+                return in.readString();
+            case TAG_LIST: {
+                Type itemType = typeArgument(type);
+                int size = in.readVarInt();
+                List<Object> list = new ArrayList<Object>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, itemType));
+                }
+                return list;
+            }
+            case TAG_RETURN_T: {
+                Input message = in.readMessage();       // fields of version 1, the rest (newer version) skipped
+                ReturnT<Object> returnT = new ReturnT<Object>();
+                returnT.setCode(message.readVarInt());
+                returnT.setMsg(message.readString());
+                returnT.setContent(readValue(message, typeArgument(type)));
+                if (message.readBoolean()) {
+                    returnT.setRetryAfter(message.readVarLong());
+                }
+                return returnT;
+            }
+            case TAG_TRIGGER_PARAM:
+                return readTriggerParam(in.readMessage());
+            case TAG_CALLBACK_PARAM: {
+                Input message = in.readMessage();
+                HandleCallbackParam callbackParam = new HandleCallbackParam();
+                callbackParam.setLogId(message.readVarLong());
+                callbackParam.setLogDateTim(message.readVarLong());
+                callbackParam.setExecuteResult((ReturnT<String>) readValue(message, String.class));
+                return callbackParam;
+            }
+            case TAG_REGISTRY_PARAM:
+                return readRegistryParam(in.readMessage());
+            case TAG_LOG_RESULT: {
+                Input message = in.readMessage();
+                LogResult logResult = new LogResult();
+                logResult.setFromLineNum(message.readVarInt());
+                logResult.setToLineNum(message.readVarInt());
+                logResult.setLogContent(message.readString());
+                logResult.setEnd(message.readBoolean());
+                return logResult;
+            }
+            default:
+                throw new IllegalArgumentException("xxl-job binary codec tag("+ tag +") not support.");
+        }
+    }
+
+    private static Type typeArgument(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+            if (args.length > 0) {
+                return args[0];
+            }
+        }
+        return Object.class;
+    }
+
+    private static void writeTriggerParam(Output out, TriggerParam triggerParam) {
+        out.writeVarInt(triggerParam.getJobId());
+        out.writeString(triggerParam.getExecutorHandler());
+        out.writeString(triggerParam.getExecutorParams());
+        out.writeString(triggerParam.getExecutorBlockStrategy());
+        out.writeVarInt(triggerParam.getExecutorTimeout());
+        out.writeVarLong(triggerParam.getLogId());
+        out.writeVarLong(triggerParam.getLogDateTime());
+        out.writeString(triggerParam.getGlueType());
+        out.writeString(triggerParam.getGlueSource());
+        out.writeVarLong(triggerParam.getGlueUpdatetime());
+        out.writeVarInt(triggerParam.getBroadcastIndex());
+        out.writeVarInt(triggerParam.getBroadcastTotal());
+    }
+
+    private static TriggerParam readTriggerParam(Input in) {
+        TriggerParam triggerParam = new TriggerParam();
+        triggerParam.setJobId(in.readVarInt());
+        triggerParam.setExecutorHandler(in.readString());
+        triggerParam.setExecutorParams(in.readString());
+        triggerParam.setExecutorBlockStrategy(in.readString());
+        triggerParam.setExecutorTimeout(in.readVarInt());
+        triggerParam.setLogId(in.readVarLong());
+        triggerParam.setLogDateTime(in.readVarLong());
+        triggerParam.setGlueType(in.readString());
+        triggerParam.setGlueSource(in.readString());
+        triggerParam.setGlueUpdatetime(in.readVarLong());
+        triggerParam.setBroadcastIndex(in.readVarInt());
+        triggerParam.setBroadcastTotal(in.readVarInt());
+        return triggerParam;
+    }
+
+    private static void writeRegistryParam(Output out, RegistryParam registryParam) {
+        out.writeString(registryParam.getRegistryGroup());
+        out.writeString(registryParam.getRegistryKey());
+        out.writeString(registryParam.getRegistryValue());
+        out.writeVarInt(registryParam.getWeight());
+
+        ExecutorLoad load = registryParam.getLoad();
+        out.writeBoolean(load != null);
+        if (load != null) {
+            out.writeVarInt(load.getRunningJobThreads());
+            out.writeVarInt(load.getQueuedTriggers());
+            out.writeVarInt(load.getBizQueueSize());
+            out.writeVarLong(Double.doubleToLongBits(load.getCpuLoad()));
+        }
+    }
+
+    private static RegistryParam readRegistryParam(Input in) {
+        RegistryParam registryParam = new RegistryParam();
+        registryParam.setRegistryGroup(in.readString());
+        registryParam.setRegistryKey(in.readString());
+        registryParam.setRegistryValue(in.readString());
+        registryParam.setWeight(in.readVarInt());
+
+        if (in.readBoolean()) {
+            ExecutorLoad load = new ExecutorLoad();
+            load.setRunningJobThreads(in.readVarInt());
+            load.setQueuedTriggers(in.readVarInt());
+            load.setBizQueueSize(in.readVarInt());
+            load.setCpuLoad(Double.longBitsToDouble(in.readVarLong()));
+            registryParam.setLoad(load);
+        }
+        return registryParam;
+    }
+
+
+    // ---------------------- io ----------------------
+
+    private static class Output {
+        private final ByteBuf buf;
+
+        public Output(ByteBuf buf) {
+            this.buf = buf;
+        }
+
+        public void writeByte(int b) {
+            buf.writeByte(b);
+        }
+
+        /**
+         * tag + length placeholder + message version
+         *
+         * @return  index of length, to end message
+         */
+        public int beginMessage(byte tag, int messageVersion) {
+            writeByte(tag);
+            int lengthIndex = buf.writerIndex();
+            buf.writeInt(0);
+            writeVarInt(messageVersion);
+            return lengthIndex;
+        }
+
+        public void endMessage(int lengthIndex) {
+            buf.setInt(lengthIndex, buf.writerIndex() - lengthIndex - 4);
+        }
+
+        public void writeBoolean(boolean b) {
+            writeByte(b?1:0);
+        }
+
+        public void writeVarInt(int value) {
+            writeVarLong(value);
+        }
+
+        public void writeVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                buf.writeByte((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            buf.writeByte((int) zigzag);
+        }
+
+        public void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            // utf-8 write into buffer directly, no temp bytes
+            writeVarInt(ByteBufUtil.utf8Bytes(value) + 1);
+            ByteBufUtil.writeUtf8(buf, value);
+        }
+    }
+
+    private static class Input {
+        private final ByteBuf buf;
+        private int messageVersion;     // version of message, for field added after version 1
+
+        public Input(ByteBuf buf) {
+            this.buf = buf;
+        }
+
+        public byte readByte() {
+            if (!buf.isReadable()) {
+                throw new IllegalArgumentException("xxl-job binary codec data incomplete.");
+            }
+            return buf.readByte();
+        }
+
+        /**
+         * message body after tag, skip the whole message from this input, unknown trailing fields included
+         *
+         * @return  input of message fields, message version read already
+         */
+        public Input readMessage() {
+            if (buf.readableBytes() < 4) {
+                throw new IllegalArgumentException("xxl-job binary codec data incomplete.");
+            }
+            int length = buf.readInt();
+            if (length < 0 || length > buf.readableBytes()) {
+                throw new IllegalArgumentException("xxl-job binary codec data incomplete.");
+            }
+            Input message = new Input(buf.readSlice(length));
+            message.messageVersion = message.readVarInt();
+            return message;
+        }
+
+        public boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        public int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        public long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("xxl-job binary codec varint malformed.");
+        }
+
+        public String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > buf.readableBytes()) {
+                throw new IllegalArgumentException("xxl-job binary codec data incomplete.");
+            }
+            String value = buf.toString(buf.readerIndex(), length, CharsetUtil.UTF_8);
+            buf.skipBytes(length);
+            return value;
+        }
+    }
+
+}
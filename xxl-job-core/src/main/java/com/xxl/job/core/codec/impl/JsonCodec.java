@@ -0,0 +1,66 @@
+package com.xxl.job.core.codec.impl;
+
+import com.xxl.job.core.codec.XxlJobCodec;
+import com.xxl.job.core.util.GsonTool;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * json codec, base on gson
+ *
+ * @author agent 2026-10-18
+ */
+public class JsonCodec extends XxlJobCodec {
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/json;charset=UTF-8";
+    }
+
+    @Override
+    public byte[] encode(Object obj) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        GsonTool.toJson(obj, writer);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Type type) throws Exception {
+        if (data==null || data.length==0) {
+            return null;
+        }
+        return GsonTool.fromJson(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8), type);
+    }
+
+    @Override
+    public void encode(Object obj, ByteBuf out) throws Exception {
+        Writer writer = new OutputStreamWriter(new ByteBufOutputStream(out), StandardCharsets.UTF_8);
+        GsonTool.toJson(obj, writer);
+        writer.flush();
+    }
+
+    @Override
+    public <T> T decode(ByteBuf data, Type type) throws Exception {
+        if (data==null || !data.isReadable()) {
+            return null;
+        }
+        return GsonTool.fromJson(new InputStreamReader(new ByteBufInputStream(data), StandardCharsets.UTF_8), type);
+    }
+
+}
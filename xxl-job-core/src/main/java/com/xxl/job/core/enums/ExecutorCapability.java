@@ -0,0 +1,27 @@
+package com.xxl.job.core.enums;
+
+/**
+ * capabilities of executor, advertised by content of "beat" result, split by ","; old executor advertise nothing
+ *
+ * @author agent 2026-10-18
+ */
+public class ExecutorCapability {
+
+    public static final String RUN_BATCH = "runBatch";
+
+    // all capabilities of current executor
+    public static final String ALL = RUN_BATCH;
+
+    public static boolean contains(String capabilities, String capability) {
+        if (capabilities==null || capabilities.trim().length()==0) {
+            return false;
+        }
+        for (String item: capabilities.split(",")) {
+            if (item.trim().equals(capability)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
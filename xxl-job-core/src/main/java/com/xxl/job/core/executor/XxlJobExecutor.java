@@ -2,22 +2,29 @@ package com.xxl.job.core.executor;
 
 import com.xxl.job.core.biz.AdminBiz;
 import com.xxl.job.core.biz.client.AdminBizClient;
+import com.xxl.job.core.channel.ExecutorChannelClient;
 import com.xxl.job.core.handler.IJobHandler;
 import com.xxl.job.core.log.XxlJobFileAppender;
 import com.xxl.job.core.server.EmbedServer;
 import com.xxl.job.core.thread.JobLogFileCleanThread;
 import com.xxl.job.core.thread.JobThread;
+import com.xxl.job.core.thread.JobTimeoutTimer;
+import com.xxl.job.core.thread.JobWorkerPool;
 import com.xxl.job.core.thread.TriggerCallbackThread;
 import com.xxl.job.core.util.IpUtil;
 import com.xxl.job.core.util.NetUtil;
+import com.xxl.job.core.util.XxlJobHttpClient;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by xuxueli on 2016/3/2 21:14.
@@ -25,6 +32,8 @@ import java.util.concurrent.ConcurrentMap;
 public class XxlJobExecutor  {
     private static final Logger logger = LoggerFactory.getLogger(XxlJobExecutor.class);
 
+    private static final long JOB_THREAD_STOP_TIMEOUT = 30 * 1000;     // ms, max wait for all job thread stopped when destroy
+
     // ---------------------- param ----------------------
     private String adminAddresses;
     private String accessToken;
@@ -34,6 +43,14 @@ public class XxlJobExecutor  {
     private int port;
     private String logPath;
     private int logRetentionDays;
+    private int weight = 1;
+    private String codec;
+    private int adminChannelPort;
+    private int jobQueueMax;
+    private int workerMax;
+    private boolean virtualThread;
+    private int jobParallelMax;
+    private boolean callbackFsync = true;
 
     public void setAdminAddresses(String adminAddresses) {
         this.adminAddresses = adminAddresses;
@@ -59,6 +76,30 @@ public class XxlJobExecutor  {
     public void setLogRetentionDays(int logRetentionDays) {
         this.logRetentionDays = logRetentionDays;
     }
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+    public void setAdminChannelPort(int adminChannelPort) {
+        this.adminChannelPort = adminChannelPort;
+    }
+    public void setJobQueueMax(int jobQueueMax) {
+        this.jobQueueMax = jobQueueMax;
+    }
+    public void setWorkerMax(int workerMax) {
+        this.workerMax = workerMax;
+    }
+    public void setVirtualThread(boolean virtualThread) {
+        this.virtualThread = virtualThread;
+    }
+    public void setJobParallelMax(int jobParallelMax) {
+        this.jobParallelMax = jobParallelMax;
+    }
+    public void setCallbackFsync(boolean callbackFsync) {
+        this.callbackFsync = callbackFsync;
+    }
 
 
     // ---------------------- start + stop ----------------------
@@ -68,39 +109,60 @@ public class XxlJobExecutor  {
         XxlJobFileAppender.initLogPath(logPath);
 
         // init invoker, admin-client
-        initAdminBizList(adminAddresses, accessToken);
+        initAdminBizList(adminAddresses, accessToken, adminChannelPort);
+        if (codec!=null && codec.trim().length()>0) {
+            XxlJobRemotingUtil.setCodec(codec);
+        }
+
+
+        // init max queued trigger of each job
+        JobThread.setTriggerQueueMax(jobQueueMax);
 
+        // init max concurrent trigger of each job, for block strategy "PARALLEL"
+        JobThread.setParallelMax(jobParallelMax);
+
+        // init max worker of shared job worker pool
+        JobWorkerPool.setWorkerMax(workerMax);
+        JobWorkerPool.setVirtualThread(virtualThread);
 
         // init JobLogFileCleanThread
         JobLogFileCleanThread.getInstance().start(logRetentionDays);
 
         // init TriggerCallbackThread
-        TriggerCallbackThread.getInstance().start();
+        TriggerCallbackThread.getInstance().start(callbackFsync);
 
         // init executor-server
-        initEmbedServer(address, ip, port, appname, accessToken);
+        initEmbedServer(address, ip, port, appname, accessToken, weight);
     }
     public void destroy(){
         // destory executor-server
         stopEmbedServer();
 
-        // destory jobThreadRepository
+        // destory jobThreadRepository, stop all first, then wait together
         if (jobThreadRepository.size() > 0) {
+            List<JobThread> oldJobThreadList = new ArrayList<JobThread>();
             for (Map.Entry<Integer, JobThread> item: jobThreadRepository.entrySet()) {
                 JobThread oldJobThread = removeJobThread(item.getKey(), "web container destroy and kill the job.");
-                // wait for job thread push result to callback queue
                 if (oldJobThread != null) {
-                    try {
-                        oldJobThread.join();
-                    } catch (InterruptedException e) {
-                        logger.error(">>>>>>>>>>> xxl-job, JobThread destroy(join) error, jobId:{}", item.getKey(), e);
-                    }
+                    oldJobThreadList.add(oldJobThread);
+                }
+            }
+            // wait for job thread push result to callback queue, bounded, not block destroy by handler not response to interrupt
+            long deadline = System.currentTimeMillis() + JOB_THREAD_STOP_TIMEOUT;
+            for (JobThread oldJobThread: oldJobThreadList) {
+                try {
+                    oldJobThread.join(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    logger.error(">>>>>>>>>>> xxl-job, JobThread destroy(join) error, jobId:{}", oldJobThread.getJobId(), e);
                 }
             }
             jobThreadRepository.clear();
         }
         jobHandlerRepository.clear();
 
+        // destory JobWorkerPool, after job thread stopped
+        JobWorkerPool.stop();
+        JobTimeoutTimer.stop();
 
         // destory JobLogFileCleanThread
         JobLogFileCleanThread.getInstance().toStop();
@@ -108,17 +170,31 @@ public class XxlJobExecutor  {
         // destory TriggerCallbackThread
         TriggerCallbackThread.getInstance().toStop();
 
+        // destory admin-client channel
+        stopAdminChannel();
+
+        // destory admin-client connections
+        XxlJobHttpClient.stop();
+
     }
 
 
     // ---------------------- admin-client (rpc invoker) ----------------------
     private static List<AdminBiz> adminBizList;
-    private void initAdminBizList(String adminAddresses, String accessToken) throws Exception {
+    private void initAdminBizList(String adminAddresses, String accessToken, int adminChannelPort) throws Exception {
         if (adminAddresses!=null && adminAddresses.trim().length()>0) {
             for (String address: adminAddresses.trim().split(",")) {
                 if (address!=null && address.trim().length()>0) {
 
-                    AdminBiz adminBiz = new AdminBizClient(address.trim(), accessToken);
+                    AdminBiz adminBiz = null;
+                    if (adminChannelPort > 0) {
+                        // channel mode, long-lived connection to admin, initiated by executor
+                        ExecutorChannelClient channelClient = new ExecutorChannelClient(address.trim(), accessToken, adminChannelPort);
+                        channelClient.start();
+                        adminBiz = channelClient;
+                    } else {
+                        adminBiz = new AdminBizClient(address.trim(), accessToken);
+                    }
 
                     if (adminBizList == null) {
                         adminBizList = new ArrayList<AdminBiz>();
@@ -131,11 +207,20 @@ public class XxlJobExecutor  {
     public static List<AdminBiz> getAdminBizList(){
         return adminBizList;
     }
+    private void stopAdminChannel() {
+        if (adminBizList != null) {
+            for (AdminBiz adminBiz: adminBizList) {
+                if (adminBiz instanceof ExecutorChannelClient) {
+                    ((ExecutorChannelClient) adminBiz).toStop();
+                }
+            }
+        }
+    }
 
     // ---------------------- executor-server (rpc provider) ----------------------
     private EmbedServer embedServer = null;
 
-    private void initEmbedServer(String address, String ip, int port, String appname, String accessToken) throws Exception {
+    private void initEmbedServer(String address, String ip, int port, String appname, String accessToken, int weight) throws Exception {
 
         // fill ip port
         port = port>0?port: NetUtil.findAvailablePort(9999);
@@ -149,7 +234,8 @@ public class XxlJobExecutor  {
 
         // start
         embedServer = new EmbedServer();
-        embedServer.start(address, port, appname, accessToken);
+        embedServer.setVirtualThread(virtualThread);
+        embedServer.start(address, port, appname, accessToken, weight);
     }
 
     private void stopEmbedServer() {
@@ -176,9 +262,11 @@ public class XxlJobExecutor  {
     // ---------------------- job thread repository ----------------------
     private static ConcurrentMap<Integer, JobThread> jobThreadRepository = new ConcurrentHashMap<Integer, JobThread>();
     public static JobThread registJobThread(int jobId, IJobHandler handler, String removeOldReason){
-        JobThread newJobThread = new JobThread(jobId, handler);
-        newJobThread.start();
-        logger.info(">>>>>>>>>>> xxl-job regist JobThread success, jobId:{}, handler:{}", new Object[]{jobId, handler});
+        return registJobThread(jobId, handler, 1, removeOldReason);
+    }
+    public static JobThread registJobThread(int jobId, IJobHandler handler, int concurrency, String removeOldReason){
+        JobThread newJobThread = new JobThread(jobId, handler, concurrency);    // scheduled to JobWorkerPool by trigger
+        logger.info(">>>>>>>>>>> xxl-job regist JobThread success, jobId:{}, handler:{}, concurrency:{}", new Object[]{jobId, handler, concurrency});
 
         JobThread oldJobThread = jobThreadRepository.put(jobId, newJobThread);	// putIfAbsent | oh my god, map's put method return the old value!!!
         if (oldJobThread != null) {
@@ -198,6 +286,19 @@ public class XxlJobExecutor  {
         }
         return null;
     }
+    public static JobThread removeJobThread(int jobId, JobThread jobThread, String removeOldReason){
+        // remove only if not replaced, such as idle remove
+        if (jobThreadRepository.remove(jobId, jobThread)) {
+            jobThread.toStop(removeOldReason);
+            jobThread.interrupt();
+
+            return jobThread;
+        }
+        return null;
+    }
+    public static Collection<JobThread> loadJobThreadList(){
+        return jobThreadRepository.values();
+    }
     public static JobThread loadJobThread(int jobId){
         JobThread jobThread = jobThreadRepository.get(jobId);
         return jobThread;
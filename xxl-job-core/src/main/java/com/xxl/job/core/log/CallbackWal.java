@@ -0,0 +1,566 @@
+package com.xxl.job.core.log;
+
+import com.xxl.job.core.biz.model.HandleCallbackParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * write-ahead log of pending callback, when all admin unreachable; segmented and append-only
+ *
+ *      a、record：[length:int][crc32:int][payload], payload is [version:byte][count:int][callback param...], own format of wal, not change with remoting codec;
+ *      b、segment："callback-{seq}.wal", roll to next segment when full; segment consumed by checkpoint is deleted;
+ *      c、fsync：force to disk after each append if enable, otherwise only when roll and close;
+ *      d、checkpoint：position after the last replayed record, write tmp file and rename; replay in order from it after restart;
+ *      e、recover：truncate torn record at tail of the last segment, such as crash during append;
+ *      f、quarantine：record corrupt or not decodable, stop replay of the segment and rename it to "{segment}.corrupt" for manual check, never skip it silently;
+ *      g、interrupt：write by RandomAccessFile stream, not closed by interrupt of caller as FileChannel;
+ *
+ * @author agent 2026-10-18
+ */
+public class CallbackWal {
+    private static Logger logger = LoggerFactory.getLogger(CallbackWal.class);
+
+    private static final int SEGMENT_MAGIC = 0x584A4357;        // "XJCW"
+    private static final int SEGMENT_HEADER = 4;                // magic
+    private static final int RECORD_HEADER = 8;                 // length + crc32
+    private static final byte RECORD_VERSION = 1;               // payload format version
+    private static final long SEGMENT_MAX = 64 * 1024 * 1024;   // byte, roll when full
+    private static final String SEGMENT_PREFIX = "callback-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String QUARANTINE_SUFFIX = ".corrupt";
+    private static final String CHECKPOINT_FILE = "callback.checkpoint";
+
+    private final File walDir;
+    private final boolean fsync;
+
+    // write position, append only to the last segment
+    private long writeSeq;
+    private long writeOffset;
+    private RandomAccessFile writeFile;
+
+    // checkpoint position, replay from it
+    private long checkpointSeq;
+    private long checkpointOffset;
+
+    /**
+     * @param walPath   dir of segment and checkpoint file
+     * @param fsync     force to disk after each append
+     */
+    public CallbackWal(String walPath, boolean fsync) throws IOException {
+        this.walDir = new File(walPath);
+        this.fsync = fsync;
+        open();
+    }
+
+
+    // ---------------------- open ----------------------
+
+    private void open() throws IOException {
+        if (walDir.isFile()) {
+            walDir.delete();
+        }
+        if (!walDir.exists()) {
+            walDir.mkdirs();
+        }
+
+        // segment list
+        List<Long> segmentSeqList = loadSegmentSeqList();
+
+        // checkpoint
+        loadCheckpoint();
+        if (!segmentSeqList.isEmpty() && checkpointSeq < segmentSeqList.get(0)) {
+            checkpointSeq = segmentSeqList.get(0);
+            checkpointOffset = SEGMENT_HEADER;
+        }
+
+        // write position, recover the last segment
+        if (segmentSeqList.isEmpty()) {
+            writeSeq = Math.max(checkpointSeq, 1);
+            createSegment(writeSeq);
+        } else {
+            writeSeq = segmentSeqList.get(segmentSeqList.size()-1);
+            writeOffset = recoverSegment(writeSeq);
+            openWriteFile();
+        }
+        if (checkpointSeq == 0) {
+            // no checkpoint, replay from begin
+            checkpointSeq = writeSeq;
+            checkpointOffset = SEGMENT_HEADER;
+        } else if (checkpointSeq>writeSeq || (checkpointSeq==writeSeq && checkpointOffset>writeOffset)) {
+            // checkpoint beyond torn tail, all replayed
+            checkpointSeq = writeSeq;
+            checkpointOffset = writeOffset;
+        }
+
+        logger.info(">>>>>>>>>>> xxl-job callback wal open, path:{}, checkpoint:{}-{}, write:{}-{}", walDir.getPath(), checkpointSeq, checkpointOffset, writeSeq, writeOffset);
+    }
+
+    private List<Long> loadSegmentSeqList() {
+        List<Long> segmentSeqList = new ArrayList<Long>();
+        String[] fileNames = walDir.list();
+        if (fileNames != null) {
+            for (String fileName: fileNames) {
+                if (fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        segmentSeqList.add(Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length()-SEGMENT_SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        logger.warn(">>>>>>>>>>> xxl-job callback wal, invalid segment file:{}", fileName);
+                    }
+                }
+            }
+        }
+        Collections.sort(segmentSeqList);
+        return segmentSeqList;
+    }
+
+    private File segmentFile(long seq) {
+        return new File(walDir, SEGMENT_PREFIX + String.format("%020d", seq) + SEGMENT_SUFFIX);
+    }
+
+    private void createSegment(long seq) throws IOException {
+        writeFile = new RandomAccessFile(segmentFile(seq), "rw");
+        writeFile.setLength(0);
+        writeFile.writeInt(SEGMENT_MAGIC);
+        writeOffset = SEGMENT_HEADER;
+        if (fsync) {
+            writeFile.getFD().sync();
+        }
+    }
+
+    /**
+     * open the last segment at write position, drop bytes after it
+     */
+    private void openWriteFile() throws IOException {
+        writeFile = new RandomAccessFile(segmentFile(writeSeq), "rw");
+        writeFile.setLength(writeOffset);
+        writeFile.seek(writeOffset);
+    }
+
+    /**
+     * @return  end of the last valid record
+     */
+    private long recoverSegment(long seq) throws IOException {
+        RandomAccessFile segment = new RandomAccessFile(segmentFile(seq), "rw");
+        try {
+            FileChannel channel = segment.getChannel();
+            long size = channel.size();
+
+            // header, rewrite if torn or invalid
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER);
+            if (size < SEGMENT_HEADER || readFully(channel, header, 0)<SEGMENT_HEADER || header.getInt(0)!=SEGMENT_MAGIC) {
+                logger.error(">>>>>>>>>>> xxl-job callback wal, invalid segment header, reset segment:{}", seq);
+                header.clear();
+                header.putInt(SEGMENT_MAGIC);
+                header.flip();
+                channel.truncate(0);
+                writeFully(channel, header);
+                return SEGMENT_HEADER;
+            }
+
+            // record, stop at torn record
+            long offset = SEGMENT_HEADER;
+            while (true) {
+                byte[] payload = readRecord(channel, offset, size);
+                if (payload == null) {
+                    break;
+                }
+                offset += RECORD_HEADER + payload.length;
+            }
+            if (offset < size) {
+                if (isTorn(channel, offset, size)) {
+                    logger.warn(">>>>>>>>>>> xxl-job callback wal, truncate torn record, segment:{}, offset:{}, size:{}", seq, offset, size);
+                } else {
+                    // complete record but corrupt, not crash during append, keep a copy before truncate
+                    File quarantineFile = new File(walDir, segmentFile(seq).getName() + QUARANTINE_SUFFIX);
+                    Files.copy(segmentFile(seq).toPath(), quarantineFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    logger.error(">>>>>>>>>>> xxl-job callback wal, corrupt record, truncate segment:{}, offset:{}, size:{}, quarantine:{}", seq, offset, size, quarantineFile.getPath());
+                }
+            }
+            return offset;
+        } finally {
+            segment.close();
+        }
+    }
+
+
+    // ---------------------- append ----------------------
+
+    public synchronized void append(List<HandleCallbackParam> callbackParamList) throws IOException {
+        byte[] payload = encode(callbackParamList);
+
+        // roll if full
+        if (writeOffset + RECORD_HEADER + payload.length > SEGMENT_MAX && writeOffset > SEGMENT_HEADER) {
+            roll();
+        }
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload, 0, payload.length);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + payload.length);
+        record.putInt(payload.length);
+        record.putInt((int) crc32.getValue());
+        record.put(payload);
+        try {
+            writeFile.write(record.array());
+            if (fsync) {
+                writeFile.getFD().sync();
+            }
+        } catch (IOException e) {
+            // drop partial record, reopen at write position
+            closeQuietly(writeFile);
+            openWriteFile();
+            throw e;
+        }
+        writeOffset += RECORD_HEADER + payload.length;
+    }
+
+    private void roll() throws IOException {
+        writeFile.getFD().sync();
+        writeFile.close();
+        writeSeq++;
+        createSegment(writeSeq);
+    }
+
+
+    // ---------------------- replay ----------------------
+
+    /**
+     * load record after checkpoint, in order
+     *
+     * @param maxRecord
+     * @return  empty if all replayed
+     */
+    public synchronized List<Record> read(int maxRecord) throws IOException {
+        List<Record> recordList = new ArrayList<Record>();
+        long seq = checkpointSeq;
+        long offset = checkpointOffset;
+        while (recordList.size() < maxRecord && seq <= writeSeq) {
+            File segmentFile = segmentFile(seq);
+            if (!segmentFile.exists()) {
+                if (seq < writeSeq) {
+                    seq++;
+                    offset = SEGMENT_HEADER;
+                    continue;
+                }
+                break;
+            }
+
+            boolean corrupt = false;
+            RandomAccessFile segment = new RandomAccessFile(segmentFile, "r");
+            try {
+                FileChannel channel = segment.getChannel();
+                long limit = (seq==writeSeq)?writeOffset:channel.size();
+                while (recordList.size() < maxRecord) {
+                    byte[] payload = readRecord(channel, offset, limit);
+                    if (payload == null) {
+                        corrupt = (offset < limit);
+                        break;
+                    }
+                    List<HandleCallbackParam> callbackParamList = decode(payload);
+                    if (callbackParamList == null) {
+                        corrupt = true;
+                        break;
+                    }
+                    offset += RECORD_HEADER + payload.length;
+                    recordList.add(new Record(seq, offset, callbackParamList));
+                }
+            } finally {
+                segment.close();
+            }
+
+            if (corrupt) {
+                if (!recordList.isEmpty()) {
+                    break;      // replay records before it first
+                }
+                quarantine(seq, offset);
+                seq++;
+                offset = SEGMENT_HEADER;
+                continue;
+            }
+            if (recordList.size() >= maxRecord || seq == writeSeq) {
+                break;
+            }
+            seq++;
+            offset = SEGMENT_HEADER;
+        }
+        return recordList;
+    }
+
+    /**
+     * stop replay of corrupt segment, move it aside for manual check, and replay from the next segment
+     */
+    private void quarantine(long seq, long offset) throws IOException {
+        if (seq == writeSeq) {
+            roll();
+        }
+
+        File segmentFile = segmentFile(seq);
+        File quarantineFile = new File(walDir, segmentFile.getName() + QUARANTINE_SUFFIX);
+        Files.move(segmentFile.toPath(), quarantineFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        checkpointSeq = seq + 1;
+        checkpointOffset = SEGMENT_HEADER;
+        writeCheckpoint();
+        logger.error(">>>>>>>>>>> xxl-job callback wal, corrupt record, stop replay of segment and quarantine it, segment:{}, offset:{}, quarantine:{}",
+                seq, offset, quarantineFile.getPath());
+    }
+
+    /**
+     * checkpoint after record replayed, delete consumed segment
+     */
+    public synchronized void checkpoint(Record record) throws IOException {
+        checkpointSeq = record.seq;
+        checkpointOffset = record.nextOffset;
+
+        // all replayed, roll to empty segment, release disk
+        if (checkpointSeq==writeSeq && checkpointOffset>=writeOffset && writeOffset>SEGMENT_HEADER) {
+            roll();
+            checkpointSeq = writeSeq;
+            checkpointOffset = SEGMENT_HEADER;
+        }
+        writeCheckpoint();
+
+        for (Long seq: loadSegmentSeqList()) {
+            if (seq < checkpointSeq) {
+                segmentFile(seq).delete();
+            }
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            writeFile.getFD().sync();
+            writeFile.close();
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+
+    // ---------------------- payload ----------------------
+
+    private static byte[] encode(List<HandleCallbackParam> callbackParamList) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_VERSION);
+        out.writeInt(callbackParamList.size());
+        for (HandleCallbackParam callbackParam: callbackParamList) {
+            out.writeLong(callbackParam.getLogId());
+            out.writeLong(callbackParam.getLogDateTim());
+            ReturnT<String> executeResult = callbackParam.getExecuteResult();
+            out.writeBoolean(executeResult != null);
+            if (executeResult != null) {
+                out.writeInt(executeResult.getCode());
+                writeString(out, executeResult.getMsg());
+                writeString(out, executeResult.getContent());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return  null if not decodable, such as unknown version
+     */
+    private static List<HandleCallbackParam> decode(byte[] payload) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte version = in.readByte();
+            if (version != RECORD_VERSION) {
+                throw new IOException("unknown record version:" + version);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("invalid record count:" + count);
+            }
+            List<HandleCallbackParam> callbackParamList = new ArrayList<HandleCallbackParam>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                long logId = in.readLong();
+                long logDateTim = in.readLong();
+                ReturnT<String> executeResult = null;
+                if (in.readBoolean()) {
+                    executeResult = new ReturnT<String>(in.readInt(), readString(in));
+                    executeResult.setContent(readString(in));
+                }
+                callbackParamList.add(new HandleCallbackParam(logId, logDateTim, executeResult));
+            }
+            return callbackParamList;
+        } catch (IOException e) {
+            logger.error(">>>>>>>>>>> xxl-job callback wal, decode record error.", e);
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    // ---------------------- checkpoint file ----------------------
+
+    private void loadCheckpoint() throws IOException {
+        File checkpointFile = new File(walDir, CHECKPOINT_FILE);
+        if (!checkpointFile.exists() || checkpointFile.length() < 16) {
+            return;
+        }
+        RandomAccessFile checkpoint = new RandomAccessFile(checkpointFile, "r");
+        try {
+            checkpointSeq = checkpoint.readLong();
+            checkpointOffset = checkpoint.readLong();
+        } finally {
+            checkpoint.close();
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        File checkpointFile = new File(walDir, CHECKPOINT_FILE);
+        File tmpFile = new File(walDir, CHECKPOINT_FILE + ".tmp");
+
+        ByteBuffer data = ByteBuffer.allocate(16);
+        data.putLong(checkpointSeq);
+        data.putLong(checkpointOffset);
+        FileOutputStream out = new FileOutputStream(tmpFile);
+        try {
+            out.write(data.array());
+            if (fsync) {
+                out.getFD().sync();
+            }
+        } finally {
+            out.close();
+        }
+
+        try {
+            Files.move(tmpFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmpFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+
+    // ---------------------- io ----------------------
+
+    /**
+     * @return  payload, null if no complete and valid record at offset
+     */
+    private static byte[] readRecord(FileChannel channel, long offset, long limit) throws IOException {
+        if (offset + RECORD_HEADER > limit) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        if (readFully(channel, header, offset) < RECORD_HEADER) {
+            return null;
+        }
+        int length = header.getInt(0);
+        int crc = header.getInt(4);
+        if (length < 0 || offset + RECORD_HEADER + length > limit) {
+            return null;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        if (readFully(channel, payload, offset + RECORD_HEADER) < length) {
+            return null;
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload.array(), 0, length);
+        if ((int) crc32.getValue() != crc) {
+            return null;
+        }
+        return payload.array();
+    }
+
+    /**
+     * @return  true if record at offset is incomplete (crash during append), false if complete but corrupt
+     */
+    private static boolean isTorn(FileChannel channel, long offset, long size) throws IOException {
+        if (offset + RECORD_HEADER > size) {
+            return true;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        if (readFully(channel, header, offset) < RECORD_HEADER) {
+            return true;
+        }
+        int length = header.getInt(0);
+        return length < 0 || offset + RECORD_HEADER + length > size;
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void closeQuietly(RandomAccessFile file) {
+        try {
+            file.close();
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+
+    // ---------------------- record ----------------------
+
+    public static class Record {
+        private final long seq;
+        private final long nextOffset;
+        private final List<HandleCallbackParam> callbackParamList;
+
+        private Record(long seq, long nextOffset, List<HandleCallbackParam> callbackParamList) {
+            this.seq = seq;
+            this.nextOffset = nextOffset;
+            this.callbackParamList = callbackParamList;
+        }
+
+        public List<HandleCallbackParam> getCallbackParamList() {
+            return callbackParamList;
+        }
+    }
+
+}
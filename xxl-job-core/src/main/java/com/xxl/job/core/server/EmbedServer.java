@@ -3,14 +3,20 @@ package com.xxl.job.core.server;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.impl.ExecutorBizImpl;
 import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.codec.XxlJobCodec;
 import com.xxl.job.core.thread.ExecutorRegistryThread;
 import com.xxl.job.core.util.GsonTool;
 import com.xxl.job.core.util.ThrowableUtil;
+import com.xxl.job.core.util.VirtualThreadUtil;
 import com.xxl.job.core.util.XxlJobRemotingUtil;
 import io.netty.bootstrap.ServerBootstrap;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.*;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.*;
@@ -20,6 +26,8 @@ import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Type;
+import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -30,20 +38,41 @@ import java.util.concurrent.*;
 public class EmbedServer {
     private static final Logger logger = LoggerFactory.getLogger(EmbedServer.class);
 
+    private static final int COMPRESS_THRESHOLD = 8 * 1024;     // byte, compress response larger than it, such as LogResult, if client accept gzip/deflate
+    private static final int BIZ_MAX = 200 + 2000;              // max concurrent biz request in virtual thread mode, the same as max thread and queue of bizThreadPool
+
     private ExecutorBiz executorBiz;
     private Thread thread;
+    private volatile ThreadPoolExecutor bizThreadPool;
+    private boolean virtualThread = false;
+
+    /**
+     * handle biz request on virtual thread (JDK 21+), effective before start; fallback to bizThreadPool if not supported
+     */
+    public void setVirtualThread(boolean virtualThread) {
+        this.virtualThread = virtualThread;
+    }
 
     public void start(final String address, final int port, final String appname, final String accessToken) {
+        start(address, port, appname, accessToken, 1);
+    }
+
+    /**
+     * @param weight    executor weight, registry to admin, for weighted route
+     */
+    public void start(final String address, final int port, final String appname, final String accessToken, final int weight) {
         executorBiz = new ExecutorBizImpl();
         thread = new Thread(new Runnable() {
 
             @Override
             public void run() {
 
-                // param
-                EventLoopGroup bossGroup = new NioEventLoopGroup();
-                EventLoopGroup workerGroup = new NioEventLoopGroup();
-                ThreadPoolExecutor bizThreadPool = new ThreadPoolExecutor(
+                // param, native epoll transport if available (linux), else nio
+                boolean epoll = Epoll.isAvailable();
+                EventLoopGroup bossGroup = epoll?new EpollEventLoopGroup(1):new NioEventLoopGroup(1);
+                EventLoopGroup workerGroup = epoll?new EpollEventLoopGroup():new NioEventLoopGroup();
+                Class<? extends ServerSocketChannel> serverChannelClass = epoll?EpollServerSocketChannel.class:NioServerSocketChannel.class;
+                bizThreadPool = new ThreadPoolExecutor(
                         0,
                         200,
                         60L,
@@ -58,35 +87,38 @@ public class EmbedServer {
                         new RejectedExecutionHandler() {
                             @Override
                             public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-                                throw new RuntimeException("xxl-job, EmbedServer bizThreadPool is EXHAUSTED!");
+                                throw new RejectedExecutionException("xxl-job, EmbedServer bizThreadPool is EXHAUSTED!");
                             }
                         });
+                final Executor bizExecutor = loadBizExecutor(bizThreadPool);
 
 
                 try {
                     // start server
                     ServerBootstrap bootstrap = new ServerBootstrap();
                     bootstrap.group(bossGroup, workerGroup)
-                            .channel(NioServerSocketChannel.class)
+                            .channel(serverChannelClass)
                             .childHandler(new ChannelInitializer<SocketChannel>() {
                                 @Override
                                 public void initChannel(SocketChannel channel) throws Exception {
                                     channel.pipeline()
                                             .addLast(new IdleStateHandler(0, 0, 30 * 3, TimeUnit.SECONDS))  // beat 3N, close if idle
                                             .addLast(new HttpServerCodec())
+                                            .addLast(new HttpContentCompressor(6, 15, 8, COMPRESS_THRESHOLD))
                                             .addLast(new HttpObjectAggregator(5 * 1024 * 1024))  // merge request & reponse to FULL
-                                            .addLast(new EmbedHttpServerHandler(executorBiz, accessToken, bizThreadPool));
+                                            .addLast(new EmbedHttpServerHandler(executorBiz, accessToken, bizExecutor));
                                 }
                             })
-                            .childOption(ChannelOption.SO_KEEPALIVE, true);
+                            .childOption(ChannelOption.SO_KEEPALIVE, true)
+                            .childOption(ChannelOption.TCP_NODELAY, true);
 
                     // bind
                     ChannelFuture future = bootstrap.bind(port).sync();
 
-                    logger.info(">>>>>>>>>>> xxl-job remoting server start success, nettype = {}, port = {}", EmbedServer.class, port);
+                    logger.info(">>>>>>>>>>> xxl-job remoting server start success, nettype = {}, transport = {}, port = {}", EmbedServer.class, epoll?"epoll":"nio", port);
 
                     // start registry
-                    startRegistry(appname, address);
+                    startRegistry(appname, address, weight);
 
                     // wait util stop
                     future.channel().closeFuture().sync();
@@ -126,6 +158,87 @@ public class EmbedServer {
     }
 
 
+    /**
+     * services mapping, for http request and channel request
+     *
+     * @param executorBiz
+     * @param uri               such as "/run"
+     * @param requestData       decode from buffer directly, not released
+     * @param requestCodec
+     * @return
+     */
+    public static Object invoke(ExecutorBiz executorBiz, String uri, ByteBuf requestData, XxlJobCodec requestCodec) throws Exception {
+        if ("/beat".equals(uri)) {
+            return executorBiz.beat();
+        } else if ("/idleBeat".equals(uri)) {
+            IdleBeatParam idleBeatParam = requestCodec.decode(requestData, IdleBeatParam.class);
+            return executorBiz.idleBeat(idleBeatParam);
+        } else if ("/run".equals(uri)) {
+            TriggerParam triggerParam = requestCodec.decode(requestData, TriggerParam.class);
+            return executorBiz.run(triggerParam);
+        } else if ("/runBatch".equals(uri)) {
+            List<TriggerParam> triggerParamList = requestCodec.decode(requestData, new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{TriggerParam.class}));
+            return executorBiz.runBatch(triggerParamList);
+        } else if ("/kill".equals(uri)) {
+            KillParam killParam = requestCodec.decode(requestData, KillParam.class);
+            return executorBiz.kill(killParam);
+        } else if ("/log".equals(uri)) {
+            LogParam logParam = requestCodec.decode(requestData, LogParam.class);
+            return executorBiz.log(logParam);
+        } else {
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping("+ uri +") not found.");
+        }
+    }
+
+    // ---------------------- virtual thread ----------------------
+
+    private Executor loadBizExecutor(ThreadPoolExecutor bizThreadPool) {
+        if (virtualThread) {
+            ExecutorService virtualBizPool = VirtualThreadUtil.newVirtualThreadPerTaskExecutor("xxl-job, EmbedServer virtualBizPool-");
+            if (virtualBizPool != null) {
+                logger.info(">>>>>>>>>>> xxl-job remoting server handle biz request on virtual thread.");
+                return new VirtualBizExecutor(virtualBizPool, new Semaphore(BIZ_MAX));
+            }
+            logger.warn(">>>>>>>>>>> xxl-job remoting server virtual thread not supported by current JVM, fallback to bizThreadPool.");
+        }
+        return bizThreadPool;
+    }
+
+    /**
+     * virtual thread for each biz request, bounded by permits, reject as overload if exhausted
+     */
+    private static class VirtualBizExecutor implements Executor {
+        private final ExecutorService virtualBizPool;
+        private final Semaphore permits;
+
+        public VirtualBizExecutor(ExecutorService virtualBizPool, Semaphore permits) {
+            this.virtualBizPool = virtualBizPool;
+            this.permits = permits;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (!permits.tryAcquire()) {
+                throw new RejectedExecutionException("xxl-job, EmbedServer virtualBizPool is EXHAUSTED!");
+            }
+            try {
+                virtualBizPool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            command.run();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+
     // ---------------------- registry ----------------------
 
     /**
@@ -140,8 +253,8 @@ public class EmbedServer {
 
         private ExecutorBiz executorBiz;
         private String accessToken;
-        private ThreadPoolExecutor bizThreadPool;
-        public EmbedHttpServerHandler(ExecutorBiz executorBiz, String accessToken, ThreadPoolExecutor bizThreadPool) {
+        private Executor bizThreadPool;
+        public EmbedHttpServerHandler(ExecutorBiz executorBiz, String accessToken, Executor bizThreadPool) {
             this.executorBiz = executorBiz;
             this.accessToken = accessToken;
             this.bizThreadPool = bizThreadPool;
@@ -151,30 +264,57 @@ public class EmbedServer {
         protected void channelRead0(final ChannelHandlerContext ctx, FullHttpRequest msg) throws Exception {
 
             // request parse
-            //final byte[] requestBytes = ByteBufUtil.getBytes(msg.content());    // byteBuf.toString(io.netty.util.CharsetUtil.UTF_8);
-            String requestData = msg.content().toString(CharsetUtil.UTF_8);
-            String uri = msg.uri();
-            HttpMethod httpMethod = msg.method();
-            boolean keepAlive = HttpUtil.isKeepAlive(msg);
-            String accessTokenReq = msg.headers().get(XxlJobRemotingUtil.XXL_JOB_ACCESS_TOKEN);
-
-            // invoke
-            bizThreadPool.execute(new Runnable() {
-                @Override
-                public void run() {
-                    // do invoke
-                    Object responseObj = process(httpMethod, uri, requestData, accessTokenReq);
-
-                    // to json
-                    String responseJson = GsonTool.toJson(responseObj);
-
-                    // write response
-                    writeResponse(ctx, keepAlive, responseJson);
-                }
-            });
+            final String uri = msg.uri();
+            final HttpMethod httpMethod = msg.method();
+            final boolean keepAlive = HttpUtil.isKeepAlive(msg);
+            final String accessTokenReq = msg.headers().get(XxlJobRemotingUtil.XXL_JOB_ACCESS_TOKEN);
+            final XxlJobCodec requestCodec = XxlJobCodec.loadCodecOrJson(msg.headers().get(XxlJobRemotingUtil.XXL_JOB_CODEC));
+            final XxlJobCodec responseCodec = XxlJobCodec.loadCodecOrJson(msg.headers().get(XxlJobRemotingUtil.XXL_JOB_ACCEPT_CODEC));
+
+            // fast path：cheap and non-blocking, answer on event loop, no thread hop
+            if (isFastPath(uri)) {
+                Object responseObj = process(httpMethod, uri, msg.content(), requestCodec, accessTokenReq);
+                writeResponse(ctx, keepAlive, responseCodec, responseObj);
+                return;
+            }
+
+            // invoke in biz pool, decode from the pooled buffer (no copy), retain until processed
+            final ByteBuf requestData = msg.content().retain();
+            try {
+                bizThreadPool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        // do invoke
+                        Object responseObj = null;
+                        try {
+                            responseObj = process(httpMethod, uri, requestData, requestCodec, accessTokenReq);
+                        } finally {
+                            requestData.release();
+                        }
+
+                        // write response
+                        writeResponse(ctx, keepAlive, responseCodec, responseObj);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // overloaded, reject explicitly on event loop, admin reroute to other executor
+                requestData.release();
+                logger.warn(">>>>>>>>>>> xxl-job remoting server overloaded, reject request, uri:{}", uri);
+                writeResponse(ctx, keepAlive, responseCodec, ReturnT.overload("xxl-job executor overloaded, bizThreadPool is EXHAUSTED.", ReturnT.OVERLOAD_RETRY_AFTER));
+            } catch (RuntimeException e) {
+                requestData.release();
+                throw e;
+            }
+        }
+
+        /**
+         * beat、idleBeat、kill：only read state or signal job thread, never block
+         */
+        private boolean isFastPath(String uri) {
+            return "/beat".equals(uri) || "/idleBeat".equals(uri) || "/kill".equals(uri);
         }
 
-        private Object process(HttpMethod httpMethod, String uri, String requestData, String accessTokenReq) {
+        private Object process(HttpMethod httpMethod, String uri, ByteBuf requestData, XxlJobCodec requestCodec, String accessTokenReq) {
 
             // valid
             if (HttpMethod.POST != httpMethod) {
@@ -191,23 +331,7 @@ public class EmbedServer {
 
             // services mapping
             try {
-                if ("/beat".equals(uri)) {
-                    return executorBiz.beat();
-                } else if ("/idleBeat".equals(uri)) {
-                    IdleBeatParam idleBeatParam = GsonTool.fromJson(requestData, IdleBeatParam.class);
-                    return executorBiz.idleBeat(idleBeatParam);
-                } else if ("/run".equals(uri)) {
-                    TriggerParam triggerParam = GsonTool.fromJson(requestData, TriggerParam.class);
-                    return executorBiz.run(triggerParam);
-                } else if ("/kill".equals(uri)) {
-                    KillParam killParam = GsonTool.fromJson(requestData, KillParam.class);
-                    return executorBiz.kill(killParam);
-                } else if ("/log".equals(uri)) {
-                    LogParam logParam = GsonTool.fromJson(requestData, LogParam.class);
-                    return executorBiz.log(logParam);
-                } else {
-                    return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping("+ uri +") not found.");
-                }
+                return invoke(executorBiz, uri, requestData, requestCodec);
             } catch (Exception e) {
                 logger.error(e.getMessage(), e);
                 return new ReturnT<String>(ReturnT.FAIL_CODE, "request error:" + ThrowableUtil.toString(e));
@@ -215,12 +339,28 @@ public class EmbedServer {
         }
 
         /**
-         * write response
+         * write response, encode into pooled direct buffer, in codec accepted by client
          */
-        private void writeResponse(ChannelHandlerContext ctx, boolean keepAlive, String responseJson) {
+        private void writeResponse(ChannelHandlerContext ctx, boolean keepAlive, XxlJobCodec responseCodec, Object responseObj) {
+            // encode
+            ByteBuf responseData = ctx.alloc().ioBuffer();
+            try {
+                responseCodec.encode(responseObj, responseData);
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+                responseCodec = XxlJobCodec.JSON;
+                responseData.clear();
+                responseData.writeCharSequence(GsonTool.toJson(new ReturnT<String>(ReturnT.FAIL_CODE, "response encode error:" + ThrowableUtil.toString(e))), CharsetUtil.UTF_8);
+            }
+
             // write response
-            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.copiedBuffer(responseJson, CharsetUtil.UTF_8));   //  Unpooled.wrappedBuffer(responseJson)
-            response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/html;charset=UTF-8");       // HttpHeaderValues.TEXT_PLAIN.toString()
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, responseData);
+            if (responseCodec == XxlJobCodec.JSON) {
+                response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/html;charset=UTF-8");       // HttpHeaderValues.TEXT_PLAIN.toString()
+            } else {
+                response.headers().set(HttpHeaderNames.CONTENT_TYPE, responseCodec.contentType());
+            }
+            response.headers().set(XxlJobRemotingUtil.XXL_JOB_CODEC, responseCodec.name());
             response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
             if (keepAlive) {
                 response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
@@ -253,8 +393,12 @@ public class EmbedServer {
     // ---------------------- registry ----------------------
 
     public void startRegistry(final String appname, final String address) {
+        startRegistry(appname, address, 1);
+    }
+
+    public void startRegistry(final String appname, final String address, final int weight) {
         // start registry
-        ExecutorRegistryThread.getInstance().start(appname, address);
+        ExecutorRegistryThread.getInstance().start(appname, address, bizThreadPool, weight);
     }
 
     public void stopRegistry() {
@@ -1,13 +1,18 @@
 package com.xxl.job.core.thread;
 
 import com.xxl.job.core.biz.AdminBiz;
+import com.xxl.job.core.biz.model.ExecutorLoad;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.channel.ExecutorChannelClient;
 import com.xxl.job.core.enums.RegistryConfig;
 import com.xxl.job.core.executor.XxlJobExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -24,6 +29,16 @@ public class ExecutorRegistryThread {
     private Thread registryThread;
     private volatile boolean toStop = false;
     public void start(final String appname, final String address){
+        start(appname, address, null, 1);
+    }
+
+    /**
+     * @param appname
+     * @param address
+     * @param bizThreadPool     biz thread pool of embed server, for load report; null means unknown
+     * @param weight            executor weight, for weighted route
+     */
+    public void start(final String appname, final String address, final ThreadPoolExecutor bizThreadPool, final int weight){
 
         // valid
         if (appname==null || appname.trim().length()==0) {
@@ -43,6 +58,8 @@ public class ExecutorRegistryThread {
                 while (!toStop) {
                     try {
                         RegistryParam registryParam = new RegistryParam(RegistryConfig.RegistType.EXECUTOR.name(), appname, address);
+                        registryParam.setLoad(loadExecutorLoad(bizThreadPool));
+                        registryParam.setWeight(weight);
                         for (AdminBiz adminBiz: XxlJobExecutor.getAdminBizList()) {
                             try {
                                 ReturnT<String> registryResult = adminBiz.registry(registryParam);
@@ -58,6 +75,17 @@ public class ExecutorRegistryThread {
                             }
 
                         }
+
+                        // channel bind, on each admin node; registry above stop at the first admin node success
+                        for (AdminBiz adminBiz: XxlJobExecutor.getAdminBizList()) {
+                            if (adminBiz instanceof ExecutorChannelClient) {
+                                try {
+                                    ((ExecutorChannelClient) adminBiz).bind(registryParam);
+                                } catch (Exception e) {
+                                    logger.info(">>>>>>>>>>> xxl-job channel bind error, registryParam:{}", registryParam, e);
+                                }
+                            }
+                        }
                     } catch (Exception e) {
                         if (!toStop) {
                             logger.error(e.getMessage(), e);
@@ -111,8 +139,33 @@ public class ExecutorRegistryThread {
         registryThread.start();
     }
 
+    /**
+     * executor load now
+     */
+    private static ExecutorLoad loadExecutorLoad(ThreadPoolExecutor bizThreadPool) {
+        int runningJobThreads = 0;
+        int queuedTriggers = 0;
+        for (JobThread jobThread: XxlJobExecutor.loadJobThreadList()) {
+            if (jobThread.isRunning()) {
+                runningJobThreads++;
+            }
+            queuedTriggers += jobThread.getTriggerQueueSize();
+        }
+
+        int bizQueueSize = (bizThreadPool!=null)?bizThreadPool.getQueue().size():0;
+
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        double loadAverage = osBean.getSystemLoadAverage();
+        double cpuLoad = (loadAverage >= 0)?loadAverage/osBean.getAvailableProcessors():-1;
+
+        return new ExecutorLoad(runningJobThreads, queuedTriggers, bizQueueSize, cpuLoad);
+    }
+
     public void toStop() {
         toStop = true;
+        if (registryThread == null) {
+            return;     // registry not started, such as adminAddresses is null
+        }
         // interrupt and wait
         registryThread.interrupt();
         try {
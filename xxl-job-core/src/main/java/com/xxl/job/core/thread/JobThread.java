@@ -18,15 +18,41 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
- * handler thread
+ * handler thread, serial mailbox of job, drained by shared "JobWorkerPool"
+ *
+ *      a、serial：mailbox scheduled to one worker at the same time, run one trigger each turn, keep trigger order of job;
+ *      b、fair：mailbox resubmit to worker pool after each trigger, not occupy worker while other job waiting;
+ *      c、lifecycle：handler init before first trigger; handler destroy and callback queued trigger when stop;
+ *      d、parallel：optional, mailbox scheduled to at most "parallelMax" worker at the same time, for block strategy "PARALLEL";
+ *      e、timeout：at deadline, callback timeout and complete the turn of mailbox, next trigger not wait for the interrupted handler exit;
+ *
  * @author xuxueli 2016-1-16 19:52:47
  */
-public class JobThread extends Thread{
+public class JobThread {
 	private static Logger logger = LoggerFactory.getLogger(JobThread.class);
 
+	private static final long IDLE_TIMEOUT = 30 * 3 * 1000;		// ms, remove if idle over limit
+
+	private static volatile int triggerQueueMax = 0;		// max queued trigger of each job, <=0 means unlimited
+	public static void setTriggerQueueMax(int triggerQueueMax) {
+		JobThread.triggerQueueMax = triggerQueueMax;
+	}
+
+	private static volatile int parallelMax = 10;		// max concurrent trigger of each job, for block strategy "PARALLEL"
+	public static void setParallelMax(int parallelMax) {
+		if (parallelMax > 0) {
+			JobThread.parallelMax = parallelMax;
+		}
+	}
+	public static int getParallelMax() {
+		return parallelMax;
+	}
+
 	private int jobId;
 	private IJobHandler handler;
 	private LinkedBlockingQueue<TriggerParam> triggerQueue;
@@ -35,19 +61,49 @@ public class JobThread extends Thread{
 	private volatile boolean toStop = false;
 	private String stopReason;
 
-    private boolean running = false;    // if running job
-	private int idleTimes = 0;			// idel times
+    private final AtomicInteger running = new AtomicInteger(0);    // running job count
+	private volatile long lastActiveTime = System.currentTimeMillis();
+
+	private final int concurrency;				// 1 means serial
+	private final Semaphore schedulePermits;		// mailbox scheduled to worker, at most "concurrency"
+	private final AtomicBoolean destroyed = new AtomicBoolean(false);
+	private final CountDownLatch stopLatch = new CountDownLatch(1);
+	private volatile boolean initialized = false;
+	private final Object initLock = new Object();
+	private final Object queueLock = new Object();		// enqueue and stop
+	private final Set<Thread> runnerThreads = new HashSet<Thread>();		// worker running this mailbox, guarded by "this"
+	private final Runnable drainTask = new Runnable() {
+		@Override
+		public void run() {
+			drain();
+		}
+	};
 
 
 	public JobThread(int jobId, IJobHandler handler) {
+		this(jobId, handler, 1);
+	}
+
+	/**
+	 * @param concurrency	max concurrent trigger, 1 means serial
+	 */
+	public JobThread(int jobId, IJobHandler handler, int concurrency) {
 		this.jobId = jobId;
 		this.handler = handler;
 		this.triggerQueue = new LinkedBlockingQueue<TriggerParam>();
 		this.triggerLogIdSet = Collections.synchronizedSet(new HashSet<Long>());
+		this.concurrency = Math.max(concurrency, 1);
+		this.schedulePermits = new Semaphore(this.concurrency);
+	}
+	public int getJobId() {
+		return jobId;
 	}
 	public IJobHandler getHandler() {
 		return handler;
 	}
+	public int getConcurrency() {
+		return concurrency;
+	}
 
     /**
      * new trigger to queue
@@ -56,14 +112,28 @@ public class JobThread extends Thread{
      * @return
      */
 	public ReturnT<String> pushTriggerQueue(TriggerParam triggerParam) {
-		// avoid repeat
-		if (triggerLogIdSet.contains(triggerParam.getLogId())) {
-			logger.info(">>>>>>>>>>> repeate trigger job, logId:{}", triggerParam.getLogId());
-			return new ReturnT<String>(ReturnT.FAIL_CODE, "repeate trigger job, logId:" + triggerParam.getLogId());
-		}
+		// check and enqueue under "queueLock", the same as stop, never enqueue after queue drained by destroy
+		synchronized (queueLock) {
+			// stopped, replaced by new JobThread or killed
+			if (toStop) {
+				return new ReturnT<String>(ReturnT.FAIL_CODE, "job thread stopped, jobId:" + jobId + ", stopReason:" + stopReason);
+			}
+			// avoid repeat
+			if (triggerLogIdSet.contains(triggerParam.getLogId())) {
+				logger.info(">>>>>>>>>>> repeate trigger job, logId:{}", triggerParam.getLogId());
+				return new ReturnT<String>(ReturnT.FAIL_CODE, "repeate trigger job, logId:" + triggerParam.getLogId());
+			}
+			// queue full, reject as overload, admin reroute to other executor
+			if (triggerQueueMax > 0 && triggerQueue.size() >= triggerQueueMax) {
+				logger.warn(">>>>>>>>>>> xxl-job trigger queue full, jobId:{}, logId:{}, queue max:{}", jobId, triggerParam.getLogId(), triggerQueueMax);
+				return ReturnT.overload("trigger queue full, jobId:" + jobId + ", queue max:" + triggerQueueMax, ReturnT.OVERLOAD_RETRY_AFTER);
+			}
 
-		triggerLogIdSet.add(triggerParam.getLogId());
-		triggerQueue.add(triggerParam);
+			triggerLogIdSet.add(triggerParam.getLogId());
+			triggerQueue.add(triggerParam);
+			lastActiveTime = System.currentTimeMillis();
+		}
+		schedule();
         return ReturnT.SUCCESS;
 	}
 
@@ -78,8 +148,37 @@ public class JobThread extends Thread{
 		 * 在阻塞出抛出InterruptedException异常,但是并不会终止运行的线程本身；
 		 * 所以需要注意，此处彻底销毁本线程，需要通过共享变量方式；
 		 */
-		this.toStop = true;
-		this.stopReason = stopReason;
+		synchronized (queueLock) {
+			this.stopReason = stopReason;
+			this.toStop = true;
+		}
+
+		// wake up mailbox, destroy even if idle
+		schedule();
+	}
+
+	/**
+	 * interrupt worker running this job, such as sleep、wait、io of job handler
+	 */
+	public void interrupt() {
+		synchronized (this) {
+			for (Thread runnerThread: runnerThreads) {
+				runnerThread.interrupt();
+			}
+		}
+	}
+
+	/**
+	 * wait until stopped: running trigger finished, queued trigger callback, handler destroyed
+	 *
+	 * @return	false if not stopped in timeout, such as handler not response to interrupt
+	 */
+	public boolean join(long timeout, TimeUnit unit) throws InterruptedException {
+		if (stopLatch.await(timeout, unit)) {
+			return true;
+		}
+		logger.warn(">>>>>>>>>>> xxl-job JobThread not stopped in {} {}, jobId:{}, running:{}, stopReason:{}", timeout, unit, jobId, running.get(), stopReason);
+		return false;
 	}
 
     /**
@@ -87,124 +186,214 @@ public class JobThread extends Thread{
      * @return
      */
     public boolean isRunningOrHasQueue() {
-        return running || triggerQueue.size()>0;
+        return running.get()>0 || triggerQueue.size()>0;
     }
 
-    @Override
-	public void run() {
+    public boolean isRunning() {
+        return running.get()>0;
+    }
 
-    	// init
-    	try {
-			handler.init();
-		} catch (Throwable e) {
-    		logger.error(e.getMessage(), e);
+    public int getTriggerQueueSize() {
+        return triggerQueue.size();
+    }
+
+	/**
+	 * idle over limit, no trigger running or queued
+	 */
+	public boolean isIdleTimeout(long now) {
+		return !toStop
+				&& running.get()==0
+				&& triggerQueue.size()==0
+				&& now-lastActiveTime > IDLE_TIMEOUT;
+	}
+
+	private void schedule() {
+		if (schedulePermits.tryAcquire()) {
+			try {
+				JobWorkerPool.execute(drainTask);
+			} catch (RejectedExecutionException e) {
+				// worker pool stopped
+				schedulePermits.release();
+				logger.error(">>>>>>>>>>> xxl-job JobThread schedule fail, jobId:{}", jobId, e);
+			}
 		}
+	}
 
-		// execute
-		while(!toStop){
-			running = false;
-			idleTimes++;
+	/**
+	 * run one trigger each turn, then resubmit if has more
+	 */
+	private void drain() {
+		AtomicBoolean turnCompleted = new AtomicBoolean(false);
+		running.incrementAndGet();		// before poll, not idle during trigger in hand
+		synchronized (this) {
+			runnerThreads.add(Thread.currentThread());
+		}
+		try {
+			// init
+			init();
 
-            TriggerParam triggerParam = null;
-            ReturnT<String> executeResult = null;
-            try {
-				// to check toStop signal, we need cycle, so wo cannot use queue.take(), instand of poll(timeout)
-				triggerParam = triggerQueue.poll(3L, TimeUnit.SECONDS);
-				if (triggerParam!=null) {
-					running = true;
-					idleTimes = 0;
-					triggerLogIdSet.remove(triggerParam.getLogId());
+			// execute
+			if (!toStop) {
+				TriggerParam triggerParam = triggerQueue.poll();
+				if (triggerParam != null) {
+					execute(triggerParam, turnCompleted);
+				}
+			}
+		} finally {
+			synchronized (this) {
+				runnerThreads.remove(Thread.currentThread());
+			}
+			// clear for next mailbox on this worker
+			Thread.interrupted();
+			XxlJobFileAppender.contextHolder.remove();
+			ShardingUtil.setShardingVo(null);
+		}
 
-					// log filename, like "logPath/yyyy-MM-dd/9999.log"
-					String logFileName = XxlJobFileAppender.makeLogFileName(new Date(triggerParam.getLogDateTime()), triggerParam.getLogId());
-					XxlJobFileAppender.contextHolder.set(logFileName);
-					ShardingUtil.setShardingVo(new ShardingUtil.ShardingVO(triggerParam.getBroadcastIndex(), triggerParam.getBroadcastTotal()));
+		completeTurn(turnCompleted);
+	}
 
-					// execute
-					XxlJobLogger.log("<br>----------- xxl-job job execute start -----------<br>----------- Param:" + triggerParam.getExecutorParams());
+	/**
+	 * complete the turn of mailbox, only once: by worker after execute, or by timeout timer at deadline (handler interrupted, maybe still running)
+	 */
+	private void completeTurn(AtomicBoolean turnCompleted) {
+		if (!turnCompleted.compareAndSet(false, true)) {
+			return;
+		}
+		running.decrementAndGet();
+		lastActiveTime = System.currentTimeMillis();
 
-					if (triggerParam.getExecutorTimeout() > 0) {
-						// limit timeout
-						Thread futureThread = null;
-						try {
-							final TriggerParam triggerParamTmp = triggerParam;
-							FutureTask<ReturnT<String>> futureTask = new FutureTask<ReturnT<String>>(new Callable<ReturnT<String>>() {
-								@Override
-								public ReturnT<String> call() throws Exception {
-									return handler.execute(triggerParamTmp.getExecutorParams());
-								}
-							});
-							futureThread = new Thread(futureTask);
-							futureThread.start();
-
-							executeResult = futureTask.get(triggerParam.getExecutorTimeout(), TimeUnit.SECONDS);
-						} catch (TimeoutException e) {
+		schedulePermits.release();
+		if (toStop) {
+			// destroy after all running trigger finished, never scheduled again
+			if (schedulePermits.tryAcquire(concurrency)) {
+				destroy();
+			}
+			return;
+		}
+		if (triggerQueue.size()>0) {
+			schedule();
+		}
+	}
 
-							XxlJobLogger.log("<br>----------- xxl-job job execute timeout");
-							XxlJobLogger.log(e);
+	private void init() {
+		if (initialized) {
+			return;
+		}
+		synchronized (initLock) {
+			if (!initialized) {
+				try {
+					handler.init();
+				} catch (Throwable e) {
+					logger.error(e.getMessage(), e);
+				}
+				initialized = true;
+			}
+		}
+	}
 
-							executeResult = new ReturnT<String>(IJobHandler.FAIL_TIMEOUT.getCode(), "job execute timeout ");
-						} finally {
-							futureThread.interrupt();
-						}
-					} else {
-						// just execute
-						executeResult = handler.execute(triggerParam.getExecutorParams());
-					}
+	private void execute(final TriggerParam triggerParam, final AtomicBoolean turnCompleted) {
+		ReturnT<String> executeResult = null;
+		boolean timeoutCallback = false;
+		try {
+			triggerLogIdSet.remove(triggerParam.getLogId());
 
-					if (executeResult == null) {
-						executeResult = IJobHandler.FAIL;
-					} else {
-						executeResult.setMsg(
-								(executeResult!=null&&executeResult.getMsg()!=null&&executeResult.getMsg().length()>50000)
-										?executeResult.getMsg().substring(0, 50000).concat("...")
-										:executeResult.getMsg());
-						executeResult.setContent(null);	// limit obj size
-					}
-					XxlJobLogger.log("<br>----------- xxl-job job execute end(finish) -----------<br>----------- ReturnT:" + executeResult);
+			// log filename, like "logPath/yyyy-MM-dd/9999.log"
+			final String logFileName = XxlJobFileAppender.makeLogFileName(new Date(triggerParam.getLogDateTime()), triggerParam.getLogId());
+			XxlJobFileAppender.contextHolder.set(logFileName);
+			ShardingUtil.setShardingVo(new ShardingUtil.ShardingVO(triggerParam.getBroadcastIndex(), triggerParam.getBroadcastTotal()));
+
+			// execute
+			XxlJobLogger.log("<br>----------- xxl-job job execute start -----------<br>----------- Param:" + triggerParam.getExecutorParams());
 
-				} else {
-					if (idleTimes > 30) {
-						if(triggerQueue.size() == 0) {	// avoid concurrent trigger causes jobId-lost
-							XxlJobExecutor.removeJobThread(jobId, "excutor idel times over limit.");
+			if (triggerParam.getExecutorTimeout() > 0) {
+				// limit timeout, run on current worker; at deadline, interrupted, callback timeout and complete turn by shared timer
+				JobTimeoutTimer.ExecuteTimeout executeTimeout = JobTimeoutTimer.start(triggerParam.getExecutorTimeout(), new Runnable() {
+					@Override
+					public void run() {
+						XxlJobFileAppender.contextHolder.set(logFileName);
+						try {
+							XxlJobLogger.log("<br>----------- xxl-job job execute timeout");
+						} finally {
+							XxlJobFileAppender.contextHolder.remove();
 						}
+
+						ReturnT<String> timeoutResult = new ReturnT<String>(IJobHandler.FAIL_TIMEOUT.getCode(), "job execute timeout ");
+						TriggerCallbackThread.pushCallBack(new HandleCallbackParam(triggerParam.getLogId(), triggerParam.getLogDateTime(), timeoutResult));
+						completeTurn(turnCompleted);
 					}
+				});
+				Throwable executeError = null;
+				try {
+					executeResult = handler.execute(triggerParam.getExecutorParams());
+				} catch (Throwable e) {
+					executeError = e;
 				}
-			} catch (Throwable e) {
-				if (toStop) {
-					XxlJobLogger.log("<br>----------- JobThread toStop, stopReason:" + stopReason);
+				if (executeTimeout.finish()) {
+					// callback at deadline already
+					timeoutCallback = true;
+					XxlJobLogger.log("<br>----------- xxl-job job execute end(timeout), handler exit -----------");
+					return;
+				} else if (executeError != null) {
+					throw executeError;
 				}
+			} else {
+				// just execute
+				executeResult = handler.execute(triggerParam.getExecutorParams());
+			}
 
-				StringWriter stringWriter = new StringWriter();
-				e.printStackTrace(new PrintWriter(stringWriter));
-				String errorMsg = stringWriter.toString();
-				executeResult = new ReturnT<String>(ReturnT.FAIL_CODE, errorMsg);
-
-				XxlJobLogger.log("<br>----------- JobThread Exception:" + errorMsg + "<br>----------- xxl-job job execute end(error) -----------");
-			} finally {
-                if(triggerParam != null) {
-                    // callback handler info
-                    if (!toStop) {
-                        // commonm
-                        TriggerCallbackThread.pushCallBack(new HandleCallbackParam(triggerParam.getLogId(), triggerParam.getLogDateTime(), executeResult));
-                    } else {
-                        // is killed
-                        ReturnT<String> stopResult = new ReturnT<String>(ReturnT.FAIL_CODE, stopReason + " [job running, killed]");
-                        TriggerCallbackThread.pushCallBack(new HandleCallbackParam(triggerParam.getLogId(), triggerParam.getLogDateTime(), stopResult));
-                    }
-                }
-            }
-        }
+			if (executeResult == null) {
+				executeResult = IJobHandler.FAIL;
+			} else {
+				executeResult.setMsg(
+						(executeResult!=null&&executeResult.getMsg()!=null&&executeResult.getMsg().length()>50000)
+								?executeResult.getMsg().substring(0, 50000).concat("...")
+								:executeResult.getMsg());
+				executeResult.setContent(null);	// limit obj size
+			}
+			XxlJobLogger.log("<br>----------- xxl-job job execute end(finish) -----------<br>----------- ReturnT:" + executeResult);
 
-		// callback trigger request in queue
-		while(triggerQueue !=null && triggerQueue.size()>0){
-			TriggerParam triggerParam = triggerQueue.poll();
-			if (triggerParam!=null) {
+		} catch (Throwable e) {
+			if (toStop) {
+				XxlJobLogger.log("<br>----------- JobThread toStop, stopReason:" + stopReason);
+			}
+
+			StringWriter stringWriter = new StringWriter();
+			e.printStackTrace(new PrintWriter(stringWriter));
+			String errorMsg = stringWriter.toString();
+			executeResult = new ReturnT<String>(ReturnT.FAIL_CODE, errorMsg);
+
+			XxlJobLogger.log("<br>----------- JobThread Exception:" + errorMsg + "<br>----------- xxl-job job execute end(error) -----------");
+		} finally {
+			// callback handler info
+			if (timeoutCallback) {
+				// callback timeout at deadline, by timer
+			} else if (!toStop) {
+				// commonm
+				TriggerCallbackThread.pushCallBack(new HandleCallbackParam(triggerParam.getLogId(), triggerParam.getLogDateTime(), executeResult));
+			} else {
 				// is killed
-				ReturnT<String> stopResult = new ReturnT<String>(ReturnT.FAIL_CODE, stopReason + " [job not executed, in the job queue, killed.]");
+				ReturnT<String> stopResult = new ReturnT<String>(ReturnT.FAIL_CODE, stopReason + " [job running, killed]");
 				TriggerCallbackThread.pushCallBack(new HandleCallbackParam(triggerParam.getLogId(), triggerParam.getLogDateTime(), stopResult));
 			}
 		}
+	}
+
+	private void destroy() {
+		if (!destroyed.compareAndSet(false, true)) {
+			return;
+		}
+
+		// callback trigger request in queue
+		synchronized (queueLock) {
+			while(triggerQueue !=null && triggerQueue.size()>0){
+				TriggerParam triggerParam = triggerQueue.poll();
+				if (triggerParam!=null) {
+					// is killed
+					ReturnT<String> stopResult = new ReturnT<String>(ReturnT.FAIL_CODE, stopReason + " [job not executed, in the job queue, killed.]");
+					TriggerCallbackThread.pushCallBack(new HandleCallbackParam(triggerParam.getLogId(), triggerParam.getLogDateTime(), stopResult));
+				}
+			}
+		}
 
 		// destroy
 		try {
@@ -213,6 +402,7 @@ public class JobThread extends Thread{
 			logger.error(e.getMessage(), e);
 		}
 
-		logger.info(">>>>>>>>>>> xxl-job JobThread stoped, hashCode:{}", Thread.currentThread());
+		stopLatch.countDown();
+		logger.info(">>>>>>>>>>> xxl-job JobThread stoped, jobId:{}, hashCode:{}", jobId, this);
 	}
 }
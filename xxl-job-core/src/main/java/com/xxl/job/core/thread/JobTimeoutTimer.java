@@ -0,0 +1,115 @@
+package com.xxl.job.core.thread;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * shared timeout timer of job execution, hashed wheel, instead of one thread for each timed execution
+ *
+ *      a、execute：timed execution run on the worker of job itself, register deadline before execute;
+ *      b、timeout：at deadline, only if execution not finished, interrupt the worker and run timeout callback (callback result, release mailbox),
+ *          not wait for the handler exit, the same as "FutureTask.get(timeout)" before;
+ *
+ * @author agent 2026-10-18
+ */
+public class JobTimeoutTimer {
+    private static Logger logger = LoggerFactory.getLogger(JobTimeoutTimer.class);
+
+    private static volatile HashedWheelTimer timer;
+
+    private static HashedWheelTimer loadTimer() {
+        HashedWheelTimer timer = JobTimeoutTimer.timer;
+        if (timer == null) {
+            synchronized (JobTimeoutTimer.class) {
+                timer = JobTimeoutTimer.timer;
+                if (timer == null) {
+                    timer = new HashedWheelTimer(new DefaultThreadFactory("xxl-job, executor JobTimeoutTimer", true), 100, TimeUnit.MILLISECONDS, 512);
+                    JobTimeoutTimer.timer = timer;
+                }
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * register deadline of execution on current thread
+     *
+     * @param timeoutSeconds
+     * @param onTimeout         run on timer thread at deadline, if execution not finished; keep it short
+     * @return  finish it after execute, in finally
+     */
+    public static ExecuteTimeout start(int timeoutSeconds, Runnable onTimeout) {
+        ExecuteTimeout executeTimeout = new ExecuteTimeout(Thread.currentThread(), onTimeout);
+        executeTimeout.timeout = loadTimer().newTimeout(executeTimeout, timeoutSeconds, TimeUnit.SECONDS);
+        return executeTimeout;
+    }
+
+    public static void stop() {
+        HashedWheelTimer timer = JobTimeoutTimer.timer;
+        if (timer != null) {
+            JobTimeoutTimer.timer = null;
+            timer.stop();
+            logger.info(">>>>>>>>>>> xxl-job JobTimeoutTimer stop.");
+        }
+    }
+
+
+    // ---------------------- timeout ----------------------
+
+    public static class ExecuteTimeout implements TimerTask {
+
+        private final Thread executeThread;
+        private final Runnable onTimeout;
+        private volatile Timeout timeout;
+        private boolean finished = false;       // guarded by "this"
+        private boolean timedOut = false;       // guarded by "this"
+
+        private ExecuteTimeout(Thread executeThread, Runnable onTimeout) {
+            this.executeThread = executeThread;
+            this.onTimeout = onTimeout;
+        }
+
+        @Override
+        public void run(Timeout timeout) throws Exception {
+            synchronized (this) {
+                // interrupt only if execution not finished, not leak to next execution of worker
+                if (!finished) {
+                    timedOut = true;
+                    executeThread.interrupt();
+                }
+            }
+            if (timedOut && onTimeout!=null) {
+                try {
+                    onTimeout.run();
+                } catch (Throwable e) {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+        }
+
+        /**
+         * finish execution, cancel deadline
+         *
+         * @return  true if timeout, interrupt status cleared; timeout callback run (or running) by timer already
+         */
+        public boolean finish() {
+            synchronized (this) {
+                finished = true;
+            }
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            if (timedOut) {
+                Thread.interrupted();
+            }
+            return timedOut;
+        }
+    }
+
+}
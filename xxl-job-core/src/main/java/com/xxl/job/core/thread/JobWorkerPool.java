@@ -0,0 +1,132 @@
+package com.xxl.job.core.thread;
+
+import com.xxl.job.core.executor.XxlJobExecutor;
+import com.xxl.job.core.util.VirtualThreadUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+
+/**
+ * shared worker pool, drain trigger queue (mailbox) of each JobThread
+ *
+ *      a、bounded：thread count scale with concurrent running job, not with job count; trigger wait in mailbox if all worker busy;
+ *          limit: "workerMax" long-running job occupy all worker, other job wait until one finished; set "workerMax" (per executor) over the max concurrent running job, or use virtual thread;
+ *      b、serial：one worker drain a mailbox at the same time, keep trigger order of each job;
+ *      c、idle：JobThread idle over limit is removed by idle monitor, the same as idle times of dedicated thread before;
+ *      d、virtual：optional, each turn of mailbox run on a new virtual thread (JDK 21+), not bounded by workerMax, at most one per job;
+ *
+ * @author agent 2026-10-18
+ */
+public class JobWorkerPool {
+    private static Logger logger = LoggerFactory.getLogger(JobWorkerPool.class);
+
+    private static final int IDLE_CHECK_INTERVAL = 3;      // second
+
+    private static volatile int workerMax = 256;
+    private static volatile boolean virtualThread = false;
+    private static volatile ExecutorService workerPool;
+    private static volatile ScheduledExecutorService idleMonitor;
+
+    /**
+     * max worker, effective before the first trigger
+     *
+     * @param workerMax     <=0 means default
+     */
+    public static void setWorkerMax(int workerMax) {
+        if (workerMax > 0) {
+            JobWorkerPool.workerMax = workerMax;
+        }
+    }
+
+    /**
+     * run mailbox on virtual thread, effective before the first trigger; fallback to platform thread if not supported
+     */
+    public static void setVirtualThread(boolean virtualThread) {
+        JobWorkerPool.virtualThread = virtualThread;
+    }
+
+    public static void execute(Runnable runnable) {
+        ExecutorService workerPool = JobWorkerPool.workerPool;
+        if (workerPool == null) {
+            workerPool = start();
+        }
+        workerPool.execute(runnable);
+    }
+
+    private static synchronized ExecutorService start() {
+        if (workerPool != null) {
+            return workerPool;
+        }
+
+        ExecutorService pool = null;
+        if (virtualThread) {
+            pool = VirtualThreadUtil.newVirtualThreadPerTaskExecutor("xxl-job, executor JobWorkerPool-virtualWorker-");
+            if (pool == null) {
+                logger.warn(">>>>>>>>>>> xxl-job JobWorkerPool virtual thread not supported by current JVM, fallback to platform thread.");
+            }
+        }
+        if (pool == null) {
+            pool = newPlatformWorkerPool();
+        }
+
+        idleMonitor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "xxl-job, executor JobWorkerPool-idleMonitor");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        idleMonitor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    long now = System.currentTimeMillis();
+                    for (JobThread jobThread: XxlJobExecutor.loadJobThreadList()) {
+                        if (jobThread.isIdleTimeout(now)) {
+                            XxlJobExecutor.removeJobThread(jobThread.getJobId(), jobThread, "excutor idel times over limit.");
+                        }
+                    }
+                } catch (Throwable e) {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+        }, IDLE_CHECK_INTERVAL, IDLE_CHECK_INTERVAL, TimeUnit.SECONDS);
+
+        workerPool = pool;
+        logger.info(">>>>>>>>>>> xxl-job JobWorkerPool start success, workerMax:{}, virtualThread:{}", workerMax, !(pool instanceof ThreadPoolExecutor));
+        return pool;
+    }
+
+    private static ThreadPoolExecutor newPlatformWorkerPool() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                workerMax,
+                workerMax,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "xxl-job, executor JobWorkerPool-worker-" + r.hashCode());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public static synchronized void stop() {
+        if (workerPool == null) {
+            return;
+        }
+        idleMonitor.shutdownNow();
+        workerPool.shutdown();
+        workerPool = null;
+        idleMonitor = null;
+        logger.info(">>>>>>>>>>> xxl-job JobWorkerPool stop.");
+    }
+
+}
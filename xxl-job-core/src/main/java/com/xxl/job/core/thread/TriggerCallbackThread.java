@@ -5,6 +5,7 @@ import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.enums.RegistryConfig;
 import com.xxl.job.core.executor.XxlJobExecutor;
+import com.xxl.job.core.log.CallbackWal;
 import com.xxl.job.core.log.XxlJobFileAppender;
 import com.xxl.job.core.log.XxlJobLogger;
 import com.xxl.job.core.util.FileUtil;
@@ -13,6 +14,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -46,6 +49,13 @@ public class TriggerCallbackThread {
     private Thread triggerRetryCallbackThread;
     private volatile boolean toStop = false;
     public void start() {
+        start(true);
+    }
+
+    /**
+     * @param callbackFsync     fsync fail-callback wal after each append
+     */
+    public void start(boolean callbackFsync) {
 
         // valid
         if (XxlJobExecutor.getAdminBizList() == null) {
@@ -53,6 +63,13 @@ public class TriggerCallbackThread {
             return;
         }
 
+        // fail-callback wal
+        try {
+            callbackWal = new CallbackWal(failCallbackFilePath, callbackFsync);
+        } catch (IOException e) {
+            logger.error(">>>>>>>>>>> xxl-job, executor callback wal open fail, fail-callback will not be retried.", e);
+        }
+
         // callback
         triggerCallbackThread = new Thread(new Runnable() {
 
@@ -153,6 +170,11 @@ public class TriggerCallbackThread {
             }
         }
 
+        // close fail-callback wal, after last callback
+        if (callbackWal != null) {
+            callbackWal.close();
+        }
+
     }
 
     /**
@@ -160,6 +182,18 @@ public class TriggerCallbackThread {
      * @param callbackParamList
      */
     private void doCallback(List<HandleCallbackParam> callbackParamList){
+        boolean callbackRet = callback(callbackParamList);
+        if (!callbackRet) {
+            appendFailCallbackFile(callbackParamList);
+        }
+    }
+
+    /**
+     * callback to admin in turn, until success
+     *
+     * @return  true if success
+     */
+    private boolean callback(List<HandleCallbackParam> callbackParamList){
         boolean callbackRet = false;
         // callback, will retry if error
         for (AdminBiz adminBiz: XxlJobExecutor.getAdminBizList()) {
@@ -176,9 +210,7 @@ public class TriggerCallbackThread {
                 callbackLog(callbackParamList, "<br>----------- xxl-job job callback error, errorMsg:" + e.getMessage());
             }
         }
-        if (!callbackRet) {
-            appendFailCallbackFile(callbackParamList);
-        }
+        return callbackRet;
     }
 
     /**
@@ -196,52 +228,77 @@ public class TriggerCallbackThread {
     // ---------------------- fail-callback file ----------------------
 
     private static String failCallbackFilePath = XxlJobFileAppender.getLogPath().concat(File.separator).concat("callbacklog").concat(File.separator);
-    private static String failCallbackFileName = failCallbackFilePath.concat("xxl-job-callback-{x}").concat(".log");
+    private static String legacyCallbackFilePrefix = "xxl-job-callback-";      // file of each fail-callback batch, by JdkSerializeTool, before wal
+
+    private static final int REPLAY_BATCH = 100;
+
+    private CallbackWal callbackWal;
 
     private void appendFailCallbackFile(List<HandleCallbackParam> callbackParamList){
         // valid
         if (callbackParamList==null || callbackParamList.size()==0) {
             return;
         }
+        if (callbackWal == null) {
+            logger.error(">>>>>>>>>>> xxl-job, executor callback wal not open, fail-callback lost, size:{}", callbackParamList.size());
+            return;
+        }
 
-        // append file
-        byte[] callbackParamList_bytes = JdkSerializeTool.serialize(callbackParamList);
-
-        File callbackLogFile = new File(failCallbackFileName.replace("{x}", String.valueOf(System.currentTimeMillis())));
-        if (callbackLogFile.exists()) {
-            for (int i = 0; i < 100; i++) {
-                callbackLogFile = new File(failCallbackFileName.replace("{x}", String.valueOf(System.currentTimeMillis()).concat("-").concat(String.valueOf(i)) ));
-                if (!callbackLogFile.exists()) {
-                    break;
-                }
-            }
+        // append wal
+        try {
+            callbackWal.append(callbackParamList);
+        } catch (IOException e) {
+            logger.error(">>>>>>>>>>> xxl-job, executor callback wal append fail, fail-callback lost, size:{}", callbackParamList.size(), e);
         }
-        FileUtil.writeFileContent(callbackLogFile, callbackParamList_bytes);
     }
 
-    private void retryFailCallbackFile(){
+    private void retryFailCallbackFile() throws IOException {
 
         // valid
-        File callbackLogPath = new File(failCallbackFilePath);
-        if (!callbackLogPath.exists()) {
+        if (callbackWal == null) {
             return;
         }
-        if (callbackLogPath.isFile()) {
-            callbackLogPath.delete();
+
+        // legacy file, move to wal
+        migrateLegacyCallbackFile();
+
+        // replay in order from checkpoint, stop at the first fail and retry later
+        while (!toStop) {
+            List<CallbackWal.Record> recordList = callbackWal.read(REPLAY_BATCH);
+            if (recordList.isEmpty()) {
+                return;
+            }
+            for (CallbackWal.Record record: recordList) {
+                List<HandleCallbackParam> callbackParamList = record.getCallbackParamList();
+                if (callbackParamList.size()>0 && !callback(callbackParamList)) {
+                    return;
+                }
+                callbackWal.checkpoint(record);
+            }
         }
-        if (!(callbackLogPath.isDirectory() && callbackLogPath.list()!=null && callbackLogPath.list().length>0)) {
+
+    }
+
+    private void migrateLegacyCallbackFile() throws IOException {
+        File callbackLogPath = new File(failCallbackFilePath);
+        File[] legacyFiles = callbackLogPath.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith(legacyCallbackFilePrefix);
+            }
+        });
+        if (legacyFiles == null) {
             return;
         }
 
-        // load and clear file, retry
-        for (File callbaclLogFile: callbackLogPath.listFiles()) {
-            byte[] callbackParamList_bytes = FileUtil.readFileContent(callbaclLogFile);
+        for (File legacyFile: legacyFiles) {
+            byte[] callbackParamList_bytes = FileUtil.readFileContent(legacyFile);
             List<HandleCallbackParam> callbackParamList = (List<HandleCallbackParam>) JdkSerializeTool.deserialize(callbackParamList_bytes, List.class);
-
-            callbaclLogFile.delete();
-            doCallback(callbackParamList);
+            if (callbackParamList!=null && callbackParamList.size()>0) {
+                callbackWal.append(callbackParamList);
+            }
+            legacyFile.delete();
         }
-
     }
 
 }
@@ -2,8 +2,16 @@ package com.xxl.job.core.util;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
@@ -28,6 +36,17 @@ public class GsonTool {
         return gson.toJson(src);
     }
 
+    /**
+     * Object 转成 json, 流式写入 writer, 如 ByteBuf 输出流, 不生成中间 String
+     *
+     * @param src
+     * @param writer
+     */
+    public static void toJson(Object src, Writer writer) throws IOException {
+        gson.toJson(src, writer);
+        writer.flush();
+    }
+
     /**
      * json 转成 特定的cls的Object
      *
@@ -39,6 +58,39 @@ public class GsonTool {
         return gson.fromJson(json, classOfT);
     }
 
+    /**
+     * json 转成 特定的type的Object, type 可以是完整泛型, 如 "List<HandleCallbackParam>"
+     *
+     * @param json
+     * @param typeOfT
+     * @return
+     */
+    public static <T> T fromJson(String json, Type typeOfT) {
+        return gson.fromJson(json, typeOfT);
+    }
+
+    /**
+     * json 转成 特定的type的Object, 从 reader 流式读取, 如 ByteBuf 输入流, 不生成中间 String
+     *
+     * @param json
+     * @param typeOfT
+     * @return
+     */
+    public static <T> T fromJson(Reader json, Type typeOfT) throws IOException {
+        JsonReader jsonReader = gson.newJsonReader(json);
+        T object = gson.fromJson(jsonReader, typeOfT);
+
+        // fully consumed as "fromJson(String)", reject trailing content
+        try {
+            if (object != null && jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonIOException("JSON document was not fully consumed.");
+            }
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return object;
+    }
+
     /**
      * json 转成 特定的 rawClass<classOfT> 的Object
      *
@@ -48,7 +100,19 @@ public class GsonTool {
      * @return
      */
     public static <T> T fromJson(String json, Class<T> classOfT, Class argClassOfT) {
-        Type type = new ParameterizedType4ReturnT(classOfT, new Class[]{argClassOfT});
+        return fromJson(json, classOfT, (Type) argClassOfT);
+    }
+
+    /**
+     * json 转成 特定的 rawClass<argTypeOfT> 的Object, argTypeOfT 可以是嵌套泛型
+     *
+     * @param json
+     * @param classOfT
+     * @param argTypeOfT
+     * @return
+     */
+    public static <T> T fromJson(String json, Class<T> classOfT, Type argTypeOfT) {
+        Type type = new ParameterizedType4ReturnT(classOfT, new Type[]{argTypeOfT});
         return gson.fromJson(json, type);
     }
     public static class ParameterizedType4ReturnT implements ParameterizedType {
@@ -0,0 +1,83 @@
+package com.xxl.job.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * virtual thread (JDK 21+), by reflection, so that still work on old JDK
+ *
+ * @author agent 2026-10-18
+ */
+public class VirtualThreadUtil {
+    private static Logger logger = LoggerFactory.getLogger(VirtualThreadUtil.class);
+
+    private static Method ofVirtualMethod;
+    private static Method builderNameMethod;
+    private static Method builderFactoryMethod;
+    private static Method newThreadPerTaskExecutorMethod;
+    static {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            builderNameMethod = builderClass.getMethod("name", String.class, long.class);
+            builderFactoryMethod = builderClass.getMethod("factory");
+            newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (Throwable e) {
+            ofVirtualMethod = null;     // old JDK, not support
+        }
+    }
+
+    /**
+     * is virtual thread supported by current JVM
+     *
+     * @return
+     */
+    public static boolean isSupported() {
+        return ofVirtualMethod != null;
+    }
+
+    /**
+     * virtual thread factory, thread name like "namePrefix0"、"namePrefix1"
+     *
+     * @param namePrefix
+     * @return  null if not support
+     */
+    public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            Object builder = ofVirtualMethod.invoke(null);
+            builder = builderNameMethod.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderFactoryMethod.invoke(builder);
+        } catch (Throwable e) {
+            logger.warn(">>>>>>>>>>> xxl-job, create virtual thread factory fail.", e);
+            return null;
+        }
+    }
+
+    /**
+     * executor, start a new virtual thread for each task
+     *
+     * @param namePrefix
+     * @return  null if not support
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = newVirtualThreadFactory(namePrefix);
+        if (threadFactory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) newThreadPerTaskExecutorMethod.invoke(null, threadFactory);
+        } catch (Throwable e) {
+            logger.warn(">>>>>>>>>>> xxl-job, create virtual thread executor fail.", e);
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,366 @@
+package com.xxl.job.core.util;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * pooled keep-alive http client, base on netty
+ *
+ *      a、pool：FixedChannelPool for each host, limit connections of each host, request wait for idle connection if over limit;
+ *      b、keep-alive：connection return to pool after response, reuse by next request; close if server not keep-alive;
+ *      c、idle eviction：connection idle for a while will be closed;
+ *      d、https：trust all certs, the same as before;
+ *      e、compression：accept gzip/deflate, response decompressed transparently; server compress large response only;
+ *
+ * @author agent 2026-10-18
+ */
+public class XxlJobHttpClient {
+    private static Logger logger = LoggerFactory.getLogger(XxlJobHttpClient.class);
+
+    // ---------------------- config ----------------------
+
+    private static volatile int maxConnectionsPerHost = 64;
+    private static volatile int idleTimeout = 30;           // second
+    private static volatile int connectTimeout = 3;         // second
+    private static volatile int maxContentLength = 256;     // MB, response after decompressed, such as large log
+
+    /**
+     * config; instance created before is drained and closed, new config effective for the next request
+     *
+     * @param maxConnectionsPerHost     max connections of each host
+     * @param idleTimeout               second, close connection idle for a while
+     * @param connectTimeout            second, connect timeout; and the max time to wait for idle connection of pool
+     * @param maxContentLength          MB, max response content after decompressed, fail over it
+     */
+    public static void config(int maxConnectionsPerHost, int idleTimeout, int connectTimeout, int maxContentLength) {
+        if (maxConnectionsPerHost > 0) {
+            XxlJobHttpClient.maxConnectionsPerHost = maxConnectionsPerHost;
+        }
+        if (idleTimeout > 0) {
+            XxlJobHttpClient.idleTimeout = idleTimeout;
+        }
+        if (connectTimeout > 0) {
+            XxlJobHttpClient.connectTimeout = connectTimeout;
+        }
+        if (maxContentLength > 0) {
+            XxlJobHttpClient.maxContentLength = Math.min(maxContentLength, 1024);   // limit 1GB, netty aggregator int length
+        }
+        stop();
+    }
+
+
+    // ---------------------- instance ----------------------
+
+    private static volatile XxlJobHttpClient instance;
+    public static XxlJobHttpClient getInstance() {
+        if (instance == null) {
+            synchronized (XxlJobHttpClient.class) {
+                if (instance == null) {
+                    instance = new XxlJobHttpClient();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static final AttributeKey<Promise<FullHttpResponse>> RESPONSE_PROMISE = AttributeKey.valueOf("xxl-job-response-promise");
+    private static final int MAX_PENDING_ACQUIRES = 10000;
+
+    private final EventLoopGroup workerGroup;
+    private final SslContext sslContext;
+    private final AbstractChannelPoolMap<PoolKey, FixedChannelPool> poolMap;
+
+    // stop: reject new request, close after in-flight request finished
+    private final AtomicInteger inflight = new AtomicInteger(0);
+    private volatile boolean stopped = false;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private XxlJobHttpClient() {
+        final int maxConnectionsPerHost = XxlJobHttpClient.maxConnectionsPerHost;
+        final int idleTimeout = XxlJobHttpClient.idleTimeout;
+        final int connectTimeout = XxlJobHttpClient.connectTimeout;
+        final int maxContentLength = XxlJobHttpClient.maxContentLength * 1024 * 1024;
+
+        workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("xxl-job, XxlJobHttpClient", true));
+        try {
+            sslContext = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        final Bootstrap bootstrap = new Bootstrap()
+                .group(workerGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout * 1000);
+
+        poolMap = new AbstractChannelPoolMap<PoolKey, FixedChannelPool>() {
+            @Override
+            protected FixedChannelPool newPool(final PoolKey key) {
+                return new FixedChannelPool(
+                        bootstrap.clone().remoteAddress(key.address),
+                        new AbstractChannelPoolHandler() {
+                            @Override
+                            public void channelCreated(Channel ch) throws Exception {
+                                ChannelPipeline pipeline = ch.pipeline();
+                                if (key.ssl) {
+                                    pipeline.addLast(sslContext.newHandler(ch.alloc(), key.address.getHostString(), key.address.getPort()));
+                                }
+                                pipeline.addLast(new IdleStateHandler(0, 0, idleTimeout, TimeUnit.SECONDS))
+                                        .addLast(new HttpClientCodec())
+                                        .addLast(new HttpContentDecompressor())
+                                        .addLast(new HttpObjectAggregator(maxContentLength))     // after decompressor, limit decompressed content
+                                        .addLast(new HttpClientHandler());
+                            }
+                        },
+                        ChannelHealthChecker.ACTIVE,
+                        FixedChannelPool.AcquireTimeoutAction.FAIL,
+                        connectTimeout * 1000L,
+                        maxConnectionsPerHost,
+                        MAX_PENDING_ACQUIRES,
+                        true,
+                        true);
+            }
+        };
+    }
+
+
+    // ---------------------- post ----------------------
+
+    /**
+     * post
+     *
+     * @param url
+     * @param headers       header name, value, name, value ...
+     * @param body
+     * @param timeout       second, read timeout
+     * @return  response, status and content
+     */
+    public HttpResult post(String url, String[] headers, byte[] body, int timeout) throws Exception {
+        inflight.incrementAndGet();
+        try {
+            if (stopped) {
+                throw new IOException("xxl-job http client stopped.");
+            }
+            return doPost(url, headers, body, timeout);
+        } finally {
+            if (inflight.decrementAndGet() == 0 && stopped) {
+                close();
+            }
+        }
+    }
+
+    private HttpResult doPost(String url, String[] headers, byte[] body, int timeout) throws Exception {
+        URI uri = new URI(url);
+        boolean ssl = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort()>0?uri.getPort():(ssl?443:80);
+        PoolKey key = new PoolKey(InetSocketAddress.createUnresolved(uri.getHost(), port), ssl);
+
+        String path = (uri.getRawPath()!=null && uri.getRawPath().length()>0)?uri.getRawPath():"/";
+        if (uri.getRawQuery() != null) {
+            path = path + "?" + uri.getRawQuery();
+        }
+
+        FixedChannelPool pool = poolMap.get(key);
+        Channel channel = pool.acquire().get();
+        boolean reusable = false;
+        try {
+            Promise<FullHttpResponse> responsePromise = channel.eventLoop().newPromise();
+            channel.attr(RESPONSE_PROMISE).set(responsePromise);
+
+            // request
+            FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, path, Unpooled.wrappedBuffer(body!=null?body:new byte[0]));
+            request.headers().set(HttpHeaderNames.HOST, uri.getHost() + ":" + port);
+            request.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+            request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.GZIP + "," + HttpHeaderValues.DEFLATE);
+            request.headers().set(HttpHeaderNames.CONTENT_LENGTH, request.content().readableBytes());
+            if (headers != null) {
+                for (int i = 0; i+1 < headers.length; i+=2) {
+                    request.headers().set(headers[i], headers[i+1]);
+                }
+            }
+
+            ChannelFuture writeFuture = channel.writeAndFlush(request);
+
+            // response
+            if (!responsePromise.await(timeout * 1000L, TimeUnit.MILLISECONDS)) {
+                throw new TimeoutException("read timeout(" + timeout + "s)");
+            }
+            if (!writeFuture.isSuccess() && writeFuture.cause() != null) {
+                throw new IOException(writeFuture.cause());
+            }
+            if (!responsePromise.isSuccess()) {
+                Throwable cause = responsePromise.cause();
+                throw (cause instanceof Exception)?(Exception) cause:new IOException(cause);
+            }
+
+            FullHttpResponse response = responsePromise.getNow();
+            try {
+                reusable = HttpUtil.isKeepAlive(response);
+                return new HttpResult(response.status().code(), response.headers(), ByteBufUtil.getBytes(response.content()));
+            } finally {
+                response.release();
+            }
+        } finally {
+            channel.attr(RESPONSE_PROMISE).set(null);
+            if (!reusable) {
+                channel.close();    // response not complete or server not keep-alive, never reuse it
+            }
+            pool.release(channel);
+        }
+    }
+
+    /**
+     * stop, reject new request of current instance with IOException, close all connections and io threads after in-flight request finished;
+     * new instance will be created if post again
+     */
+    public static void stop() {
+        XxlJobHttpClient client = null;
+        synchronized (XxlJobHttpClient.class) {
+            client = instance;
+            instance = null;
+        }
+        if (client != null) {
+            client.stopped = true;
+            if (client.inflight.get() == 0) {
+                client.close();
+            }
+        }
+    }
+
+    private void close() {
+        if (closed.compareAndSet(false, true)) {
+            poolMap.close();
+            Future<?> future = workerGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS);
+            future.awaitUninterruptibly();
+        }
+    }
+
+
+    // ---------------------- handler ----------------------
+
+    private static class HttpClientHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) throws Exception {
+            Promise<FullHttpResponse> promise = ctx.channel().attr(RESPONSE_PROMISE).get();
+            if (promise == null || !promise.trySuccess(msg.retain())) {
+                msg.release();      // nobody waiting, such as response after timeout
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            Promise<FullHttpResponse> promise = ctx.channel().attr(RESPONSE_PROMISE).get();
+            if (promise != null) {
+                promise.tryFailure(new IOException("connection closed"));
+            }
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            Promise<FullHttpResponse> promise = ctx.channel().attr(RESPONSE_PROMISE).get();
+            if (promise != null) {
+                promise.tryFailure(cause);
+            }
+            ctx.close();
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                ctx.channel().close();      // idle eviction
+                logger.debug(">>>>>>>>>>> xxl-job http client close an idle channel.");
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+    }
+
+
+    // ---------------------- model ----------------------
+
+    private static class PoolKey {
+        private final InetSocketAddress address;
+        private final boolean ssl;
+
+        public PoolKey(InetSocketAddress address, boolean ssl) {
+            this.address = address;
+            this.ssl = ssl;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PoolKey poolKey = (PoolKey) o;
+            return ssl == poolKey.ssl && address.equals(poolKey.address);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * address.hashCode() + (ssl?1:0);
+        }
+    }
+
+    public static class HttpResult {
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final byte[] content;
+
+        public HttpResult(int statusCode, HttpHeaders headers, byte[] content) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.content = content;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getHeader(String name) {
+            return headers.get(name);
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+    }
+
+}
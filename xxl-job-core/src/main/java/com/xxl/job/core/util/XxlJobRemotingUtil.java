@@ -1,18 +1,14 @@
 package com.xxl.job.core.util;
 
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.codec.XxlJobCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.*;
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
-import java.util.Map;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author xuxueli 2018-11-25 00:55:31
@@ -20,35 +16,34 @@ import java.util.Map;
 public class XxlJobRemotingUtil {
     private static Logger logger = LoggerFactory.getLogger(XxlJobRemotingUtil.class);
     public static final String XXL_JOB_ACCESS_TOKEN = "XXL-JOB-ACCESS-TOKEN";
+    public static final String XXL_JOB_CODEC = "XXL-JOB-CODEC";                 // codec of body, absent means json
+    public static final String XXL_JOB_ACCEPT_CODEC = "XXL-JOB-ACCEPT-CODEC";   // codec prefer by client, for response body
 
 
-    // trust-https start
-    private static void trustAllHosts(HttpsURLConnection connection) {
-        try {
-            SSLContext sc = SSLContext.getInstance("TLS");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
-            SSLSocketFactory newFactory = sc.getSocketFactory();
+    // ---------------------- codec ----------------------
 
-            connection.setSSLSocketFactory(newFactory);
-        } catch (Exception e) {
-            logger.error(e.getMessage(), e);
+    private static volatile XxlJobCodec codec = XxlJobCodec.JSON;
+    private static ConcurrentMap<String, String> acceptCodecMap = new ConcurrentHashMap<String, String>();
+
+    /**
+     * prefer codec of request, json by default;
+     * request in json until server response in prefer codec, so old version server still work
+     *
+     * @param codecName     json, binary, or custom codec by spi
+     */
+    public static void setCodec(String codecName) {
+        XxlJobCodec preferCodec = XxlJobCodec.loadCodec(codecName);
+        if (preferCodec == null) {
+            logger.warn(">>>>>>>>>>> xxl-job codec({}) not found, use json.", codecName);
+            preferCodec = XxlJobCodec.JSON;
         }
-        connection.setHostnameVerifier(new HostnameVerifier() {
-            public boolean verify(String hostname, SSLSession session) {
-                return true;
-            }
-        });
+        codec = preferCodec;
+        acceptCodecMap.clear();
+    }
+
+    public static XxlJobCodec getCodec() {
+        return codec;
     }
-    private static final TrustManager[] trustAllCerts = new TrustManager[]{new X509TrustManager() {
-        public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-            return new java.security.cert.X509Certificate[]{};
-        }
-        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-        }
-        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-        }
-    }};
-    // trust-https end
 
 
     /**
@@ -62,94 +57,76 @@ public class XxlJobRemotingUtil {
      * @return
      */
     public static ReturnT postBody(String url, String accessToken, int timeout, Object requestObj, Class returnTargClassOfT) {
-        HttpURLConnection connection = null;
-        BufferedReader bufferedReader = null;
-        try {
-            // connection
-            URL realUrl = new URL(url);
-            connection = (HttpURLConnection) realUrl.openConnection();
-
-            // trust-https
-            boolean useHttps = url.startsWith("https");
-            if (useHttps) {
-                HttpsURLConnection https = (HttpsURLConnection) connection;
-                trustAllHosts(https);
-            }
-
-            // connection setting
-            connection.setRequestMethod("POST");
-            connection.setDoOutput(true);
-            connection.setDoInput(true);
-            connection.setUseCaches(false);
-            connection.setReadTimeout(timeout * 1000);
-            connection.setConnectTimeout(3 * 1000);
-            connection.setRequestProperty("connection", "Keep-Alive");
-            connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
-            connection.setRequestProperty("Accept-Charset", "application/json;charset=UTF-8");
-
-            if(accessToken!=null && accessToken.trim().length()>0){
-                connection.setRequestProperty(XXL_JOB_ACCESS_TOKEN, accessToken);
-            }
+        return postBody(url, accessToken, timeout, requestObj, (Type) returnTargClassOfT);
+    }
 
-            // do connection
-            connection.connect();
+    /**
+     * post, with generic return type, like "List<ReturnT<String>>"
+     *
+     * @param url
+     * @param accessToken
+     * @param timeout
+     * @param requestObj
+     * @param returnTargTypeOfT
+     * @return
+     */
+    public static ReturnT postBody(String url, String accessToken, int timeout, Object requestObj, Type returnTargTypeOfT) {
+        try {
+            // codec, use prefer codec only if server has accepted it, json by default
+            XxlJobCodec preferCodec = codec;
+            String host = parseHost(url);
+            XxlJobCodec requestCodec = (preferCodec!=XxlJobCodec.JSON && preferCodec.name().equals(acceptCodecMap.get(host)))
+                    ?preferCodec
+                    :XxlJobCodec.JSON;
 
             // write requestBody
-            if (requestObj != null) {
-                String requestBody = GsonTool.toJson(requestObj);
+            byte[] requestBody = (requestObj != null)?requestCodec.encode(requestObj):new byte[0];
 
-                DataOutputStream dataOutputStream = new DataOutputStream(connection.getOutputStream());
-                dataOutputStream.write(requestBody.getBytes("UTF-8"));
-                dataOutputStream.flush();
-                dataOutputStream.close();
-            }
+            String[] headers = (accessToken!=null && accessToken.trim().length()>0)
+                    ?new String[]{"Content-Type", requestCodec.contentType(), "Accept-Charset", "application/json;charset=UTF-8", XXL_JOB_CODEC, requestCodec.name(), XXL_JOB_ACCEPT_CODEC, preferCodec.name(), XXL_JOB_ACCESS_TOKEN, accessToken}
+                    :new String[]{"Content-Type", requestCodec.contentType(), "Accept-Charset", "application/json;charset=UTF-8", XXL_JOB_CODEC, requestCodec.name(), XXL_JOB_ACCEPT_CODEC, preferCodec.name()};
 
-            /*byte[] requestBodyBytes = requestBody.getBytes("UTF-8");
-            connection.setRequestProperty("Content-Length", String.valueOf(requestBodyBytes.length));
-            OutputStream outwritestream = connection.getOutputStream();
-            outwritestream.write(requestBodyBytes);
-            outwritestream.flush();
-            outwritestream.close();*/
+            // do request, pooled keep-alive connection
+            XxlJobHttpClient.HttpResult httpResult = XxlJobHttpClient.getInstance().post(url, headers, requestBody, timeout);
 
             // valid StatusCode
-            int statusCode = connection.getResponseCode();
+            int statusCode = httpResult.getStatusCode();
             if (statusCode != 200) {
                 return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-rpc remoting fail, StatusCode("+ statusCode +") invalid. for url : " + url);
             }
 
-            // result
-            bufferedReader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            StringBuilder result = new StringBuilder();
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                result.append(line);
+            // codec negotiate, server response in prefer codec means accept it; old version server response json without header
+            XxlJobCodec responseCodec = XxlJobCodec.loadCodecOrJson(httpResult.getHeader(XXL_JOB_CODEC));
+            if (preferCodec != XxlJobCodec.JSON) {
+                if (responseCodec == preferCodec) {
+                    acceptCodecMap.put(host, preferCodec.name());
+                } else {
+                    acceptCodecMap.remove(host);
+                }
             }
-            String resultJson = result.toString();
 
             // parse returnT
+            byte[] result = httpResult.getContent();
             try {
-                ReturnT returnT = GsonTool.fromJson(resultJson, ReturnT.class, returnTargClassOfT);
+                ReturnT returnT = responseCodec.decode(result, new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{returnTargTypeOfT}));
                 return returnT;
             } catch (Exception e) {
-                logger.error("xxl-rpc remoting (url="+url+") response content invalid("+ resultJson +").", e);
-                return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-rpc remoting (url="+url+") response content invalid("+ resultJson +").");
+                String resultContent = new String(result, StandardCharsets.UTF_8);
+                logger.error("xxl-rpc remoting (url="+url+") response content invalid("+ resultContent +").", e);
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-rpc remoting (url="+url+") response content invalid("+ resultContent +").");
             }
 
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
             return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-rpc remoting error("+ e.getMessage() +"), for url : " + url);
-        } finally {
-            try {
-                if (bufferedReader != null) {
-                    bufferedReader.close();
-                }
-                if (connection != null) {
-                    connection.disconnect();
-                }
-            } catch (Exception e2) {
-                logger.error(e2.getMessage(), e2);
-            }
         }
     }
 
+    private static String parseHost(String url) {
+        int hostStart = url.indexOf("//");
+        hostStart = (hostStart > -1)?hostStart+2:0;
+        int hostEnd = url.indexOf('/', hostStart);
+        return (hostEnd > -1)?url.substring(0, hostEnd):url;
+    }
+
 }
@@ -40,6 +40,30 @@ public class XxlJobConfig {
     @Value("${xxl.job.executor.logretentiondays}")
     private int logRetentionDays;
 
+    @Value("${xxl.job.executor.weight}")
+    private int weight;
+
+    @Value("${xxl.job.executor.codec}")
+    private String codec;
+
+    @Value("${xxl.job.admin.channelport}")
+    private int adminChannelPort;
+
+    @Value("${xxl.job.executor.jobqueuemax}")
+    private int jobQueueMax;
+
+    @Value("${xxl.job.executor.jobparallelmax}")
+    private int jobParallelMax;
+
+    @Value("${xxl.job.executor.workermax}")
+    private int workerMax;
+
+    @Value("${xxl.job.executor.virtualthread}")
+    private boolean virtualThread;
+
+    @Value("${xxl.job.executor.callbackfsync}")
+    private boolean callbackFsync;
+
 
     @Bean
     public XxlJobSpringExecutor xxlJobExecutor() {
@@ -53,6 +77,14 @@ public class XxlJobConfig {
         xxlJobSpringExecutor.setAccessToken(accessToken);
         xxlJobSpringExecutor.setLogPath(logPath);
         xxlJobSpringExecutor.setLogRetentionDays(logRetentionDays);
+        xxlJobSpringExecutor.setWeight(weight);
+        xxlJobSpringExecutor.setCodec(codec);
+        xxlJobSpringExecutor.setAdminChannelPort(adminChannelPort);
+        xxlJobSpringExecutor.setJobQueueMax(jobQueueMax);
+        xxlJobSpringExecutor.setJobParallelMax(jobParallelMax);
+        xxlJobSpringExecutor.setWorkerMax(workerMax);
+        xxlJobSpringExecutor.setVirtualThread(virtualThread);
+        xxlJobSpringExecutor.setCallbackFsync(callbackFsync);
 
         return xxlJobSpringExecutor;
     }